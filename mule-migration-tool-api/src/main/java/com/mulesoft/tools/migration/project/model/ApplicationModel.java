@@ -6,22 +6,30 @@
 package com.mulesoft.tools.migration.project.model;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static com.mulesoft.tools.migration.project.model.ElementsIndex.parseSelector;
 import static com.mulesoft.tools.migration.project.model.pom.PomModel.DEFAULT_GROUP_ID;
 import static com.mulesoft.tools.migration.project.model.pom.PomModel.DEFAULT_VERSION;
 import static com.mulesoft.tools.migration.project.model.pom.PomModelUtils.getArtifactId;
 import static com.mulesoft.tools.migration.project.model.pom.PomModelUtils.getGroupId;
 import static com.mulesoft.tools.migration.project.model.pom.PomModelUtils.getVersion;
-import static com.mulesoft.tools.migration.step.util.XmlDslUtils.generateDocument;
 import static com.mulesoft.tools.migration.xml.AdditionalNamespacesFactory.getDocumentNamespaces;
 import static java.io.File.separator;
+import static java.lang.Math.min;
+import static java.lang.Runtime.getRuntime;
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.synchronizedMap;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 
 import com.mulesoft.tools.migration.project.ProjectType;
+import com.mulesoft.tools.migration.project.model.ElementsIndex.DocumentsLookup;
+import com.mulesoft.tools.migration.project.model.ElementsIndex.ElementSelector;
 import com.mulesoft.tools.migration.project.model.artifact.MuleArtifactJsonModel;
 import com.mulesoft.tools.migration.project.model.pom.Parent;
 import com.mulesoft.tools.migration.project.model.pom.PomModel;
@@ -34,11 +42,21 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.commons.io.filefilter.SuffixFileFilter;
 import org.jdom2.Attribute;
@@ -47,6 +65,7 @@ import org.jdom2.Element;
 import org.jdom2.JDOMException;
 import org.jdom2.Namespace;
 import org.jdom2.filter.Filters;
+import org.jdom2.input.SAXBuilder;
 import org.jdom2.output.XMLOutputter;
 import org.jdom2.xpath.XPathExpression;
 import org.jdom2.xpath.XPathFactory;
@@ -69,6 +88,10 @@ public class ApplicationModel {
   private MuleArtifactJsonModel muleArtifactJsonModel;
   private List<Namespace> supportedNamespaces;
   private Parent projectPomParent;
+  private final XPathCache xpathCache = new XPathCache(null);
+  private final ElementsIndex elementsIndex;
+  private final LongAdder xpathEvaluations = new LongAdder();
+  private final Map<Document, String> unmodifiedDocumentsText = synchronizedMap(new WeakHashMap<>());
 
 
 
@@ -77,8 +100,14 @@ public class ApplicationModel {
   }
 
   protected ApplicationModel(Map<Path, Document> applicationDocuments, Map<Path, Document> domainDocuments) {
+    this(applicationDocuments, domainDocuments, new ElementsIndex());
+  }
+
+  ApplicationModel(Map<Path, Document> applicationDocuments, Map<Path, Document> domainDocuments,
+                   ElementsIndex elementsIndex) {
     this.applicationDocuments = applicationDocuments;
     this.domainDocuments = domainDocuments;
+    this.elementsIndex = elementsIndex;
   }
 
   /**
@@ -97,6 +126,29 @@ public class ApplicationModel {
     return domainDocuments;
   }
 
+  /**
+   * Tells whether a document of this model may have changed since it was read when building this model. Documents not read
+   * by the builder, such as those created by the migration steps, are always considered modified.
+   *
+   * @param document the document to check
+   * @return {@code false} if the document is the same as when it was read, {@code true} otherwise
+   * @since 1.2.1
+   */
+  public boolean isModified(Document document) {
+    return elementsIndex.isModified(document);
+  }
+
+  /**
+   * Counts the XPath queries run through this model, whether they were answered by evaluating the expression or by the index
+   * of its elements. A query on all the documents of the model counts as one.
+   *
+   * @return the number of XPath queries run through this model so far
+   * @since 1.2.1
+   */
+  public long getXPathEvaluations() {
+    return xpathEvaluations.sum();
+  }
+
   /**
    * Returns all the nodes in the application documents that match the xpath expression
    *
@@ -104,7 +156,114 @@ public class ApplicationModel {
    * @return all the nodes that match the xpath expression
    */
   public List<Element> getNodes(String xpathExpression) {
-    return getNodes(XPathFactory.instance().compile(xpathExpression));
+    checkArgument(xpathExpression != null, "The Xpath Expression must not be null nor empty");
+    xpathEvaluations.increment();
+
+    ElementSelector selector = parseSelector(xpathExpression);
+    DocumentsLookup lookup = elementsIndex.startLookup();
+    List<Element> nodes = new LinkedList<>();
+    for (Document doc : getApplicationDocuments().values()) {
+      nodes.addAll(getElementsFromDocument(xpathExpression, selector, doc, lookup));
+    }
+    for (Document doc : getDomainDocuments().values()) {
+      nodes.addAll(getElementsFromDocument(xpathExpression, selector, doc, lookup));
+    }
+    return nodes;
+  }
+
+  /**
+   * Starts recording the changes made to the application documents, so the nodes matching an expression after those changes can
+   * be found without querying again the documents that did not change.
+   *
+   * @return the journal of the changes, to be closed once no longer used
+   * @see #getNodes(XPathExpression, Collection, MutationJournal)
+   * @since 1.2.1
+   */
+  public MutationJournal startMutationJournal() {
+    return elementsIndex.startJournal();
+  }
+
+  /**
+   * Returns all the nodes in the application documents that match the xpath expression, given the nodes that matched it when
+   * the journal was started or last reset. The documents with no changes recorded in the journal are not queried again, and
+   * for the expressions that only select by namespace and name just the elements added or renamed since are checked.
+   * <p>
+   * The journal is reset, so it records the changes made from now on.
+   *
+   * @param xpathExpression the xpath expression that defines which nodes should be retrieved
+   * @param previousNodes all the nodes that matched the expression when the journal was started or last reset
+   * @param journal the journal of the changes made since the previous nodes were retrieved
+   * @return all the nodes that match the xpath expression
+   * @since 1.2.1
+   */
+  public List<Element> getNodes(XPathExpression xpathExpression, Collection<Element> previousNodes, MutationJournal journal) {
+    checkArgument(xpathExpression != null, "The Xpath Expression must not be null nor empty");
+    xpathEvaluations.increment();
+
+    String expression = xpathExpression.getExpression();
+    ElementSelector selector = parseSelector(expression);
+    Map<Document, List<Element>> previousNodesByDocument = new IdentityHashMap<>();
+    for (Element previousNode : previousNodes) {
+      Document document = previousNode.getDocument();
+      if (document != null) {
+        previousNodesByDocument.computeIfAbsent(document, d -> new ArrayList<>()).add(previousNode);
+      }
+    }
+
+    DocumentsLookup lookup = elementsIndex.startLookup();
+    List<Element> nodes = new ArrayList<>();
+    for (Document doc : getAllDocuments()) {
+      List<Element> previousDocumentNodes = previousNodesByDocument.getOrDefault(doc, emptyList());
+      if (elementsIndex.hasUntrackedContent(doc)) {
+        // Changes to its nodes may not have been recorded
+        nodes.addAll(getElementsFromDocument(expression, selector, doc, lookup));
+      } else if (!journal.isChanged(doc)) {
+        nodes.addAll(previousDocumentNodes);
+      } else if (selector != null && !selector.isByAttributeValue()) {
+        nodes.addAll(elementsIndex.getElements(selector, doc, previousDocumentNodes, journal.getChangedElements(doc)));
+      } else {
+        nodes.addAll(getElementsFromDocument(expression, selector, doc, lookup));
+      }
+    }
+    journal.reset();
+    return nodes;
+  }
+
+  /**
+   * Returns all the nodes in the application documents that match each of the xpath expressions that only select by namespace
+   * and name, going through each document once for all of them instead of querying it once for each expression.
+   *
+   * @param xpathExpressions the xpath expressions that define which nodes should be retrieved
+   * @return all the nodes that match each of the expressions that only select by namespace and name, the other expressions are
+   *         left out
+   * @since 1.2.1
+   */
+  public Map<XPathExpression, List<Element>> getNodesOfEach(Collection<XPathExpression> xpathExpressions) {
+    checkArgument(xpathExpressions != null, "The Xpath Expressions must not be null");
+
+    List<XPathExpression> selectedExpressions = new ArrayList<>();
+    List<ElementSelector> selectors = new ArrayList<>();
+    for (XPathExpression xpathExpression : xpathExpressions) {
+      ElementSelector selector = xpathExpression != null ? parseSelector(xpathExpression.getExpression()) : null;
+      if (selector != null && !selector.isByAttributeValue() && !selectedExpressions.contains(xpathExpression)) {
+        selectedExpressions.add(xpathExpression);
+        selectors.add(selector);
+      }
+    }
+
+    Map<XPathExpression, List<Element>> nodes = new LinkedHashMap<>();
+    selectedExpressions.forEach(xpathExpression -> nodes.put(xpathExpression, new ArrayList<>()));
+    if (selectors.isEmpty()) {
+      return nodes;
+    }
+    xpathEvaluations.increment();
+    for (Document doc : getAllDocuments()) {
+      List<List<Element>> documentNodes = ElementsIndex.getElements(selectors, doc);
+      for (int i = 0; i < selectedExpressions.size(); ++i) {
+        nodes.get(selectedExpressions.get(i)).addAll(documentNodes.get(i));
+      }
+    }
+    return nodes;
   }
 
   /**
@@ -114,11 +273,8 @@ public class ApplicationModel {
    * @return first node matching expression, if not present, it returns null
    */
   public Element getNode(String xpathExpression) {
-    List<Element> nodes = getNodes(XPathFactory.instance().compile(xpathExpression));
-    if (nodes.isEmpty() || nodes.size() > 1) {
-      throw new IllegalStateException(format("Found %d nodes for xpath expression '%s'", nodes.size(), xpathExpression));
-    }
-    return nodes.stream().findFirst().orElse(null);
+    return getNodeOptional(xpathExpression)
+        .orElseThrow(() -> new IllegalStateException(format("Found 0 nodes for xpath expression '%s'", xpathExpression)));
   }
 
   /**
@@ -128,32 +284,184 @@ public class ApplicationModel {
    * @return all the nodes that match the xpath expression
    */
   public Optional<Element> getNodeOptional(String xpathExpression) {
-    List<Element> nodes = getNodes(XPathFactory.instance().compile(xpathExpression));
-    if (nodes.isEmpty()) {
-      return empty();
-    } else if (nodes.size() > 1) {
-      throw new IllegalStateException(format("Found %d nodes for xpath expression '%s'", nodes.size(), xpathExpression));
+    checkArgument(xpathExpression != null, "The Xpath Expression must not be null nor empty");
+    xpathEvaluations.increment();
+
+    ElementSelector selector = parseSelector(xpathExpression);
+    // Two nodes are enough to know it is not unique, the rest of the documents are only looked in to report how many there are
+    DocumentsLookup lookup = elementsIndex.startLookup();
+    List<Element> nodes = new ArrayList<>();
+    for (Document doc : getAllDocuments()) {
+      nodes.addAll(getElementsFromDocument(xpathExpression, selector, doc, lookup));
+      if (nodes.size() > 1) {
+        throw new IllegalStateException(format("Found %d nodes for xpath expression '%s'",
+                                               countNodes(xpathExpression, selector, Integer.MAX_VALUE),
+                                               xpathExpression));
+      }
     }
-    return of(nodes.get(0));
+    return nodes.isEmpty() ? empty() : of(nodes.get(0));
   }
 
   /**
-   * Returns all the nodes in the application documents that match the xpath expression
+   * Checks whether any node in the application documents matches the xpath expression, without looking for more nodes once one
+   * is found.
    *
-   * @param xpathExpression the xpath expression that defines which nodes should be retrieved
-   * @return all the nodes that match the xpath expression
+   * @param xpathExpression the xpath expression that defines which nodes should be looked for
+   * @return whether there is any node matching the xpath expression
+   * @since 1.2.1
    */
-  public List<Element> getNodes(XPathExpression xpathExpression) {
+  public boolean exists(String xpathExpression) {
     checkArgument(xpathExpression != null, "The Xpath Expression must not be null nor empty");
+    xpathEvaluations.increment();
 
-    List<Element> nodes = new LinkedList<>();
+    return countNodes(xpathExpression, parseSelector(xpathExpression), 1) > 0;
+  }
+
+  /**
+   * Checks whether any node in the application documents matches the xpath expression, without looking for more nodes once one
+   * is found.
+   *
+   * @param xpathExpression the xpath expression that defines which nodes should be looked for
+   * @return whether there is any node matching the xpath expression
+   * @since 1.2.1
+   */
+  public boolean exists(XPathExpression xpathExpression) {
+    checkArgument(xpathExpression != null, "The Xpath Expression must not be null nor empty");
+
+    return exists(xpathExpression.getExpression());
+  }
+
+  /**
+   * Returns the first node in the application documents that matches the xpath expression, without looking in the documents
+   * after the one it is found in. Unlike {@link #getNodeOptional(String)}, there may be more matching nodes.
+   *
+   * @param xpathExpression the xpath expression that defines which node should be retrieved
+   * @return the first node matching the xpath expression, in document order, if any
+   * @since 1.2.1
+   */
+  public Optional<Element> findFirst(String xpathExpression) {
+    checkArgument(xpathExpression != null, "The Xpath Expression must not be null nor empty");
+    xpathEvaluations.increment();
+
+    ElementSelector selector = parseSelector(xpathExpression);
+    DocumentsLookup lookup = elementsIndex.startLookup();
+    for (Document doc : getAllDocuments()) {
+      Element node = getFirstElementFromDocument(xpathExpression, selector, doc, lookup);
+      if (node != null) {
+        return of(node);
+      }
+    }
+    return empty();
+  }
+
+  /**
+   * Counts the nodes in the application documents that match the xpath expression, without building the list of them.
+   *
+   * @param xpathExpression the xpath expression that defines which nodes should be counted
+   * @return the number of nodes matching the xpath expression
+   * @since 1.2.1
+   */
+  public int count(String xpathExpression) {
+    checkArgument(xpathExpression != null, "The Xpath Expression must not be null nor empty");
+    xpathEvaluations.increment();
+
+    return countNodes(xpathExpression, parseSelector(xpathExpression), Integer.MAX_VALUE);
+  }
+
+  private int countNodes(String xpathExpression, ElementSelector selector, int limit) {
+    DocumentsLookup lookup = elementsIndex.startLookup();
+    int count = 0;
+    for (Document doc : getAllDocuments()) {
+      if (count >= limit) {
+        break;
+      }
+      if (selector != null) {
+        count += elementsIndex.countElements(selector, doc, limit - count, lookup);
+      } else {
+        count += evaluate(xpathExpression, doc).size();
+      }
+    }
+    return count;
+  }
+
+  private List<Document> getAllDocuments() {
+    List<Document> documents = new ArrayList<>(getApplicationDocuments().values());
+    documents.addAll(getDomainDocuments().values());
+    return documents;
+  }
+
+  /**
+   * Returns all the elements in the application documents that have the given value for an attribute. Lookups by the
+   * attributes used to reference other elements ({@code name}, {@code ref}, {@code connector-ref}, {@code config-ref} and
+   * {@code id}) are indexed, so prefer this over an XPath query when looking for the usages of a global element.
+   *
+   * @param attributeName the name of the attribute, without namespace
+   * @param value the value the attribute must have
+   * @return all the elements having that value for the attribute, in document order
+   */
+  public List<Element> getReferencingElements(String attributeName, String value) {
+    checkArgument(attributeName != null, "The attribute name must not be null");
+
+    List<Element> elements = new ArrayList<>();
+    if (value == null) {
+      return elements;
+    }
     for (Document doc : getApplicationDocuments().values()) {
-      nodes.addAll(getElementsFromDocument(xpathExpression, doc));
+      elements.addAll(elementsIndex.getElementsWithAttribute(attributeName, value, doc));
     }
     for (Document doc : getDomainDocuments().values()) {
-      nodes.addAll(getElementsFromDocument(xpathExpression, doc));
+      elements.addAll(elementsIndex.getElementsWithAttribute(attributeName, value, doc));
     }
-    return nodes;
+    return elements;
+  }
+
+  /**
+   * Returns all the elements in the application documents that have an attribute containing the given value. The attribute
+   * values are indexed the first time a document is looked up this way, so prefer this over an XPath query with
+   * {@code contains}.
+   *
+   * @param value the value any attribute of the elements must contain
+   * @return all the elements having an attribute that contains the value, in document order
+   */
+  public List<Element> getElementsWithAttributeContaining(String value) {
+    checkArgument(value != null, "The value must not be null");
+
+    List<Element> elements = new ArrayList<>();
+    for (Document doc : getApplicationDocuments().values()) {
+      elements.addAll(elementsIndex.getElementsWithAttributeContaining(value, doc));
+    }
+    for (Document doc : getDomainDocuments().values()) {
+      elements.addAll(elementsIndex.getElementsWithAttributeContaining(value, doc));
+    }
+    return elements;
+  }
+
+  /**
+   * Checks whether the application documents may have any element of the given namespaces, mostly without going through them.
+   * The namespaces of the elements parsed when this model was built are recorded, and kept as they are renamed. Only the
+   * elements added to the documents since are gone through.
+   *
+   * @param namespaceUris the URIs of the namespaces to look for
+   * @return {@code false} if there is no element of those namespaces, {@code true} if there may be, as the elements removed from
+   *         the documents are still considered
+   * @since 1.2.1
+   */
+  public boolean mayHaveAnyNamespace(Collection<String> namespaceUris) {
+    checkArgument(namespaceUris != null, "The namespace URIs must not be null");
+
+    return elementsIndex.mayHoldAnyNamespace(namespaceUris, getAllDocuments());
+  }
+
+  /**
+   * Returns all the nodes in the application documents that match the xpath expression
+   *
+   * @param xpathExpression the xpath expression that defines which nodes should be retrieved
+   * @return all the nodes that match the xpath expression
+   */
+  public List<Element> getNodes(XPathExpression xpathExpression) {
+    checkArgument(xpathExpression != null, "The Xpath Expression must not be null nor empty");
+
+    return getNodes(xpathExpression.getExpression());
   }
 
   /**
@@ -258,9 +566,31 @@ public class ApplicationModel {
    * @throws IllegalArgumentException if the XPath query cannot be compiled
    */
   public List<Element> getElementsFromDocument(XPathExpression xpath, Document document) {
-    XPathExpression<Element> compiledXPath =
-        XPathFactory.instance().compile(xpath.getExpression(), Filters.element(), null,
-                                        getDocumentNamespaces(document, supportedNamespaces));
+    xpathEvaluations.increment();
+    return getElementsFromDocument(xpath.getExpression(), parseSelector(xpath.getExpression()), document, null);
+  }
+
+  private List<Element> getElementsFromDocument(String xpathExpression, ElementSelector selector, Document document,
+                                                DocumentsLookup lookup) {
+    if (selector != null) {
+      // Only filters by namespace and name, or by a value contained in an attribute, no need to go through the whole document
+      return elementsIndex.getElements(selector, document, lookup);
+    }
+    return evaluate(xpathExpression, document);
+  }
+
+  private Element getFirstElementFromDocument(String xpathExpression, ElementSelector selector, Document document,
+                                              DocumentsLookup lookup) {
+    if (selector != null) {
+      return elementsIndex.getFirstElement(selector, document, lookup);
+    }
+    List<Element> elements = evaluate(xpathExpression, document);
+    return elements.isEmpty() ? null : elements.get(0);
+  }
+
+  private List<Element> evaluate(String xpathExpression, Document document) {
+    // The compiled expressions are reused for all the documents that share the same namespaces
+    XPathExpression<Element> compiledXPath = xpathCache.compile(xpathExpression, document);
     try {
       return compiledXPath.evaluate(document);
     } catch (IllegalArgumentException e) {
@@ -279,23 +609,36 @@ public class ApplicationModel {
    * @return all the documents containing the string
    */
   public List<Document> getDocumentsContainString(String value) {
-    List<Document> documents = new ArrayList<>();
+    return getDocumentsContainStrings(singletonList(value)).get(value);
+  }
+
+  /**
+   * Retrieves the documents that contain each of the given string values on any place, going through each document only once
+   * for all of the values.
+   *
+   * @param values the string values to look for
+   * @return the documents containing each of the values, in the same order as {@link #getDocumentsContainString(String)}
+   */
+  public Map<String, List<Document>> getDocumentsContainStrings(Collection<String> values) {
+    MultiStringMatcher matcher = new MultiStringMatcher(values);
+    Map<String, List<Document>> documents = new LinkedHashMap<>();
+    values.forEach(value -> documents.put(value, new ArrayList<>()));
     for (Document doc : getApplicationDocuments().values()) {
-      if (documentContainsString(value, doc)) {
-        documents.add(doc);
-      }
+      matcher.findIn(getDocumentText(doc)).forEach(value -> documents.get(value).add(doc));
     }
     for (Document doc : getDomainDocuments().values()) {
-      if (documentContainsString(value, doc)) {
-        documents.add(doc);
-      }
+      matcher.findIn(getDocumentText(doc)).forEach(value -> documents.get(value).add(doc));
     }
     return documents;
   }
 
-  private boolean documentContainsString(String value, Document doc) {
-    XMLOutputter outputter = new XMLOutputter();
-    return outputter.outputString(doc).contains(value);
+  private String getDocumentText(Document doc) {
+    if (isModified(doc)) {
+      // Not every change to a modified document is tracked, so its text can't be reused
+      unmodifiedDocumentsText.remove(doc);
+      return new XMLOutputter().outputString(doc);
+    }
+    return unmodifiedDocumentsText.computeIfAbsent(doc, d -> new XMLOutputter().outputString(d));
   }
 
   /**
@@ -389,6 +732,7 @@ public class ApplicationModel {
    */
   public void setSupportedNamespaces(List<Namespace> supportedNamespaces) {
     this.supportedNamespaces = supportedNamespaces;
+    this.xpathCache.setSupportedNamespaces(supportedNamespaces);
   }
 
   /**
@@ -433,6 +777,8 @@ public class ApplicationModel {
     if (keyToRemove != null) {
       Document newDocument = applicationDocuments.get(keyToRemove);
       newDocument.setBaseURI(newFileName.toUri().toString());
+      // It has to be written to its new location
+      elementsIndex.modified(newDocument);
       applicationDocuments.put(projectBasePath.relativize(newFileName), newDocument);
       applicationDocuments.remove(keyToRemove);
     }
@@ -609,14 +955,10 @@ public class ApplicationModel {
         applicationFilePaths.addAll(testConfigurationFiles);
       }
 
+      ElementsIndex elementsIndex = new ElementsIndex();
       Map<Path, Document> applicationDocuments = new HashMap<>();
-      for (Path afp : applicationFilePaths) {
-        try {
-          applicationDocuments.put(projectBasePath.relativize(afp), generateDocument(afp));
-        } catch (JDOMException | IOException e) {
-          throw new RuntimeException("Application Model Generation Error - Fail to parse file: " + afp, e);
-        }
-      }
+      parseDocuments(applicationFilePaths, elementsIndex)
+          .forEach((afp, document) -> applicationDocuments.put(projectBasePath.relativize(afp), document));
 
       ApplicationModel applicationModel;
       if (parentDomainBasePath != null) {
@@ -629,20 +971,15 @@ public class ApplicationModel {
             domainFilePaths.add(domainXmlFile.toPath());
           }
           Map<Path, Document> domainDocuments = new HashMap<>();
-          for (Path dfp : domainFilePaths) {
-            try {
-              domainDocuments.put(parentDomainBasePath.relativize(dfp), generateDocument(dfp));
-            } catch (JDOMException | IOException e) {
-              throw new RuntimeException("Application Model Generation Error - Fail to parse file: " + dfp, e);
-            }
-          }
-          applicationModel = new ApplicationModel(applicationDocuments, domainDocuments);
+          parseDocuments(domainFilePaths, elementsIndex)
+              .forEach((dfp, document) -> domainDocuments.put(parentDomainBasePath.relativize(dfp), document));
+          applicationModel = new ApplicationModel(applicationDocuments, domainDocuments, elementsIndex);
         } else {
           throw new RuntimeException("Application Model Generation Error - The provided domain isn't a Mule 3 domain: "
               + parentDomainBasePath);
         }
       } else {
-        applicationModel = new ApplicationModel(applicationDocuments);
+        applicationModel = new ApplicationModel(applicationDocuments, emptyMap(), elementsIndex);
       }
 
 
@@ -683,6 +1020,60 @@ public class ApplicationModel {
       return applicationModel;
     }
 
+    /**
+     * Parses the given files concurrently, on a pool bounded by the available processors. Each thread of the pool reuses the
+     * same {@link SAXBuilder} for all the files it parses.
+     *
+     * @param filePaths the files to parse
+     * @param elementsIndex the index to create the content of the documents with
+     * @return the documents parsed from each file
+     */
+    private static Map<Path, Document> parseDocuments(Collection<Path> filePaths, ElementsIndex elementsIndex)
+        throws InterruptedException {
+      Map<Path, Document> documents = new ConcurrentHashMap<>();
+      Queue<Path> pendingFilePaths = new ConcurrentLinkedQueue<>(filePaths);
+      int threads = min(getRuntime().availableProcessors(), filePaths.size());
+      if (threads <= 1) {
+        parseDocuments(pendingFilePaths, elementsIndex, documents);
+        return documents;
+      }
+
+      ExecutorService executor = newFixedThreadPool(threads);
+      try {
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < threads; ++i) {
+          results.add(executor.submit(() -> parseDocuments(pendingFilePaths, elementsIndex, documents)));
+        }
+        for (Future<?> result : results) {
+          try {
+            result.get();
+          } catch (ExecutionException e) {
+            // Let the other threads finish
+            pendingFilePaths.clear();
+            throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
+          }
+        }
+      } finally {
+        executor.shutdown();
+      }
+      return documents;
+    }
+
+    private static void parseDocuments(Queue<Path> pendingFilePaths, ElementsIndex elementsIndex,
+                                       Map<Path, Document> documents) {
+      SAXBuilder saxBuilder = new SAXBuilder();
+      saxBuilder.setJDOMFactory(elementsIndex.getJDOMFactory());
+      for (Path filePath = pendingFilePaths.poll(); filePath != null; filePath = pendingFilePaths.poll()) {
+        try {
+          Document document = saxBuilder.build(filePath.toFile());
+          elementsIndex.trackChanges(document);
+          documents.put(filePath, document);
+        } catch (JDOMException | IOException e) {
+          throw new RuntimeException("Application Model Generation Error - Fail to parse file: " + filePath, e);
+        }
+      }
+    }
   }
 
 }
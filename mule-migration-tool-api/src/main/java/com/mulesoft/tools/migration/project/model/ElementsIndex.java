@@ -0,0 +1,1528 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.project.model;
+
+import static java.lang.Thread.currentThread;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.newSetFromMap;
+import static java.util.Collections.unmodifiableSet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jdom2.Attribute;
+import org.jdom2.AttributeType;
+import org.jdom2.CDATA;
+import org.jdom2.Comment;
+import org.jdom2.Content;
+import org.jdom2.DocType;
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.JDOMFactory;
+import org.jdom2.Namespace;
+import org.jdom2.Parent;
+import org.jdom2.ProcessingInstruction;
+import org.jdom2.Text;
+import org.jdom2.filter.Filter;
+import org.jdom2.located.LocatedCDATA;
+import org.jdom2.located.LocatedComment;
+import org.jdom2.located.LocatedElement;
+import org.jdom2.located.LocatedJDOMFactory;
+import org.jdom2.located.LocatedProcessingInstruction;
+import org.jdom2.located.LocatedText;
+
+/**
+ * Index of the elements of the documents of an {@link ApplicationModel} by namespace URI and local name, and by the value of
+ * their reference attributes, used to answer the queries that only filter by those without going through the whole document.
+ * <p>
+ * The elements of a document are also indexed by the trigrams of their attribute values, to look for the elements with an
+ * attribute containing some value. That index is only built for a document the first time it is queried that way.
+ * <p>
+ * The elements and attributes created by the {@link JDOMFactory} of this index keep it up to date when content or attributes
+ * are added to them or they are renamed or changed. Elements created by other means are indexed as untracked subtrees, which
+ * are traversed on each query.
+ * <p>
+ * All the nodes created by that factory also notify their changes to this index, so it knows which of the documents it parsed
+ * are still unmodified. Nodes created by other means can only be part of a document after it was modified by adding them. Those
+ * changes are also recorded in the active {@link MutationJournal}s, and the documents holding nodes created by other means are
+ * flagged, as further changes to those nodes are not notified.
+ * <p>
+ * The namespace URIs of the elements created or renamed by that factory are recorded as well, starting with the ones parsed
+ * when the model is built, so whether the documents may hold elements of a namespace is known without going through them.
+ *
+ * @author Mulesoft Inc.
+ * @since 1.2.1
+ */
+final class ElementsIndex {
+
+  /**
+   * The attributes used by an element to reference another one, or to be referenced.
+   */
+  static final Set<String> REFERENCE_ATTRIBUTES =
+      unmodifiableSet(new HashSet<>(asList("name", "ref", "connector-ref", "config-ref", "id")));
+
+  private static final String NAMESPACE_CONDITION = "namespace-uri\\(\\)\\s*=\\s*'([^']*)'";
+  private static final String LOCAL_NAME_CONDITION = "local-name\\(\\)\\s*=\\s*'([^']*)'";
+  private static final String ATTRIBUTE_CONDITION = "@([\\w.-]+)\\s*=\\s*'([^']*)'";
+  private static final Pattern SELECTOR_PATTERN = Pattern.compile("^\\s*(//\\*|/?\\*/\\*)\\[\\s*(?:"
+      + NAMESPACE_CONDITION + "\\s+and\\s+" + LOCAL_NAME_CONDITION + "|"
+      + LOCAL_NAME_CONDITION + "\\s+and\\s+" + NAMESPACE_CONDITION + ")(?:\\s+and\\s+" + ATTRIBUTE_CONDITION
+      + ")?\\s*\\]\\s*$");
+  private static final Pattern ATTRIBUTE_VALUE_SELECTOR_PATTERN =
+      Pattern.compile("^\\s*//\\*\\[\\s*@\\*\\[\\s*contains\\(\\s*\\.\\s*,\\s*'([^']*)'\\s*\\)\\s*\\]\\s*\\]\\s*$");
+
+  private static final int GRAM_LENGTH = 3;
+
+  private final Map<String, Set<Element>> elementsByName = new HashMap<>();
+  private final Map<String, Map<String, Set<Element>>> elementsByReference = new HashMap<>();
+  // Elements with a reference attribute not created by this index, its value has to be checked on each query
+  private final Map<String, Set<Element>> elementsWithUntrackedReference = new HashMap<>();
+  private final Set<Element> untrackedRoots = new LinkedHashSet<>();
+  private final Map<Document, Element> indexedRoots = new WeakHashMap<>();
+  private final Map<Long, Set<Element>> elementsByValueGram = new HashMap<>();
+  // Elements with an attribute not created by this index, its value has to be checked on each query
+  private final Set<Element> elementsWithUntrackedValue = new LinkedHashSet<>();
+  private final Map<Document, Element> valueIndexedRoots = new WeakHashMap<>();
+  private final List<MutationJournal> journals = new CopyOnWriteArrayList<>();
+  // Those of the elements created or renamed by the factory, also while the documents are parsed concurrently
+  private final Set<String> createdNamespaceUris = ConcurrentHashMap.newKeySet();
+  // Incremented when elements are registered, so that grouping them by document can be done again
+  private long registrations;
+  // The elements created by other means, or holding some, added to an element or document created by the factory
+  private final Set<Element> untrackedAddedElements = newSetFromMap(new IdentityHashMap<>());
+  // The element each thread last registered when adding it to a parent, its own parent is set afterwards
+  private final Map<Thread, Element> attachingElements = new WeakHashMap<>();
+
+  /**
+   * @return a factory that creates elements that keep this index up to date
+   */
+  JDOMFactory getJDOMFactory() {
+    return new IndexingJDOMFactory();
+  }
+
+  /**
+   * Starts tracking the changes of a document created with the factory of this index, which is considered unmodified from now
+   * on. Documents with a doctype are not tracked, as changes to it are not notified.
+   *
+   * @param document the document just parsed
+   */
+  void trackChanges(Document document) {
+    if (isTracked(document) && document.getDocType() == null) {
+      ((TrackedDocument) document).unmodified = true;
+    }
+  }
+
+  /**
+   * @param document the document to check
+   * @return {@code false} if the document is tracked by this index and wasn't changed since, {@code true} otherwise
+   */
+  boolean isModified(Document document) {
+    return !isTracked(document) || !((TrackedDocument) document).unmodified;
+  }
+
+  /**
+   * @param document the document to check
+   * @return {@code true} if the changes to the document may not be notified to this index, because it wasn't created by this
+   *         index or it holds nodes that weren't
+   */
+  boolean hasUntrackedContent(Document document) {
+    return !isTracked(document) || ((TrackedDocument) document).untrackedContent;
+  }
+
+  /**
+   * @return a journal recording the changes to the documents of this index from now on
+   */
+  MutationJournal startJournal() {
+    MutationJournal journal = new MutationJournal(this);
+    journals.add(journal);
+    return journal;
+  }
+
+  void stopJournal(MutationJournal journal) {
+    journals.remove(journal);
+  }
+
+  /**
+   * Parses the given XPath expression if it just selects elements by namespace URI and local name, as the ones generated by
+   * {@code XmlDslUtils#getXPathSelector}, optionally along with the value of one of their attributes, or the elements with an
+   * attribute containing a value.
+   *
+   * @param xpathExpression the XPath expression to parse
+   * @return the selector for the expression, or {@code null} if it has to be evaluated as XPath
+   */
+  static ElementSelector parseSelector(String xpathExpression) {
+    Matcher attributeValueMatcher = ATTRIBUTE_VALUE_SELECTOR_PATTERN.matcher(xpathExpression);
+    if (attributeValueMatcher.matches()) {
+      return new ElementSelector(attributeValueMatcher.group(1));
+    }
+    Matcher matcher = SELECTOR_PATTERN.matcher(xpathExpression);
+    if (!matcher.matches()) {
+      return null;
+    }
+    // Relative to the document the expression is evaluated on, '*/*' selects its top level elements as well
+    boolean topLevel = !"//*".equals(matcher.group(1));
+    if (matcher.group(2) != null) {
+      return new ElementSelector(matcher.group(2), matcher.group(3), topLevel, matcher.group(6), matcher.group(7));
+    } else {
+      return new ElementSelector(matcher.group(5), matcher.group(4), topLevel, matcher.group(6), matcher.group(7));
+    }
+  }
+
+  /**
+   * @param selector the selector to match
+   * @param document the document to look the elements in
+   * @return the elements of the document matching the selector, in document order
+   */
+  synchronized List<Element> getElements(ElementSelector selector, Document document) {
+    return getElements(selector, document, null);
+  }
+
+  /**
+   * @param selector the selector to match
+   * @param document the document to look the elements in
+   * @param lookup the lookup of the elements in many documents this one is part of, or {@code null}
+   * @return the elements of the document matching the selector, in document order
+   */
+  synchronized List<Element> getElements(ElementSelector selector, Document document, DocumentsLookup lookup) {
+    return select(selector, document, Integer.MAX_VALUE, true, lookup);
+  }
+
+  /**
+   * @param selector the selector to match
+   * @param document the document to look the elements in
+   * @return the first element of the document matching the selector in document order, or {@code null} if there is none
+   */
+  synchronized Element getFirstElement(ElementSelector selector, Document document) {
+    return getFirstElement(selector, document, null);
+  }
+
+  /**
+   * @param selector the selector to match
+   * @param document the document to look the elements in
+   * @param lookup the lookup of the elements in many documents this one is part of, or {@code null}
+   * @return the first element of the document matching the selector in document order, or {@code null} if there is none
+   */
+  synchronized Element getFirstElement(ElementSelector selector, Document document, DocumentsLookup lookup) {
+    Element first = null;
+    int[] firstPosition = null;
+    // Cheaper than sorting all the matches
+    for (Element element : select(selector, document, Integer.MAX_VALUE, false, lookup)) {
+      int[] position = getPosition(element);
+      if (first == null || comparePositions(position, firstPosition) < 0) {
+        first = element;
+        firstPosition = position;
+      }
+    }
+    return first;
+  }
+
+  /**
+   * @param selector the selector to match
+   * @param document the document to look the elements in
+   * @param limit the count after which no more elements are looked for
+   * @return the number of elements of the document matching the selector, up to {@code limit}
+   */
+  synchronized int countElements(ElementSelector selector, Document document, int limit) {
+    return countElements(selector, document, limit, null);
+  }
+
+  /**
+   * @param selector the selector to match
+   * @param document the document to look the elements in
+   * @param limit the count after which no more elements are looked for
+   * @param lookup the lookup of the elements in many documents this one is part of, or {@code null}
+   * @return the number of elements of the document matching the selector, up to {@code limit}
+   */
+  synchronized int countElements(ElementSelector selector, Document document, int limit, DocumentsLookup lookup) {
+    return select(selector, document, limit, false, lookup).size();
+  }
+
+  /**
+   * @return a lookup to pass when looking for the elements matching a selector in each of many documents in a row
+   */
+  DocumentsLookup startLookup() {
+    return new DocumentsLookup();
+  }
+
+  /**
+   * Looks for the elements of the document matching a selector by namespace URI and local name, given the ones that matched it
+   * before the changes recorded in a journal. Only those, and the elements added or renamed since, are checked.
+   *
+   * @param selector the selector to match, not by attribute value
+   * @param document the document to look the elements in, which must not have untracked content
+   * @param previousElements the elements of the document matching the selector when the journal was last reset
+   * @param changedElements the elements added to the document or renamed since, as recorded in the journal
+   * @return the elements of the document matching the selector, in document order
+   */
+  synchronized List<Element> getElements(ElementSelector selector, Document document, Collection<Element> previousElements,
+                                         Collection<Element> changedElements) {
+    if (!document.hasRootElement()) {
+      return emptyList();
+    }
+    Element rootElement = document.getRootElement();
+    Predicate<Element> matcher =
+        element -> selector.matches(element) && (!selector.topLevel || element.getParentElement() == rootElement);
+    Set<Element> matches = new LinkedHashSet<>();
+    for (Element previous : previousElements) {
+      if (previous.getDocument() == document && matcher.test(previous)) {
+        matches.add(previous);
+      }
+    }
+    for (Element changed : changedElements) {
+      if (changed.getDocument() == document) {
+        collect(changed, rootElement, false, matcher, Integer.MAX_VALUE, matches);
+      }
+    }
+    return sortInDocumentOrder(matches);
+  }
+
+  /**
+   * Looks for the elements of the document matching each of the given selectors by namespace URI and local name, going through
+   * the document only once for all of them.
+   *
+   * @param selectors the selectors to match, not by attribute value
+   * @param document the document to look the elements in
+   * @return the elements of the document matching each selector, in the order of the selectors, each in document order
+   */
+  static List<List<Element>> getElements(List<ElementSelector> selectors, Document document) {
+    List<List<Element>> matches = new ArrayList<>(selectors.size());
+    // The indexes of the selectors for each namespace URI and local name
+    Map<String, Map<String, List<Integer>>> matcherTable = new HashMap<>();
+    for (int i = 0; i < selectors.size(); ++i) {
+      ElementSelector selector = selectors.get(i);
+      matches.add(new ArrayList<>());
+      matcherTable.computeIfAbsent(selector.namespaceUri, uri -> new HashMap<>())
+          .computeIfAbsent(selector.localName, name -> new ArrayList<>(1)).add(i);
+    }
+    if (document.hasRootElement()) {
+      walk(document.getRootElement(), 0, selectors, matcherTable, matches);
+    }
+    return matches;
+  }
+
+  private static void walk(Element element, int depth, List<ElementSelector> selectors,
+                           Map<String, Map<String, List<Integer>>> matcherTable, List<List<Element>> matches) {
+    Map<String, List<Integer>> namespaceSelectors = matcherTable.get(element.getNamespaceURI());
+    List<Integer> elementSelectors = namespaceSelectors != null ? namespaceSelectors.get(element.getName()) : null;
+    if (elementSelectors != null) {
+      for (int i : elementSelectors) {
+        if (!selectors.get(i).topLevel || depth == 1) {
+          matches.get(i).add(element);
+        }
+      }
+    }
+    for (Element child : element.getChildren()) {
+      walk(child, depth + 1, selectors, matcherTable, matches);
+    }
+  }
+
+  private List<Element> select(ElementSelector selector, Document document, int limit, boolean sorted,
+                               DocumentsLookup lookup) {
+    if (selector.containedValue != null) {
+      return selectAttributeContaining(selector.containedValue, document, limit, sorted);
+    }
+    indexDocument(document);
+    return query(document, selector.topLevel, selector::matches, limit, sorted, lookup,
+                 elementsByName.getOrDefault(selector.key, emptySet()));
+  }
+
+  /**
+   * @param attributeName the name of the attribute, without namespace
+   * @param value the value of the attribute
+   * @param document the document to look the elements in
+   * @return the elements of the document that have the given value for the attribute, in document order
+   */
+  synchronized List<Element> getElementsWithAttribute(String attributeName, String value, Document document) {
+    Predicate<Element> matcher = element -> value.equals(element.getAttributeValue(attributeName));
+    if (!REFERENCE_ATTRIBUTES.contains(attributeName)) {
+      return query(document, false, matcher);
+    }
+    indexDocument(document);
+    return query(document, false, matcher,
+                 elementsByReference.getOrDefault(attributeName, emptyMap()).getOrDefault(value, emptySet()),
+                 elementsWithUntrackedReference.getOrDefault(attributeName, emptySet()));
+  }
+
+  /**
+   * @param value the value to look for
+   * @param document the document to look the elements in
+   * @return the elements of the document with any attribute containing the value, in document order
+   */
+  synchronized List<Element> getElementsWithAttributeContaining(String value, Document document) {
+    return selectAttributeContaining(value, document, Integer.MAX_VALUE, true);
+  }
+
+  /**
+   * Checks whether the documents may hold an element of any of the given namespaces. Only the elements not created by the
+   * factory of this index, and the documents it did not parse, are gone through.
+   *
+   * @param namespaceUris the namespace URIs to look for
+   * @param documents the documents to look the elements in
+   * @return {@code false} if none of the documents holds an element of those namespaces, {@code true} if any may, as an element
+   *         created by the factory of this index is considered even after it is removed
+   */
+  synchronized boolean mayHoldAnyNamespace(Collection<String> namespaceUris, Collection<Document> documents) {
+    if (namespaceUris.stream().anyMatch(createdNamespaceUris::contains)) {
+      return true;
+    }
+    Predicate<Element> matcher = element -> namespaceUris.contains(element.getNamespaceURI());
+    Set<Document> documentsToCheck = newSetFromMap(new IdentityHashMap<>());
+    for (Document document : documents) {
+      if (!document.hasRootElement()) {
+        continue;
+      }
+      if (!isTracked(document.getRootElement())) {
+        if (holds(document.getRootElement(), matcher)) {
+          return true;
+        }
+      } else {
+        documentsToCheck.add(document);
+      }
+    }
+    for (Iterator<Element> iterator = untrackedAddedElements.iterator(); iterator.hasNext();) {
+      Element untrackedElement = iterator.next();
+      Document untrackedElementDocument = untrackedElement.getDocument();
+      if (untrackedElementDocument == null) {
+        if (!isBeingAttached(untrackedElement)) {
+          // It is added again when attached to an element or document created by the factory
+          iterator.remove();
+        }
+      } else if (documentsToCheck.contains(untrackedElementDocument) && holds(untrackedElement, matcher)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean holds(Element element, Predicate<Element> matcher) {
+    Set<Element> matches = new LinkedHashSet<>();
+    collect(element, element, false, matcher, 1, matches);
+    return !matches.isEmpty();
+  }
+
+  private List<Element> selectAttributeContaining(String value, Document document, int limit, boolean sorted) {
+    Predicate<Element> matcher = element -> element.hasAttributes()
+        && element.getAttributes().stream().anyMatch(attribute -> attribute.getValue().contains(value));
+    if (value.length() < GRAM_LENGTH) {
+      return query(document, false, matcher, limit, sorted, null);
+    }
+    indexDocument(document);
+    indexValues(document);
+
+    // Any element containing the value has all of its grams, so the elements with its least frequent gram are enough
+    Set<Element> candidates = null;
+    for (int i = 0; i + GRAM_LENGTH <= value.length(); ++i) {
+      Set<Element> gramElements = elementsByValueGram.getOrDefault(gram(value, i), emptySet());
+      if (candidates == null || gramElements.size() < candidates.size()) {
+        candidates = gramElements;
+      }
+    }
+    return query(document, false, matcher, limit, sorted, null, candidates, elementsWithUntrackedValue);
+  }
+
+  /**
+   * Looks for the elements of the document matching the given predicate, either anywhere in the document or just at its top
+   * level.
+   *
+   * @param candidateSets the indexed elements that may match
+   */
+  @SafeVarargs
+  private final List<Element> query(Document document, boolean topLevel, Predicate<Element> matcher,
+                                    Set<Element>... candidateSets) {
+    return query(document, topLevel, matcher, Integer.MAX_VALUE, true, null, candidateSets);
+  }
+
+  /**
+   * Looks for the elements of the document matching the given predicate, either anywhere in the document or just at its top
+   * level, until the given number of them is found.
+   *
+   * @param limit the count after which no more elements are looked for
+   * @param sorted whether the elements have to be returned in document order
+   * @param lookup the lookup of the elements in many documents this one is part of, or {@code null}
+   * @param candidateSets the indexed elements that may match, none to go through the whole document
+   */
+  @SafeVarargs
+  private final List<Element> query(Document document, boolean topLevel, Predicate<Element> matcher, int limit,
+                                    boolean sorted, DocumentsLookup lookup, Set<Element>... candidateSets) {
+    if (!document.hasRootElement()) {
+      return emptyList();
+    }
+    Element rootElement = document.getRootElement();
+    Predicate<Element> levelMatcher = topLevel ? matcher.and(e -> e.getParentElement() == rootElement) : matcher;
+    Set<Element> matches = new LinkedHashSet<>();
+    if (!isTracked(rootElement) || candidateSets.length == 0) {
+      collect(rootElement, rootElement, topLevel, levelMatcher, limit, matches);
+      return new ArrayList<>(matches);
+    }
+    if (lookup != null) {
+      for (Set<Element> candidates : candidateSets) {
+        for (Iterator<Element> iterator = lookup.getElements(candidates, document).iterator(); iterator.hasNext()
+            && matches.size() < limit;) {
+          Element candidate = iterator.next();
+          if (levelMatcher.test(candidate)) {
+            matches.add(candidate);
+          }
+        }
+      }
+      for (Iterator<Element> iterator = lookup.getElements(untrackedRoots, document).iterator(); iterator.hasNext()
+          && matches.size() < limit;) {
+        collect(iterator.next(), rootElement, topLevel, levelMatcher, limit, matches);
+      }
+      return sorted ? sortInDocumentOrder(matches) : new ArrayList<>(matches);
+    }
+
+    for (Set<Element> candidates : candidateSets) {
+      for (Iterator<Element> iterator = candidates.iterator(); iterator.hasNext() && matches.size() < limit;) {
+        Element candidate = iterator.next();
+        // Tested first, as looking up the document of each candidate walks up its ancestors, and the candidates of all the
+        // documents are checked
+        if (!levelMatcher.test(candidate)) {
+          continue;
+        }
+        Document candidateDocument = candidate.getDocument();
+        if (candidateDocument == null) {
+          if (!isBeingAttached(candidate)) {
+            // Detached, it is indexed again if attached to a tracked element
+            iterator.remove();
+          }
+        } else if (candidateDocument == document) {
+          matches.add(candidate);
+        }
+      }
+    }
+    for (Iterator<Element> iterator = untrackedRoots.iterator(); iterator.hasNext() && matches.size() < limit;) {
+      Element untrackedRoot = iterator.next();
+      Document untrackedRootDocument = untrackedRoot.getDocument();
+      if (untrackedRootDocument == null) {
+        if (!isBeingAttached(untrackedRoot)) {
+          iterator.remove();
+        }
+      } else if (untrackedRootDocument == document) {
+        collect(untrackedRoot, rootElement, topLevel, levelMatcher, limit, matches);
+      }
+    }
+    return sorted ? sortInDocumentOrder(matches) : new ArrayList<>(matches);
+  }
+
+  /**
+   * The indexed elements grouped by document, for looking up the elements matching a selector in each of many documents in a
+   * row. Otherwise the indexed elements of all the documents are gone through for each of them. The elements are grouped again
+   * if others were registered since.
+   */
+  final class DocumentsLookup {
+
+    private final Map<Set<Element>, Map<Document, List<Element>>> elementsByDocument = new IdentityHashMap<>();
+    private long groupedRegistrations = -1;
+
+    private List<Element> getElements(Set<Element> elements, Document document) {
+      if (groupedRegistrations != registrations) {
+        elementsByDocument.clear();
+        groupedRegistrations = registrations;
+      }
+      return elementsByDocument.computeIfAbsent(elements, ElementsIndex.this::groupByDocument).getOrDefault(document,
+                                                                                                            emptyList());
+    }
+  }
+
+  private Map<Document, List<Element>> groupByDocument(Set<Element> elements) {
+    Map<Document, List<Element>> elementsByDocument = new IdentityHashMap<>();
+    for (Iterator<Element> iterator = elements.iterator(); iterator.hasNext();) {
+      Element element = iterator.next();
+      Document document = element.getDocument();
+      if (document == null) {
+        if (!isBeingAttached(element)) {
+          // Detached, it is indexed again if attached to a tracked element
+          iterator.remove();
+        }
+      } else {
+        elementsByDocument.computeIfAbsent(document, d -> new ArrayList<>()).add(element);
+      }
+    }
+    return elementsByDocument;
+  }
+
+  /**
+   * Registers all the elements of the given document, unless they already are.
+   */
+  private void indexDocument(Document document) {
+    if (!document.hasRootElement()) {
+      return;
+    }
+    Element rootElement = document.getRootElement();
+    if (isTracked(rootElement) && indexedRoots.get(document) != rootElement) {
+      register(rootElement);
+      indexedRoots.put(document, rootElement);
+      if (isTracked(document)) {
+        ((TrackedDocument) document).indexed = true;
+      }
+    }
+  }
+
+  /**
+   * Registers the attribute values of all the elements of the given document, unless they already are. Changes to the values
+   * are registered from then on.
+   */
+  private void indexValues(Document document) {
+    if (!document.hasRootElement()) {
+      return;
+    }
+    Element rootElement = document.getRootElement();
+    if (isTracked(rootElement) && valueIndexedRoots.get(document) != rootElement) {
+      valueIndexedRoots.put(document, rootElement);
+      registerValues(rootElement);
+    }
+  }
+
+  private void registerValues(Element element) {
+    if (!isTracked(element)) {
+      // Already registered as an untracked root
+      return;
+    }
+    if (element.hasAttributes()) {
+      for (Attribute attribute : element.getAttributes()) {
+        registerValue(element, attribute);
+      }
+    }
+    for (Element child : element.getChildren()) {
+      registerValues(child);
+    }
+  }
+
+  /**
+   * Registers the attribute values of an element being added to the given parent, if the values of its document are indexed.
+   */
+  private synchronized void registerValues(Element parent, Element child) {
+    if (!valueIndexedRoots.isEmpty() && isValueIndexed(parent)) {
+      registerValues(child);
+    }
+  }
+
+  private boolean isValueIndexed(Element element) {
+    Document document = element.getDocument();
+    return document != null && document.hasRootElement() && valueIndexedRoots.get(document) == document.getRootElement();
+  }
+
+  private void registerValue(Element element, Attribute attribute) {
+    if (!(attribute instanceof IndexedAttribute && ((IndexedAttribute) attribute).elementsIndex == this)) {
+      elementsWithUntrackedValue.add(element);
+      return;
+    }
+    String value = attribute.getValue();
+    for (int i = 0; i + GRAM_LENGTH <= value.length(); ++i) {
+      elementsByValueGram.computeIfAbsent(gram(value, i), k -> new LinkedHashSet<>()).add(element);
+    }
+  }
+
+  private static long gram(String value, int start) {
+    long gram = 0;
+    for (int i = start; i < start + GRAM_LENGTH; ++i) {
+      gram = gram << Character.SIZE | value.charAt(i);
+    }
+    return gram;
+  }
+
+  /**
+   * Registers an element being added to the given parent, along with its content.
+   */
+  private synchronized void registerAdded(Element parent, Element child) {
+    attachingElements.put(currentThread(), child);
+    register(child);
+    registerValues(parent, child);
+  }
+
+  /**
+   * Whether the given element, not in any document, may be being added to one by another thread. Its parent is set after it is
+   * registered, so it must not be removed from the index then. The thread that adds it has finished doing so once it registers
+   * another element, and the current thread has when querying the index.
+   */
+  private boolean isBeingAttached(Element element) {
+    if (attachingElements.isEmpty()) {
+      return false;
+    }
+    Element topElement = element;
+    while (topElement.getParentElement() != null) {
+      topElement = topElement.getParentElement();
+    }
+    for (Map.Entry<Thread, Element> attachingElement : attachingElements.entrySet()) {
+      if (attachingElement.getValue() == topElement && attachingElement.getKey() != currentThread()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean isTracked(Element element) {
+    return element instanceof IndexedElement && ((IndexedElement) element).elementsIndex == this;
+  }
+
+  private boolean isTracked(Document document) {
+    return document instanceof TrackedDocument && ((TrackedDocument) document).elementsIndex == this;
+  }
+
+  /**
+   * Whether changes to the given element have to be registered in the index right away. Content added to a document that was
+   * never queried, or to a detached element, is registered when the whole document is indexed or the element is attached to
+   * one. This way the documents parsed concurrently don't contend for the index.
+   */
+  private boolean isIndexed(Element element) {
+    Document document = element.getDocument();
+    return document != null && (!isTracked(document) || ((TrackedDocument) document).indexed);
+  }
+
+  private synchronized void register(Element element) {
+    registrations++;
+    if (isTracked(element)) {
+      elementsByName.computeIfAbsent(key(element.getNamespaceURI(), element.getName()), k -> new LinkedHashSet<>())
+          .add(element);
+      if (element.hasAttributes()) {
+        for (Attribute attribute : element.getAttributes()) {
+          registerAttribute(element, attribute);
+        }
+      }
+      for (Element child : element.getChildren()) {
+        register(child);
+      }
+    } else {
+      untrackedRoots.add(element);
+    }
+  }
+
+  private synchronized void renamed(Element element, String previousKey) {
+    registrations++;
+    createdNamespaceUris.add(element.getNamespaceURI());
+    Set<Element> previousKeyElements = elementsByName.get(previousKey);
+    if (previousKeyElements != null) {
+      previousKeyElements.remove(element);
+    }
+    elementsByName.computeIfAbsent(key(element.getNamespaceURI(), element.getName()), k -> new LinkedHashSet<>())
+        .add(element);
+    elementChanged(element.getDocument(), element);
+  }
+
+  /**
+   * Records the content added to the given parent in the active journals, flagging the parent if the content was not created by
+   * this index.
+   */
+  private void contentAdded(Parent parent, Content child) {
+    if (!isTracked(child) || child instanceof IndexedElement && ((IndexedElement) child).untrackedContent) {
+      untrackedContentAdded(parent);
+      if (child instanceof Element) {
+        untrackedElementAdded((Element) child);
+      }
+    }
+    if (child instanceof Element && !journals.isEmpty()) {
+      elementChanged(parent.getDocument(), (Element) child);
+    }
+  }
+
+  private synchronized void untrackedElementAdded(Element element) {
+    attachingElements.put(currentThread(), element);
+    untrackedAddedElements.add(element);
+  }
+
+  private void elementChanged(Document document, Element element) {
+    if (document != null) {
+      for (MutationJournal journal : journals) {
+        journal.elementChanged(document, element);
+      }
+    }
+  }
+
+  /**
+   * Flags the given parent and its ancestors as holding content not created by this index. The flag of a detached element is
+   * passed on to its new ancestors when it is added to a parent.
+   */
+  private void untrackedContentAdded(Parent parent) {
+    for (Parent current = parent; current != null; current = current.getParent()) {
+      if (current instanceof IndexedElement && ((IndexedElement) current).elementsIndex == this) {
+        if (((IndexedElement) current).untrackedContent) {
+          // Its ancestors are already flagged
+          return;
+        }
+        ((IndexedElement) current).untrackedContent = true;
+      } else if (current instanceof Document && isTracked((Document) current)) {
+        ((TrackedDocument) current).untrackedContent = true;
+      }
+    }
+  }
+
+  private boolean isTracked(Content content) {
+    if (content instanceof IndexedElement) {
+      return ((IndexedElement) content).elementsIndex == this;
+    } else if (content instanceof TrackedText) {
+      return ((TrackedText) content).elementsIndex == this;
+    } else if (content instanceof TrackedCDATA) {
+      return ((TrackedCDATA) content).elementsIndex == this;
+    } else if (content instanceof TrackedComment) {
+      return ((TrackedComment) content).elementsIndex == this;
+    } else if (content instanceof TrackedProcessingInstruction) {
+      return ((TrackedProcessingInstruction) content).elementsIndex == this;
+    }
+    return false;
+  }
+
+  private boolean isTracked(Attribute attribute) {
+    return attribute instanceof IndexedAttribute && ((IndexedAttribute) attribute).elementsIndex == this;
+  }
+
+  private synchronized void registerAttribute(Element element, Attribute attribute) {
+    if (!valueIndexedRoots.isEmpty() && isValueIndexed(element)) {
+      // The grams of the previous value are left, the candidates found with them are checked anyway
+      registerValue(element, attribute);
+    }
+    if (!isReference(attribute.getName(), attribute.getNamespace())) {
+      return;
+    }
+    if (attribute instanceof IndexedAttribute && ((IndexedAttribute) attribute).elementsIndex == this) {
+      elementsByReference.computeIfAbsent(attribute.getName(), k -> new HashMap<>())
+          .computeIfAbsent(attribute.getValue(), k -> new LinkedHashSet<>())
+          .add(element);
+    } else {
+      elementsWithUntrackedReference.computeIfAbsent(attribute.getName(), k -> new LinkedHashSet<>()).add(element);
+    }
+  }
+
+  private synchronized void attributeChanged(Attribute attribute, String previousName, Namespace previousNamespace,
+                                             String previousValue) {
+    Element element = attribute.getParent();
+    if (element == null || !isTracked(element)) {
+      return;
+    }
+    if (isReference(previousName, previousNamespace)) {
+      Set<Element> previousValueElements =
+          elementsByReference.getOrDefault(previousName, emptyMap()).get(previousValue);
+      if (previousValueElements != null) {
+        previousValueElements.remove(element);
+      }
+    }
+    registerAttribute(element, attribute);
+  }
+
+  /**
+   * Marks the document of the given node as modified, if any.
+   *
+   * @param parent a node that was changed
+   */
+  void modified(Parent parent) {
+    if (parent != null) {
+      Document document = parent.getDocument();
+      if (isTracked(document)) {
+        ((TrackedDocument) document).unmodified = false;
+      }
+      if (document != null) {
+        for (MutationJournal journal : journals) {
+          journal.documentChanged(document);
+        }
+      }
+    }
+  }
+
+  private void parentChanged(Content content, Parent newParent) {
+    modified(content.getParent());
+    modified(newParent);
+  }
+
+  private static boolean isReference(String attributeName, Namespace attributeNamespace) {
+    return Namespace.NO_NAMESPACE.equals(attributeNamespace) && REFERENCE_ATTRIBUTES.contains(attributeName);
+  }
+
+  private static void collect(Element element, Element rootElement, boolean topLevel, Predicate<Element> matcher, int limit,
+                              Set<Element> matches) {
+    if (topLevel && element == rootElement) {
+      element.getChildren().stream().filter(matcher).limit(limit - matches.size()).forEach(matches::add);
+      return;
+    }
+    if (matcher.test(element)) {
+      matches.add(element);
+    }
+    if (!topLevel) {
+      for (Element child : element.getChildren()) {
+        if (matches.size() >= limit) {
+          return;
+        }
+        collect(child, rootElement, topLevel, matcher, limit, matches);
+      }
+    }
+  }
+
+  private static List<Element> sortInDocumentOrder(Set<Element> elements) {
+    List<Element> sorted = new ArrayList<>(elements);
+    if (sorted.size() > 1) {
+      Map<Element, int[]> positions = new IdentityHashMap<>();
+      for (Element element : sorted) {
+        positions.put(element, getPosition(element));
+      }
+      sorted.sort((e1, e2) -> comparePositions(positions.get(e1), positions.get(e2)));
+    }
+    return sorted;
+  }
+
+  private static int[] getPosition(Element element) {
+    int depth = 0;
+    for (Element current = element; current.getParentElement() != null; current = current.getParentElement()) {
+      ++depth;
+    }
+    int[] position = new int[depth];
+    Element current = element;
+    for (int i = depth - 1; i >= 0; --i) {
+      Element parent = current.getParentElement();
+      position[i] = parent.indexOf(current);
+      current = parent;
+    }
+    return position;
+  }
+
+  private static int comparePositions(int[] position1, int[] position2) {
+    int length = Math.min(position1.length, position2.length);
+    for (int i = 0; i < length; ++i) {
+      if (position1[i] != position2[i]) {
+        return Integer.compare(position1[i], position2[i]);
+      }
+    }
+    return Integer.compare(position1.length, position2.length);
+  }
+
+  private static String key(String namespaceUri, String localName) {
+    return "{" + namespaceUri + "}" + localName;
+  }
+
+  /**
+   * Selects the elements with a namespace URI and local name, either anywhere in the document or just at the top level and
+   * optionally with a value for one of their attributes, or the elements with an attribute containing a value.
+   */
+  static final class ElementSelector {
+
+    private final String namespaceUri;
+    private final String localName;
+    private final boolean topLevel;
+    private final String key;
+    private final String attributeName;
+    private final String attributeValue;
+    private final String containedValue;
+
+    private ElementSelector(String namespaceUri, String localName, boolean topLevel, String attributeName,
+                            String attributeValue) {
+      this.namespaceUri = namespaceUri;
+      this.localName = localName;
+      this.topLevel = topLevel;
+      this.key = key(namespaceUri, localName);
+      this.attributeName = attributeName;
+      this.attributeValue = attributeValue;
+      this.containedValue = null;
+    }
+
+    private ElementSelector(String containedValue) {
+      this.namespaceUri = null;
+      this.localName = null;
+      this.topLevel = false;
+      this.key = null;
+      this.attributeName = null;
+      this.attributeValue = null;
+      this.containedValue = containedValue;
+    }
+
+    private boolean matches(Element element) {
+      return localName.equals(element.getName()) && namespaceUri.equals(element.getNamespaceURI())
+          && (attributeName == null || attributeValue.equals(element.getAttributeValue(attributeName)));
+    }
+
+    /**
+     * @return whether this selects the elements by the value of their attributes, rather than just by namespace and name
+     */
+    boolean isByAttributeValue() {
+      return containedValue != null || attributeName != null;
+    }
+
+    @Override
+    public String toString() {
+      if (containedValue != null) {
+        return "//*[@*[contains(.,'" + containedValue + "')]]";
+      }
+      return (topLevel ? "/*/*" : "//*") + asList(namespaceUri, localName)
+          + (attributeName != null ? "[@" + attributeName + "='" + attributeValue + "']" : "");
+    }
+  }
+
+  /**
+   * An element that notifies its index of the content and attributes added to it and of the changes to its name.
+   */
+  private static final class IndexedElement extends LocatedElement {
+
+    private static final long serialVersionUID = 1L;
+
+    private transient ElementsIndex elementsIndex;
+    // Whether this element holds nodes not created by its index
+    private transient volatile boolean untrackedContent;
+
+    private IndexedElement(ElementsIndex index, String name, Namespace namespace) {
+      super(name, namespace);
+      this.elementsIndex = index;
+      index.createdNamespaceUris.add(getNamespaceURI());
+    }
+
+    @Override
+    public void canContainContent(Content child, int index, boolean replace) {
+      super.canContainContent(child, index, replace);
+      if (elementsIndex != null) {
+        elementsIndex.modified(this);
+        elementsIndex.contentAdded(this, child);
+        if (child instanceof Element && elementsIndex.isIndexed(this)) {
+          elementsIndex.registerAdded(this, (Element) child);
+        }
+      }
+    }
+
+    @Override
+    protected Content setParent(Parent parent) {
+      if (elementsIndex != null) {
+        elementsIndex.parentChanged(this, parent);
+      }
+      return super.setParent(parent);
+    }
+
+    @Override
+    public Element setName(String name) {
+      if (elementsIndex == null) {
+        return super.setName(name);
+      }
+      String previousKey = key(getNamespaceURI(), getName());
+      super.setName(name);
+      elementsIndex.renamed(this, previousKey);
+      elementsIndex.modified(this);
+      return this;
+    }
+
+    @Override
+    public Element setNamespace(Namespace namespace) {
+      if (elementsIndex == null) {
+        return super.setNamespace(namespace);
+      }
+      String previousKey = key(getNamespaceURI(), getName());
+      super.setNamespace(namespace);
+      elementsIndex.renamed(this, previousKey);
+      elementsIndex.modified(this);
+      return this;
+    }
+
+    @Override
+    public boolean addNamespaceDeclaration(Namespace additionalNamespace) {
+      boolean added = super.addNamespaceDeclaration(additionalNamespace);
+      if (elementsIndex != null && added) {
+        elementsIndex.modified(this);
+      }
+      return added;
+    }
+
+    @Override
+    public void removeNamespaceDeclaration(Namespace additionalNamespace) {
+      super.removeNamespaceDeclaration(additionalNamespace);
+      if (elementsIndex != null) {
+        elementsIndex.modified(this);
+      }
+    }
+
+    @Override
+    public Element setAttribute(String name, String value) {
+      if (elementsIndex != null && getAttribute(name) == null) {
+        // So further changes to its value are tracked
+        return setAttribute(new IndexedAttribute(elementsIndex, name, value, Namespace.NO_NAMESPACE));
+      }
+      return super.setAttribute(name, value);
+    }
+
+    @Override
+    public Element setAttribute(String name, String value, Namespace ns) {
+      if (elementsIndex != null && getAttribute(name, ns) == null) {
+        return setAttribute(new IndexedAttribute(elementsIndex, name, value, ns));
+      }
+      return super.setAttribute(name, value, ns);
+    }
+
+    @Override
+    public Element setAttribute(Attribute attribute) {
+      super.setAttribute(attribute);
+      if (elementsIndex != null) {
+        if (!elementsIndex.isTracked(attribute)) {
+          elementsIndex.untrackedContentAdded(this);
+        }
+        if (elementsIndex.isIndexed(this)) {
+          elementsIndex.registerAttribute(this, attribute);
+        }
+        elementsIndex.modified(this);
+      }
+      return this;
+    }
+
+    @Override
+    public Element setAttributes(Collection<? extends Attribute> newAttributes) {
+      super.setAttributes(newAttributes);
+      if (elementsIndex != null) {
+        if (newAttributes != null && !newAttributes.stream().allMatch(elementsIndex::isTracked)) {
+          elementsIndex.untrackedContentAdded(this);
+        }
+        if (newAttributes != null && elementsIndex.isIndexed(this)) {
+          newAttributes.forEach(attribute -> elementsIndex.registerAttribute(this, attribute));
+        }
+        elementsIndex.modified(this);
+      }
+      return this;
+    }
+
+    @Override
+    public void sortContent(Comparator<? super Content> comparator) {
+      super.sortContent(comparator);
+      if (elementsIndex != null) {
+        elementsIndex.modified(this);
+      }
+    }
+
+    @Override
+    public <E extends Content> void sortContent(Filter<E> filter, Comparator<? super E> comparator) {
+      super.sortContent(filter, comparator);
+      if (elementsIndex != null) {
+        elementsIndex.modified(this);
+      }
+    }
+
+    @Override
+    public void sortChildren(Comparator<? super Element> comparator) {
+      super.sortChildren(comparator);
+      if (elementsIndex != null) {
+        elementsIndex.modified(this);
+      }
+    }
+
+    @Override
+    public void sortAttributes(Comparator<? super Attribute> comparator) {
+      super.sortAttributes(comparator);
+      if (elementsIndex != null) {
+        elementsIndex.modified(this);
+      }
+    }
+  }
+
+  /**
+   * An attribute that notifies its index of the changes to its name or value.
+   */
+  private static final class IndexedAttribute extends Attribute {
+
+    private static final long serialVersionUID = 1L;
+
+    private transient ElementsIndex elementsIndex;
+
+    private IndexedAttribute(ElementsIndex index, String name, String value, Namespace namespace) {
+      this(index, name, value, AttributeType.UNDECLARED, namespace);
+    }
+
+    private IndexedAttribute(ElementsIndex index, String name, String value, AttributeType type, Namespace namespace) {
+      super(name, value, type, namespace);
+      this.elementsIndex = index;
+    }
+
+    @Override
+    public Attribute setName(String name) {
+      if (elementsIndex == null) {
+        return super.setName(name);
+      }
+      String previousName = getName();
+      super.setName(name);
+      elementsIndex.attributeChanged(this, previousName, getNamespace(), getValue());
+      elementsIndex.modified(getParent());
+      return this;
+    }
+
+    @Override
+    public Attribute setNamespace(Namespace namespace) {
+      if (elementsIndex == null) {
+        return super.setNamespace(namespace);
+      }
+      Namespace previousNamespace = getNamespace();
+      super.setNamespace(namespace);
+      elementsIndex.attributeChanged(this, getName(), previousNamespace, getValue());
+      elementsIndex.modified(getParent());
+      return this;
+    }
+
+    @Override
+    public Attribute setValue(String value) {
+      if (elementsIndex == null) {
+        return super.setValue(value);
+      }
+      String previousValue = getValue();
+      super.setValue(value);
+      elementsIndex.attributeChanged(this, getName(), getNamespace(), previousValue);
+      elementsIndex.modified(getParent());
+      return this;
+    }
+
+    @Override
+    protected Attribute setParent(Element parent) {
+      if (elementsIndex != null) {
+        elementsIndex.modified(getParent());
+        elementsIndex.modified(parent);
+      }
+      return super.setParent(parent);
+    }
+  }
+
+  /**
+   * A document that notifies its index of the content added to it.
+   */
+  private static final class TrackedDocument extends Document {
+
+    private static final long serialVersionUID = 1L;
+
+    private transient ElementsIndex elementsIndex;
+    // Whether the elements of the document were registered in the index
+    private transient volatile boolean indexed;
+    // Whether the document didn't change since it was parsed
+    private transient volatile boolean unmodified;
+    // Whether the document holds nodes not created by its index
+    private transient volatile boolean untrackedContent;
+
+    private TrackedDocument(ElementsIndex index, Element rootElement, DocType docType, String baseURI) {
+      super(rootElement, docType, baseURI);
+      this.elementsIndex = index;
+    }
+
+    @Override
+    public void canContainContent(Content child, int index, boolean replace) {
+      super.canContainContent(child, index, replace);
+      if (elementsIndex != null) {
+        elementsIndex.modified(this);
+        elementsIndex.contentAdded(this, child);
+      }
+    }
+  }
+
+  /**
+   * A text that notifies its index of the changes to its value or parent.
+   */
+  private static final class TrackedText extends LocatedText {
+
+    private static final long serialVersionUID = 1L;
+
+    private transient ElementsIndex elementsIndex;
+
+    private TrackedText(ElementsIndex index, String text) {
+      super(text);
+      this.elementsIndex = index;
+    }
+
+    @Override
+    public Text setText(String str) {
+      super.setText(str);
+      if (elementsIndex != null) {
+        elementsIndex.modified(getParent());
+      }
+      return this;
+    }
+
+    @Override
+    public void append(String str) {
+      super.append(str);
+      if (elementsIndex != null) {
+        elementsIndex.modified(getParent());
+      }
+    }
+
+    @Override
+    public void append(Text text) {
+      super.append(text);
+      if (elementsIndex != null) {
+        elementsIndex.modified(getParent());
+      }
+    }
+
+    @Override
+    protected Text setParent(Parent parent) {
+      if (elementsIndex != null) {
+        elementsIndex.parentChanged(this, parent);
+      }
+      return super.setParent(parent);
+    }
+  }
+
+  /**
+   * A CDATA section that notifies its index of the changes to its value or parent.
+   */
+  private static final class TrackedCDATA extends LocatedCDATA {
+
+    private static final long serialVersionUID = 1L;
+
+    private transient ElementsIndex elementsIndex;
+
+    private TrackedCDATA(ElementsIndex index, String text) {
+      super(text);
+      this.elementsIndex = index;
+    }
+
+    @Override
+    public CDATA setText(String str) {
+      super.setText(str);
+      if (elementsIndex != null) {
+        elementsIndex.modified(getParent());
+      }
+      return this;
+    }
+
+    @Override
+    public void append(String str) {
+      super.append(str);
+      if (elementsIndex != null) {
+        elementsIndex.modified(getParent());
+      }
+    }
+
+    @Override
+    public void append(Text text) {
+      super.append(text);
+      if (elementsIndex != null) {
+        elementsIndex.modified(getParent());
+      }
+    }
+
+    @Override
+    protected CDATA setParent(Parent parent) {
+      if (elementsIndex != null) {
+        elementsIndex.parentChanged(this, parent);
+      }
+      return super.setParent(parent);
+    }
+  }
+
+  /**
+   * A comment that notifies its index of the changes to its value or parent.
+   */
+  private static final class TrackedComment extends LocatedComment {
+
+    private static final long serialVersionUID = 1L;
+
+    private transient ElementsIndex elementsIndex;
+
+    private TrackedComment(ElementsIndex index, String text) {
+      super(text);
+      this.elementsIndex = index;
+    }
+
+    @Override
+    public Comment setText(String text) {
+      super.setText(text);
+      if (elementsIndex != null) {
+        elementsIndex.modified(getParent());
+      }
+      return this;
+    }
+
+    @Override
+    protected Comment setParent(Parent parent) {
+      if (elementsIndex != null) {
+        elementsIndex.parentChanged(this, parent);
+      }
+      return super.setParent(parent);
+    }
+  }
+
+  /**
+   * A processing instruction that notifies its index of the changes to its target, data or parent.
+   */
+  private static final class TrackedProcessingInstruction extends LocatedProcessingInstruction {
+
+    private static final long serialVersionUID = 1L;
+
+    private transient ElementsIndex elementsIndex;
+
+    private TrackedProcessingInstruction(ElementsIndex index, String target, String data) {
+      super(target, data);
+      this.elementsIndex = index;
+    }
+
+    private TrackedProcessingInstruction(ElementsIndex index, String target, Map<String, String> data) {
+      super(target, data);
+      this.elementsIndex = index;
+    }
+
+    @Override
+    public ProcessingInstruction setTarget(String newTarget) {
+      super.setTarget(newTarget);
+      if (elementsIndex != null) {
+        elementsIndex.modified(getParent());
+      }
+      return this;
+    }
+
+    @Override
+    public ProcessingInstruction setData(String data) {
+      super.setData(data);
+      if (elementsIndex != null) {
+        elementsIndex.modified(getParent());
+      }
+      return this;
+    }
+
+    @Override
+    public ProcessingInstruction setData(Map<String, String> data) {
+      super.setData(data);
+      if (elementsIndex != null) {
+        elementsIndex.modified(getParent());
+      }
+      return this;
+    }
+
+    @Override
+    public ProcessingInstruction setPseudoAttribute(String name, String value) {
+      super.setPseudoAttribute(name, value);
+      if (elementsIndex != null) {
+        elementsIndex.modified(getParent());
+      }
+      return this;
+    }
+
+    @Override
+    public boolean removePseudoAttribute(String name) {
+      boolean removed = super.removePseudoAttribute(name);
+      if (elementsIndex != null && removed) {
+        elementsIndex.modified(getParent());
+      }
+      return removed;
+    }
+
+    @Override
+    protected ProcessingInstruction setParent(Parent parent) {
+      if (elementsIndex != null) {
+        elementsIndex.parentChanged(this, parent);
+      }
+      return super.setParent(parent);
+    }
+  }
+
+  private final class IndexingJDOMFactory extends LocatedJDOMFactory {
+
+    @Override
+    public Document document(Element rootElement, DocType docType, String baseURI) {
+      return new TrackedDocument(ElementsIndex.this, rootElement, docType, baseURI);
+    }
+
+    @Override
+    public Document document(Element rootElement, DocType docType) {
+      return document(rootElement, docType, null);
+    }
+
+    @Override
+    public Document document(Element rootElement) {
+      return document(rootElement, null, null);
+    }
+
+    @Override
+    public Element element(int line, int col, String name, Namespace namespace) {
+      return located(new IndexedElement(ElementsIndex.this, name, namespace), line, col);
+    }
+
+    @Override
+    public Element element(int line, int col, String name) {
+      return element(line, col, name, Namespace.NO_NAMESPACE);
+    }
+
+    @Override
+    public Element element(int line, int col, String name, String uri) {
+      return element(line, col, name, Namespace.getNamespace(uri));
+    }
+
+    @Override
+    public Element element(int line, int col, String name, String prefix, String uri) {
+      return element(line, col, name, Namespace.getNamespace(prefix, uri));
+    }
+
+    @Override
+    public Attribute attribute(String name, String value, Namespace namespace) {
+      return new IndexedAttribute(ElementsIndex.this, name, value, namespace);
+    }
+
+    @Override
+    public Attribute attribute(String name, String value, AttributeType type, Namespace namespace) {
+      return new IndexedAttribute(ElementsIndex.this, name, value, type, namespace);
+    }
+
+    @Override
+    public Attribute attribute(String name, String value) {
+      return attribute(name, value, Namespace.NO_NAMESPACE);
+    }
+
+    @Override
+    public Attribute attribute(String name, String value, AttributeType type) {
+      return attribute(name, value, type, Namespace.NO_NAMESPACE);
+    }
+
+    @Override
+    public Text text(int line, int col, String text) {
+      TrackedText ret = new TrackedText(ElementsIndex.this, text);
+      ret.setLine(line);
+      ret.setColumn(col);
+      return ret;
+    }
+
+    @Override
+    public CDATA cdata(int line, int col, String text) {
+      TrackedCDATA ret = new TrackedCDATA(ElementsIndex.this, text);
+      ret.setLine(line);
+      ret.setColumn(col);
+      return ret;
+    }
+
+    @Override
+    public Comment comment(int line, int col, String text) {
+      TrackedComment ret = new TrackedComment(ElementsIndex.this, text);
+      ret.setLine(line);
+      ret.setColumn(col);
+      return ret;
+    }
+
+    @Override
+    public ProcessingInstruction processingInstruction(int line, int col, String target) {
+      return processingInstruction(line, col, target, "");
+    }
+
+    @Override
+    public ProcessingInstruction processingInstruction(int line, int col, String target, Map<String, String> data) {
+      TrackedProcessingInstruction ret = new TrackedProcessingInstruction(ElementsIndex.this, target, data);
+      ret.setLine(line);
+      ret.setColumn(col);
+      return ret;
+    }
+
+    @Override
+    public ProcessingInstruction processingInstruction(int line, int col, String target, String data) {
+      TrackedProcessingInstruction ret = new TrackedProcessingInstruction(ElementsIndex.this, target, data);
+      ret.setLine(line);
+      ret.setColumn(col);
+      return ret;
+    }
+
+    private Element located(LocatedElement element, int line, int col) {
+      element.setLine(line);
+      element.setColumn(col);
+      return element;
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.project.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Looks for many strings at once in a text, going through the text only once regardless of how many strings are looked for.
+ * <p>
+ * This is an Aho-Corasick automaton: a trie of the strings where each node also links to the longest suffix of its prefix that
+ * is also a prefix in the trie, so the text can be matched without going back.
+ *
+ * @author Mulesoft Inc.
+ * @since 1.2.1
+ */
+final class MultiStringMatcher {
+
+  private final Node root = new Node();
+  private final Set<String> emptyStrings = new LinkedHashSet<>();
+  private final int stringsCount;
+
+  /**
+   * @param strings the strings to look for
+   */
+  MultiStringMatcher(Collection<String> strings) {
+    Set<String> distinctStrings = new LinkedHashSet<>(strings);
+    for (String string : distinctStrings) {
+      if (string.isEmpty()) {
+        // Contained in any text
+        emptyStrings.add(string);
+        continue;
+      }
+      Node node = root;
+      for (int i = 0; i < string.length(); ++i) {
+        node = node.children.computeIfAbsent(string.charAt(i), c -> new Node());
+      }
+      node.matches.add(string);
+    }
+    stringsCount = distinctStrings.size();
+    linkSuffixes();
+  }
+
+  private void linkSuffixes() {
+    Queue<Node> pending = new ArrayDeque<>();
+    for (Node child : root.children.values()) {
+      child.suffix = root;
+      pending.add(child);
+    }
+    while (!pending.isEmpty()) {
+      Node node = pending.remove();
+      for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+        Node suffix = node.suffix;
+        while (suffix != root && !suffix.children.containsKey(child.getKey())) {
+          suffix = suffix.suffix;
+        }
+        Node childSuffix = suffix.children.get(child.getKey());
+        child.getValue().suffix = childSuffix != null && childSuffix != child.getValue() ? childSuffix : root;
+        // A node matches the strings of its suffixes too
+        child.getValue().matches.addAll(child.getValue().suffix.matches);
+        pending.add(child.getValue());
+      }
+    }
+  }
+
+  /**
+   * @param text the text to look the strings in
+   * @return the strings contained in the text
+   */
+  Set<String> findIn(CharSequence text) {
+    Set<String> found = new LinkedHashSet<>(emptyStrings);
+    Node node = root;
+    for (int i = 0; i < text.length() && found.size() < stringsCount; ++i) {
+      char c = text.charAt(i);
+      Node next = node.children.get(c);
+      while (next == null && node != root) {
+        node = node.suffix;
+        next = node.children.get(c);
+      }
+      node = next != null ? next : root;
+      found.addAll(node.matches);
+    }
+    return found;
+  }
+
+  private static final class Node {
+
+    private final Map<Character, Node> children = new HashMap<>();
+    private final List<String> matches = new ArrayList<>(0);
+    private Node suffix;
+  }
+}
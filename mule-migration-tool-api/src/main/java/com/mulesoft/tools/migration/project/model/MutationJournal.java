@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.project.model;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.newSetFromMap;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jdom2.Document;
+import org.jdom2.Element;
+
+/**
+ * Records which documents of an {@link ApplicationModel} were changed, and the elements added to them or renamed, from the
+ * moment it is started or last reset.
+ * <p>
+ * Only the changes to nodes parsed by the model, or added to them, are recorded. The documents holding other nodes are always
+ * considered changed by the model.
+ *
+ * @author Mulesoft Inc.
+ * @since 1.2.1
+ */
+public final class MutationJournal implements AutoCloseable {
+
+  private final ElementsIndex elementsIndex;
+  private final Set<Document> changedDocuments = newSetFromMap(new IdentityHashMap<>());
+  private final Map<Document, Set<Element>> changedElements = new IdentityHashMap<>();
+
+  MutationJournal(ElementsIndex elementsIndex) {
+    this.elementsIndex = elementsIndex;
+  }
+
+  synchronized void documentChanged(Document document) {
+    changedDocuments.add(document);
+  }
+
+  synchronized void elementChanged(Document document, Element element) {
+    changedDocuments.add(document);
+    changedElements.computeIfAbsent(document, d -> new LinkedHashSet<>()).add(element);
+  }
+
+  /**
+   * @param document the document to check
+   * @return whether any change to the document was recorded
+   */
+  synchronized boolean isChanged(Document document) {
+    return changedDocuments.contains(document);
+  }
+
+  /**
+   * @param document the document to get the elements for
+   * @return the elements added to the document or renamed, the descendants of an added element are not included
+   */
+  synchronized List<Element> getChangedElements(Document document) {
+    return new ArrayList<>(changedElements.getOrDefault(document, emptySet()));
+  }
+
+  /**
+   * Forgets the changes recorded so far.
+   */
+  synchronized void reset() {
+    changedDocuments.clear();
+    changedElements.clear();
+  }
+
+  /**
+   * Stops recording changes.
+   */
+  @Override
+  public void close() {
+    elementsIndex.stopJournal(this);
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.project.model;
+
+import static com.mulesoft.tools.migration.xml.AdditionalNamespacesFactory.getDocumentNamespaces;
+import static java.util.Collections.synchronizedMap;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.jdom2.filter.Filters;
+import org.jdom2.xpath.XPathExpression;
+import org.jdom2.xpath.XPathFactory;
+
+/**
+ * Caches the namespaces context of each document and the XPath expressions compiled against those contexts, so the same
+ * expression is not compiled again every time it is evaluated on a document.
+ * <p>
+ * The namespaces context of a document is recalculated when the namespace declarations of its root element change.
+ * <p>
+ * Compiled expressions keep the state of their current evaluation, so each thread gets its own compiled expressions. That way
+ * the steps migrating different documents concurrently may evaluate the same expression on their own documents.
+ *
+ * @author Mulesoft Inc.
+ * @since 1.2.1
+ */
+final class XPathCache {
+
+  static final int MAX_COMPILED_EXPRESSIONS = 2048;
+
+  private final Map<Document, DocumentNamespaces> documentsNamespaces = synchronizedMap(new WeakHashMap<>());
+  // Replaced to discard the expressions compiled by every thread
+  private volatile ThreadLocal<Map<CompiledXPathKey, XPathExpression<Element>>> compiledExpressions =
+      newCompiledExpressions();
+
+  private List<Namespace> supportedNamespaces;
+
+  XPathCache(List<Namespace> supportedNamespaces) {
+    this.supportedNamespaces = supportedNamespaces;
+  }
+
+  /**
+   * Changes the namespaces supported by the tasks, discarding every context calculated with the previous ones.
+   *
+   * @param supportedNamespaces the namespaces supported by the tasks
+   */
+  void setSupportedNamespaces(List<Namespace> supportedNamespaces) {
+    this.supportedNamespaces = supportedNamespaces;
+    documentsNamespaces.clear();
+    compiledExpressions = newCompiledExpressions();
+  }
+
+  private static ThreadLocal<Map<CompiledXPathKey, XPathExpression<Element>>> newCompiledExpressions() {
+    return ThreadLocal.withInitial(() -> new LinkedHashMap<CompiledXPathKey, XPathExpression<Element>>(16, 0.75f, true) {
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<CompiledXPathKey, XPathExpression<Element>> eldest) {
+        return size() > MAX_COMPILED_EXPRESSIONS;
+      }
+    });
+  }
+
+  /**
+   * @param document the document to get the namespaces context for
+   * @return the namespaces to use when compiling an XPath expression to be evaluated on the given document
+   */
+  List<Namespace> getNamespaces(Document document) {
+    return getNamespacesContext(document).namespaces;
+  }
+
+  /**
+   * @param expression the XPath expression to compile
+   * @param document the document the expression will be evaluated on
+   * @return the expression compiled with the namespaces context of the given document, to be evaluated by the current thread
+   *         only
+   */
+  XPathExpression<Element> compile(String expression, Document document) {
+    NamespacesContext namespaces = getNamespacesContext(document);
+    return compiledExpressions.get().computeIfAbsent(new CompiledXPathKey(expression, namespaces),
+                                                     k -> XPathFactory.instance().compile(expression, Filters.element(), null,
+                                                                                          namespaces.namespaces));
+  }
+
+  private NamespacesContext getNamespacesContext(Document document) {
+    Element rootElement = document.getRootElement();
+    DocumentNamespaces documentNamespaces = documentsNamespaces.get(document);
+    if (documentNamespaces == null || !documentNamespaces.isUpToDate(rootElement)) {
+      documentNamespaces =
+          new DocumentNamespaces(rootElement, new NamespacesContext(getDocumentNamespaces(document, supportedNamespaces)));
+      documentsNamespaces.put(document, documentNamespaces);
+    }
+    return documentNamespaces.context;
+  }
+
+  /**
+   * The namespaces context of a document, along with the root element declarations it was calculated from.
+   */
+  private static final class DocumentNamespaces {
+
+    // Weakly referenced so the cached value doesn't keep its document key alive
+    private final WeakReference<Element> rootElement;
+    private final List<Namespace> rootDeclarations;
+    private final NamespacesContext context;
+
+    private DocumentNamespaces(Element rootElement, NamespacesContext context) {
+      this.rootElement = new WeakReference<>(rootElement);
+      this.rootDeclarations = new ArrayList<>(rootElement.getAdditionalNamespaces());
+      this.context = context;
+    }
+
+    private boolean isUpToDate(Element currentRootElement) {
+      return rootElement.get() == currentRootElement
+          && rootDeclarations.equals(currentRootElement.getAdditionalNamespaces());
+    }
+  }
+
+  /**
+   * The namespaces to compile an expression with. Documents with the same context share their compiled expressions.
+   */
+  private static final class NamespacesContext {
+
+    private final List<Namespace> namespaces;
+    private final int hash;
+
+    private NamespacesContext(List<Namespace> namespaces) {
+      this.namespaces = namespaces;
+      this.hash = namespaces.hashCode();
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof NamespacesContext)) {
+        return false;
+      }
+      NamespacesContext other = (NamespacesContext) obj;
+      return hash == other.hash && namespaces.equals(other.namespaces);
+    }
+  }
+
+  private static final class CompiledXPathKey {
+
+    private final String expression;
+    private final NamespacesContext namespaces;
+
+    private CompiledXPathKey(String expression, NamespacesContext namespaces) {
+      this.expression = expression;
+      this.namespaces = namespaces;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(expression, namespaces);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof CompiledXPathKey)) {
+        return false;
+      }
+      CompiledXPathKey other = (CompiledXPathKey) obj;
+      return expression.equals(other.expression) && namespaces.equals(other.namespaces);
+    }
+  }
+}
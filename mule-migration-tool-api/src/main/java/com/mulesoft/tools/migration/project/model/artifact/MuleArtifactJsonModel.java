@@ -49,6 +49,7 @@ public class MuleArtifactJsonModel {
   public static final String CLASS_LOADER_MODEL_LOADER_DESCRIPTOR = "classLoaderModelLoaderDescriptor";
   private Gson gson = new GsonBuilder().setPrettyPrinting().enableComplexMapKeySerialization().create();
   private final JsonObject model;
+  private final JsonObject originalModel;
   public static final String NAME = "name";
   public static final String CONFIGS = "configs";
   public static final String MIN_MULE_VERSION_FIELD = "minMuleVersion";
@@ -64,6 +65,7 @@ public class MuleArtifactJsonModel {
   public MuleArtifactJsonModel(String muleArtifactJsonContent) {
     JsonParser parser = new JsonParser();
     model = (JsonObject) parser.parse(muleArtifactJsonContent);
+    originalModel = model.deepCopy();
   }
 
   /**
@@ -329,6 +331,16 @@ public class MuleArtifactJsonModel {
     model.addProperty(REDEPLOYMENT_ENABLED, redeploymentEnabled);
   }
 
+  /**
+   * Tells whether this model was changed since it was created from the content of a mule-artifact.json.
+   *
+   * @return {@code false} if this model represents the same content it was created from, {@code true} otherwise
+   * @since 1.2.1
+   */
+  public boolean isModified() {
+    return !model.equals(originalModel);
+  }
+
   /**
    * Get the model representation
    *
@@ -11,6 +11,8 @@ import static java.util.stream.Collectors.toList;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -23,6 +25,7 @@ import org.apache.maven.model.DistributionManagement;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Profile;
 import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 
 /**
@@ -37,13 +40,38 @@ public class PomModel {
   public static final String DEFAULT_ARTIFACT_ID = "migrated-project";
   public static final String DEFAULT_VERSION = "1.0.0-SNAPSHOT";
   private final Model model;
+  // What was read from the pom file, null if the model was not read from a file
+  private final Model originalModel;
 
   private PomModel(Model model) {
     this.model = model;
+    this.originalModel = model.clone();
   }
 
   public PomModel() {
     this.model = new Model();
+    this.originalModel = null;
+  }
+
+  /**
+   * Tells whether this model may be different from the pom file it was read from. Models not read from a file are always
+   * considered modified.
+   *
+   * @return {@code false} if this model would be written the same as when it was read, {@code true} otherwise
+   * @since 1.2.1
+   */
+  public boolean isModified() {
+    return originalModel == null || !toXml(model).equals(toXml(originalModel));
+  }
+
+  private static String toXml(Model model) {
+    StringWriter writer = new StringWriter();
+    try {
+      new MavenXpp3Writer().write(writer, model);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return writer.toString();
   }
 
   /**
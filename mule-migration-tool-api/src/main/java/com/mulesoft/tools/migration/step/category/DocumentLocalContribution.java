@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.step.category;
+
+import com.mulesoft.tools.migration.project.model.ApplicationModel;
+
+import org.jdom2.Document;
+import org.jdom2.xpath.XPathExpression;
+
+/**
+ * Marks an {@link ApplicationModelContribution} that, for each element it is applied to, only reads and changes the document of
+ * that element, and that can be applied concurrently to elements of different documents.
+ * <p>
+ * Such a step must not query nor change other documents of the application model, nor the project structure or its pom, and any
+ * state it keeps must be thread-safe. The elements of different documents matched by it may then be migrated concurrently.
+ * <p>
+ * The queries of the application model that go through all of its documents, such as {@link ApplicationModel#getNodes(String)} or
+ * {@link ApplicationModel#exists(String)}, read other documents while they are being migrated, so such a step must not call
+ * them. Its own document may be queried with {@link ApplicationModel#getElementsFromDocument(XPathExpression, Document)}.
+ *
+ * @author Mulesoft Inc.
+ * @since 1.2.1
+ */
+public interface DocumentLocalContribution extends ApplicationModelContribution {
+
+}
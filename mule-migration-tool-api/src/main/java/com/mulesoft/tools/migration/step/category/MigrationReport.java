@@ -11,6 +11,7 @@ import org.jdom2.Element;
 
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * An interface to feed the migration report.
@@ -101,4 +102,21 @@ public interface MigrationReport<T> {
    * Returns the report entries.
    */
   List<T> getReportEntries();
+
+  /**
+   * Runs the given parts of some work, concurrently if this report can be fed from many threads at once. The entries reported
+   * by each part are kept in this report after the ones of the parts before it, as if the parts were run one after the other in
+   * the given order.
+   * <p>
+   * If any part fails, the exception of the first one that failed in the given order is thrown once all of them finish.
+   * <p>
+   * This implementation runs the parts one after the other in the calling thread.
+   *
+   * @param parts the parts of the work to run
+   * @param pool the pool to run the parts on
+   * @since 1.2.1
+   */
+  default void runConcurrently(List<Runnable> parts, ForkJoinPool pool) {
+    parts.forEach(Runnable::run);
+  }
 }
@@ -33,6 +33,7 @@ import org.jdom2.Content;
 import org.jdom2.Document;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
+import org.jdom2.JDOMFactory;
 import org.jdom2.Namespace;
 import org.jdom2.Parent;
 import org.jdom2.input.SAXBuilder;
@@ -501,6 +502,17 @@ public final class XmlDslUtils {
     return (element.getParentElement().equals(element.getDocument().getRootElement()));
   }
 
+  /**
+   * Check if the element has the given namespace URI and name
+   *
+   * @param element the element to check
+   * @param namespaceUri the namespace URI
+   * @param elementName the element name
+   */
+  public static boolean isElement(Element element, String namespaceUri, String elementName) {
+    return elementName.equals(element.getName()) && namespaceUri.equals(element.getNamespaceURI());
+  }
+
   /**
    * Create top level error handler section on configuration file
    *
@@ -674,8 +686,19 @@ public final class XmlDslUtils {
    * @return the jdom document.
    */
   public static Document generateDocument(Path filePath) throws JDOMException, IOException {
+    return generateDocument(filePath, new LocatedJDOMFactory());
+  }
+
+  /**
+   * Return JDOM document from a file path, creating its content with the given factory.
+   *
+   * @param filePath the path of the file
+   * @param jdomFactory the factory to create the content of the document with
+   * @return the jdom document.
+   */
+  public static Document generateDocument(Path filePath, JDOMFactory jdomFactory) throws JDOMException, IOException {
     SAXBuilder saxBuilder = new SAXBuilder();
-    saxBuilder.setJDOMFactory(new LocatedJDOMFactory());
+    saxBuilder.setJDOMFactory(jdomFactory);
     return saxBuilder.build(filePath.toFile());
   }
 
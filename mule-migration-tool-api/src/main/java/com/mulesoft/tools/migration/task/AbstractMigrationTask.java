@@ -8,24 +8,38 @@ package com.mulesoft.tools.migration.task;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static java.lang.System.lineSeparator;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.newSetFromMap;
+import static java.util.stream.Collectors.toList;
 
 import com.mulesoft.tools.migration.exception.MigrationAbortException;
 import com.mulesoft.tools.migration.exception.MigrationStepException;
 import com.mulesoft.tools.migration.exception.MigrationTaskException;
 import com.mulesoft.tools.migration.project.model.ApplicationModel;
+import com.mulesoft.tools.migration.project.model.MutationJournal;
 import com.mulesoft.tools.migration.project.model.pom.PomModel;
 import com.mulesoft.tools.migration.step.ExpressionMigratorAware;
 import com.mulesoft.tools.migration.step.MigrationStep;
 import com.mulesoft.tools.migration.step.category.ApplicationModelContribution;
+import com.mulesoft.tools.migration.step.category.DocumentLocalContribution;
 import com.mulesoft.tools.migration.step.category.MigrationReport;
 import com.mulesoft.tools.migration.util.ExpressionMigrator;
 
+import org.jdom2.Document;
 import org.jdom2.Element;
 import org.jdom2.output.XMLOutputter;
+import org.jdom2.xpath.XPathExpression;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
 
 /**
  * A task is composed by one or more steps
@@ -37,6 +51,9 @@ public abstract class AbstractMigrationTask implements MigrationTask, Expression
 
   private ApplicationModel applicationModel;
   private ExpressionMigrator expressionMigrator;
+  private MigrationProfiler profiler;
+  private boolean fusedStepDispatch;
+  private ForkJoinPool documentLocalStepsPool;
 
   private XMLOutputter outp = new XMLOutputter();
 
@@ -65,25 +82,38 @@ public abstract class AbstractMigrationTask implements MigrationTask, Expression
           steps.stream().filter(s -> s instanceof ExpressionMigratorAware)
               .forEach(s -> ((ExpressionMigratorAware) s).setExpressionMigrator(getExpressionMigrator()));
 
-          stepSelector.getNameSpaceContributionSteps().forEach(s -> s.execute(applicationModel, report));
+          stepSelector.getNameSpaceContributionSteps().forEach(s -> executeStep(s, () -> {
+            s.execute(applicationModel, report);
+            return 0;
+          }));
 
-          stepSelector.getApplicationModelContributionSteps()
-              .forEach(s -> {
-                s.setApplicationModel(applicationModel);
-                fetchAndProcessNodes(report, s, new ArrayList<>());
-              });
+          if (fusedStepDispatch) {
+            executeFused(stepSelector.getApplicationModelContributionSteps(), report);
+          } else {
+            stepSelector.getApplicationModelContributionSteps()
+                .forEach(s -> {
+                  s.setApplicationModel(applicationModel);
+                  executeStep(s, () -> fetchAndProcessNodes(report, s));
+                });
+          }
 
 
           stepSelector.getProjectStructureContributionSteps()
               .forEach(s -> {
                 s.setApplicationModel(applicationModel);
-                s.execute(applicationModel.getProjectBasePath(), report);
+                executeStep(s, () -> {
+                  s.execute(applicationModel.getProjectBasePath(), report);
+                  return 0;
+                });
               });
 
           stepSelector.getPomContributionSteps()
               .forEach(s -> {
                 s.setApplicationModel(applicationModel);
-                s.execute(applicationModel.getPomModel().orElse(new PomModel()), report);
+                executeStep(s, () -> {
+                  s.execute(applicationModel.getPomModel().orElse(new PomModel()), report);
+                  return 0;
+                });
               });
         }
       }
@@ -95,38 +125,154 @@ public abstract class AbstractMigrationTask implements MigrationTask, Expression
     }
   }
 
-  private void fetchAndProcessNodes(MigrationReport report, ApplicationModelContribution s, List<Element> alreadyProcessed) {
+  /**
+   * Executes a step, notifying the profiler if one is set.
+   *
+   * @param step the step to execute
+   * @param execution the execution of the step, returns the number of nodes the step was applied to
+   */
+  private void executeStep(MigrationStep step, IntSupplier execution) {
+    if (profiler == null) {
+      execution.getAsInt();
+      return;
+    }
+
+    profiler.stepStarted(this, step);
+    int nodesMatched = 0;
+    try {
+      nodesMatched = execution.getAsInt();
+    } finally {
+      profiler.stepFinished(this, step, nodesMatched);
+    }
+  }
+
+  /**
+   * Executes the given steps in order, fetching the nodes matching all of the ones that only select by namespace and name in a
+   * single walk of each document upfront.
+   * <p>
+   * The changes made by each step are recorded for the steps after it, so the nodes fetched for those are brought up to date
+   * before they are executed, just as if they were fetched right then.
+   */
+  private void executeFused(List<ApplicationModelContribution> steps, MigrationReport report) {
+    List<XPathExpression> appliedTo = steps.stream().map(ApplicationModelContribution::getAppliedTo).collect(toList());
+    Map<XPathExpression, List<Element>> fetchedNodes = applicationModel.getNodesOfEach(appliedTo);
+    List<MutationJournal> journals = new ArrayList<>(steps.size());
+    try {
+      for (int i = 0; i < steps.size(); ++i) {
+        journals.add(fetchedNodes.containsKey(appliedTo.get(i)) ? applicationModel.startMutationJournal() : null);
+      }
+
+      for (int i = 0; i < steps.size(); ++i) {
+        ApplicationModelContribution s = steps.get(i);
+        XPathExpression stepAppliedTo = appliedTo.get(i);
+        MutationJournal journal = journals.get(i);
+        s.setApplicationModel(applicationModel);
+        if (journal == null || s.getAppliedTo() != stepAppliedTo) {
+          // Not fetched upfront, or the step changed what it applies to since
+          executeStep(s, () -> fetchAndProcessNodes(report, s));
+        } else {
+          executeStep(s, () -> processNodes(report, s,
+                                            applicationModel.getNodes(stepAppliedTo, fetchedNodes.get(stepAppliedTo), journal),
+                                            newSetFromMap(new IdentityHashMap<>()), journal));
+        }
+        if (journal != null) {
+          journal.close();
+        }
+      }
+    } finally {
+      journals.stream().filter(Objects::nonNull).forEach(MutationJournal::close);
+    }
+  }
+
+  /**
+   * @return the number of nodes the step was applied to
+   */
+  private int fetchAndProcessNodes(MigrationReport report, ApplicationModelContribution s) {
+    try (MutationJournal journal = applicationModel.startMutationJournal()) {
+      return processNodes(report, s, applicationModel.getNodes(s.getAppliedTo()), newSetFromMap(new IdentityHashMap<>()),
+                          journal);
+    }
+  }
+
+  /**
+   * @param nodes the nodes currently matching the step
+   * @param alreadyProcessed the nodes the step was already applied to
+   * @param journal the journal of the changes made since the nodes were retrieved
+   * @return the number of nodes the step was applied to
+   */
+  private int processNodes(MigrationReport report, ApplicationModelContribution s, List<Element> nodes,
+                           Set<Element> alreadyProcessed, MutationJournal journal) {
     AtomicInteger processedElements = new AtomicInteger(0);
 
-    List<Element> nodes = applicationModel.getNodes(s.getAppliedTo());
-    nodes.stream().filter(n -> !alreadyProcessed.contains(n)).forEach(n -> {
-      try {
+    List<Element> pendingNodes = nodes.stream().filter(n -> !alreadyProcessed.contains(n)).collect(toList());
+    Map<Document, List<Element>> pendingNodesByDocument =
+        documentLocalStepsPool != null && s instanceof DocumentLocalContribution ? groupByDocument(pendingNodes) : emptyMap();
+    if (pendingNodesByDocument.size() > 1) {
+      // Each document is migrated concurrently with the others, its nodes still one after the other
+      List<Runnable> parts = new ArrayList<>();
+      pendingNodesByDocument.values().forEach(documentNodes -> {
+        Runnable part = () -> documentNodes.forEach(n -> {
+          processedElements.incrementAndGet();
+          executeOnNode(report, s, n);
+        });
+        parts.add(profiler != null ? profiler.concurrentPart(this, s, part) : part);
+      });
+      report.runConcurrently(parts, documentLocalStepsPool);
+    } else {
+      pendingNodes.forEach(n -> {
         processedElements.incrementAndGet();
-        s.execute(n, report);
-      } catch (Exception e) {
-        throw new MigrationStepException("Task execution exception (" + e.getMessage() + ") migrating node:" + lineSeparator()
-            + outp.outputString(n), e);
-      }
-    });
+        executeOnNode(report, s, n);
+      });
+    }
 
     alreadyProcessed.addAll(nodes);
 
-    nodes.removeAll(applicationModel.getNodes(s.getAppliedTo()));
-    if (!nodes.isEmpty()) {
+    int nestedProcessedElements = 0;
+    // Only the documents changed by the step are queried again
+    List<Element> currentNodes = applicationModel.getNodes(s.getAppliedTo(), nodes, journal);
+    Set<Element> currentNodesSet = newSetFromMap(new IdentityHashMap<>());
+    currentNodesSet.addAll(currentNodes);
+    if (!currentNodesSet.containsAll(nodes)) {
       // This recursive calls is here so if any task adds nodes to the config that would be processed by this task, those are
       // processed.
       // Also, this is recursive rather than iterative so in the case of a bug, we get a StackOverflow rather than an infinite
       // loop.
-      fetchAndProcessNodes(report, s, alreadyProcessed);
+      nestedProcessedElements = processNodes(report, s, currentNodes, alreadyProcessed, journal);
     }
 
     report.addProcessedElements(processedElements.get());
+    return processedElements.get() + nestedProcessedElements;
+  }
+
+  private void executeOnNode(MigrationReport report, ApplicationModelContribution s, Element n) {
+    try {
+      s.execute(n, report);
+    } catch (Exception e) {
+      throw new MigrationStepException("Task execution exception (" + e.getMessage() + ") migrating node:" + lineSeparator()
+          + outp.outputString(n), e);
+    }
+  }
+
+  /**
+   * @return the given nodes grouped by document, in the order the documents are first found, or an empty map if any of the
+   *         nodes is not in a document
+   */
+  private static Map<Document, List<Element>> groupByDocument(List<Element> nodes) {
+    Map<Document, List<Element>> nodesByDocument = new LinkedHashMap<>();
+    for (Element node : nodes) {
+      Document document = node.getDocument();
+      if (document == null) {
+        return emptyMap();
+      }
+      nodesByDocument.computeIfAbsent(document, d -> new ArrayList<>()).add(node);
+    }
+    return nodesByDocument;
   }
 
   protected boolean shouldExecuteAllSteps(MigrationStepSelector stepSelector) {
     boolean doesNothaveApplicationModelContributions = stepSelector.getApplicationModelContributionSteps().isEmpty();
     boolean isApplicable = stepSelector.getApplicationModelContributionSteps().stream()
-        .anyMatch(s -> !applicationModel.getNodes(s.getAppliedTo()).isEmpty());
+        .anyMatch(s -> applicationModel.exists(s.getAppliedTo()));
     return isApplicable || doesNothaveApplicationModelContributions;
   }
 
@@ -140,4 +286,37 @@ public abstract class AbstractMigrationTask implements MigrationTask, Expression
     return expressionMigrator;
   }
 
+  /**
+   * Sets whether the nodes matching the {@link ApplicationModelContribution} steps of this task that only select by namespace
+   * and name are fetched in a single walk of each document, rather than querying the documents once for each step. The steps
+   * are executed in the same order and applied to the same nodes either way.
+   *
+   * @param fusedStepDispatch whether to fetch the nodes for all the steps at once
+   * @since 1.2.1
+   */
+  public void setFusedStepDispatch(boolean fusedStepDispatch) {
+    this.fusedStepDispatch = fusedStepDispatch;
+  }
+
+  /**
+   * Sets the pool to apply the {@link DocumentLocalContribution} steps of this task on, concurrently to the nodes of each
+   * document. The nodes of a document are still processed one after the other, in document order.
+   *
+   * @param documentLocalStepsPool the pool to run the steps on, or {@code null} to apply the steps to one node at a time
+   * @since 1.2.1
+   */
+  public void setDocumentLocalStepsPool(ForkJoinPool documentLocalStepsPool) {
+    this.documentLocalStepsPool = documentLocalStepsPool;
+  }
+
+  /**
+   * Sets the profiler to notify when each step of this task starts and finishes executing.
+   *
+   * @param profiler the profiler to notify, or {@code null} to not profile the steps
+   * @since 1.2.1
+   */
+  public void setProfiler(MigrationProfiler profiler) {
+    this.profiler = profiler;
+  }
+
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.task;
+
+import com.mulesoft.tools.migration.step.MigrationStep;
+
+/**
+ * Notified when each {@link MigrationTask} and each of its {@link MigrationStep}s start and finish executing, so their cost
+ * can be measured.
+ * <p>
+ * The start and finish of an execution are notified from the thread that runs it, and the steps of a task are notified between
+ * the start and finish of that task. The parts of a step that may run on other threads are handed to
+ * {@link #concurrentPart(MigrationTask, MigrationStep, Runnable)} first.
+ *
+ * @author Mulesoft Inc.
+ * @since 1.2.1
+ */
+public interface MigrationProfiler {
+
+  /**
+   * Called before the task is executed.
+   *
+   * @param task the task about to be executed
+   */
+  void taskStarted(MigrationTask task);
+
+  /**
+   * Called after the task is executed, even if it failed.
+   *
+   * @param task the task that was executed
+   */
+  void taskFinished(MigrationTask task);
+
+  /**
+   * Called before the step is executed.
+   *
+   * @param task the task the step belongs to
+   * @param step the step about to be executed
+   */
+  void stepStarted(MigrationTask task, MigrationStep step);
+
+  /**
+   * Called after the step is executed, even if it failed.
+   *
+   * @param task the task the step belongs to
+   * @param step the step that was executed
+   * @param nodesMatched the number of nodes the step was applied to, 0 for the steps that don't apply to nodes
+   */
+  void stepFinished(MigrationTask task, MigrationStep step, int nodesMatched);
+
+  /**
+   * Called from the thread that runs the step, before handing a part of it to be run on another thread, so the cost of that
+   * part can be measured along with the step's. The returned part is run between the start and finish of the step.
+   *
+   * @param task the task the step belongs to
+   * @param step the step being executed
+   * @param part the part of the step execution to run
+   * @return the part to run instead of the given one
+   */
+  default Runnable concurrentPart(MigrationTask task, MigrationStep step, Runnable part) {
+    return part;
+  }
+}
@@ -5,11 +5,15 @@
  */
 package com.mulesoft.tools.migration.task;
 
+import static java.util.Collections.emptySet;
+
 import com.mulesoft.tools.migration.Executable;
 import com.mulesoft.tools.migration.project.model.ApplicationModel;
 import com.mulesoft.tools.migration.step.MigrationStep;
+import com.mulesoft.tools.migration.step.category.ApplicationModelContribution;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * It is a container of {@link MigrationStep} that can be categorized
@@ -47,4 +51,65 @@ public interface MigrationTask extends Executable, Categorizable {
    */
   void setApplicationModel(ApplicationModel applicationModel);
 
+  /**
+   * Retrieves the namespaces of which some element has to be in the application model for the task to be applied to it. A task
+   * declares them only if all its {@link ApplicationModelContribution} steps just match elements of those namespaces, so it can
+   * be skipped when there are none without querying the model for each step.
+   *
+   * @return the URIs of the namespaces, empty if the task has to be applied anyway
+   * @since 1.2.1
+   */
+  default Set<String> getTriggerNamespaces() {
+    return emptySet();
+  }
+
+  /**
+   * Retrieves the namespaces of the elements the task looks for and reads, including the ones its steps look up from the
+   * elements they migrate. A task that does not declare the namespaces it reads and writes is considered to read and write the
+   * elements of any namespace.
+   *
+   * @return the URIs of the namespaces, or {@code null} if not declared
+   * @since 1.2.1
+   */
+  default Set<String> getReadNamespaces() {
+    return null;
+  }
+
+  /**
+   * Retrieves the namespaces of the elements and attributes the task changes, removes or adds, including the namespaces of the
+   * elements it adds content to, such as the flows its steps insert processors in. A namespace missing from this set may let
+   * the task be run in the wrong order relative to a task that reads it.
+   * <p>
+   * Two tasks that declare their namespaces, where one writes a namespace that the other reads or writes, keep the order they
+   * are run in unless explicitly ordered the other way with {@link #getRunAfterTasks()} or {@link #getRunBeforeTasks()}.
+   *
+   * @return the URIs of the namespaces, or {@code null} if not declared
+   * @since 1.2.1
+   */
+  default Set<String> getWrittenNamespaces() {
+    return null;
+  }
+
+  /**
+   * Retrieves the tasks this task has to run after, if they are to be run. To satisfy it, this task is moved past the tasks in
+   * between that do not declare their namespaces.
+   *
+   * @return a {@link Set} of task types
+   * @since 1.2.1
+   */
+  default Set<Class<? extends MigrationTask>> getRunAfterTasks() {
+    return emptySet();
+  }
+
+  /**
+   * Retrieves the tasks this task has to run before, if they are to be run. To satisfy it, this task is moved past the tasks in
+   * between that do not declare their namespaces.
+   *
+   * @return a {@link Set} of task types
+   * @since 1.2.1
+   */
+  default Set<Class<? extends MigrationTask>> getRunBeforeTasks() {
+    return emptySet();
+  }
+
 }
@@ -10,8 +10,16 @@ import static com.mulesoft.tools.migration.project.ProjectType.MULE_THREE_APPLIC
 import static com.mulesoft.tools.migration.project.model.ApplicationModelUtils.addAttribute;
 import static com.mulesoft.tools.migration.project.model.ApplicationModelUtils.changeAttribute;
 import static com.mulesoft.tools.migration.project.model.ApplicationModelUtils.changeNodeName;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -24,15 +32,20 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.apache.commons.io.FileUtils;
 import org.jdom2.Document;
 import org.jdom2.Element;
 import org.jdom2.Namespace;
+import org.jdom2.filter.Filters;
+import org.jdom2.xpath.XPathExpression;
+import org.jdom2.xpath.XPathFactory;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
 
 /**
@@ -49,6 +62,8 @@ public class ApplicationModelTest {
 
   @Rule
   public TemporaryFolder temporaryFolder = new TemporaryFolder();
+  @Rule
+  public ExpectedException expectedException = ExpectedException.none();
 
   private Path originalProjectPath;
   private Path migratedProjectPath;
@@ -61,6 +76,9 @@ public class ApplicationModelTest {
   }
 
   private static final String XPATH_SELECTOR = "//munit:test/*[contains(local-name(),'true')]";
+  private static final Namespace MUNIT_NS = Namespace.getNamespace("munit", "http://www.mulesoft.org/schema/mule/munit");
+  private static final String MUNIT_TESTS_SELECTOR =
+      "//*[namespace-uri()='http://www.mulesoft.org/schema/mule/munit' and local-name()='test']";
 
   @Test
   public void test1() throws Exception {
@@ -120,6 +138,207 @@ public class ApplicationModelTest {
 
   }
 
+  @Test
+  public void parseManyConfigurationFiles() throws Exception {
+    Path app = originalProjectPath.resolve("src").resolve("main").resolve("app");
+    for (int i = 0; i < 50; ++i) {
+      FileUtils.copyFile(app.resolve(MUNIT_SECTIONS_SAMPLE_XML).toFile(), app.resolve("copy-" + i + ".xml").toFile());
+    }
+
+    ApplicationModel applicationModel = new ApplicationModelBuilder()
+        .withProjectBasePath(originalProjectPath)
+        .withConfigurationFiles(getFiles(app))
+        .withMuleVersion(MULE_VERSION)
+        .withSupportedNamespaces(newArrayList())
+        .withProjectType(MULE_THREE_APPLICATION)
+        .withPom(originalProjectPath.resolve("pom.xml")).build();
+
+    assertThat(applicationModel.getApplicationDocuments().keySet(), hasSize(51));
+    assertThat(applicationModel.getApplicationDocuments(),
+               hasKey(Paths.get("src", "main", "app", "copy-49.xml")));
+    int sampleNodes = applicationModel.getNodes(XPATH_SELECTOR).size() / 51;
+    assertThat(sampleNodes, greaterThan(0));
+    assertThat(applicationModel.getNodes(XPATH_SELECTOR), hasSize(sampleNodes * 51));
+  }
+
+  @Test
+  public void earlyTerminatingQueries() throws Exception {
+    Path app = originalProjectPath.resolve("src").resolve("main").resolve("app");
+    for (int i = 0; i < 3; ++i) {
+      FileUtils.copyFile(app.resolve(MUNIT_SECTIONS_SAMPLE_XML).toFile(), app.resolve("copy-" + i + ".xml").toFile());
+    }
+
+    ApplicationModel applicationModel = new ApplicationModelBuilder()
+        .withProjectBasePath(originalProjectPath)
+        .withConfigurationFiles(getFiles(app))
+        .withMuleVersion(MULE_VERSION)
+        .withSupportedNamespaces(newArrayList())
+        .withProjectType(MULE_THREE_APPLICATION)
+        .withPom(originalProjectPath.resolve("pom.xml")).build();
+
+    for (String xpath : asList(XPATH_SELECTOR, MUNIT_TESTS_SELECTOR)) {
+      List<Element> nodes = applicationModel.getNodes(xpath);
+      assertThat(applicationModel.exists(xpath), is(true));
+      assertThat(applicationModel.findFirst(xpath), is(of(nodes.get(0))));
+      assertThat(applicationModel.count(xpath), is(nodes.size()));
+    }
+
+    String missingXPath = "//*[namespace-uri()='http://www.mulesoft.org/schema/mule/munit' and local-name()='missing']";
+    assertThat(applicationModel.exists(missingXPath), is(false));
+    assertThat(applicationModel.findFirst(missingXPath), is(empty()));
+    assertThat(applicationModel.count(missingXPath), is(0));
+    assertThat(applicationModel.getNodeOptional(missingXPath), is(empty()));
+
+    expectedException.expect(IllegalStateException.class);
+    expectedException.expectMessage("Found " + applicationModel.count(MUNIT_TESTS_SELECTOR) + " nodes");
+    applicationModel.getNodeOptional(MUNIT_TESTS_SELECTOR);
+  }
+
+  @Test
+  public void nodesAfterJournaledChanges() throws Exception {
+    Path app = originalProjectPath.resolve("src").resolve("main").resolve("app");
+    for (int i = 0; i < 3; ++i) {
+      FileUtils.copyFile(app.resolve(MUNIT_SECTIONS_SAMPLE_XML).toFile(), app.resolve("copy-" + i + ".xml").toFile());
+    }
+
+    ApplicationModel applicationModel = new ApplicationModelBuilder()
+        .withProjectBasePath(originalProjectPath)
+        .withConfigurationFiles(getFiles(app))
+        .withMuleVersion(MULE_VERSION)
+        .withSupportedNamespaces(newArrayList())
+        .withProjectType(MULE_THREE_APPLICATION)
+        .withPom(originalProjectPath.resolve("pom.xml")).build();
+    List<Document> documents = newArrayList(applicationModel.getApplicationDocuments().values());
+
+    for (String xpath : asList(MUNIT_TESTS_SELECTOR, "//*[local-name()='test' and @description]")) {
+      XPathExpression<Element> xpathExpression = XPathFactory.instance().compile(xpath, Filters.element());
+      try (MutationJournal journal = applicationModel.startMutationJournal()) {
+        List<Element> nodes = applicationModel.getNodes(xpath);
+
+        // A tracked test renamed, another one cloned and one added to a document with untracked content
+        Element renamed = documents.get(0).getRootElement().getChild("test", MUNIT_NS);
+        renamed.setName("renamed-test");
+        Element cloned = documents.get(1).getRootElement().getChild("test", MUNIT_NS);
+        documents.get(1).getRootElement().addContent(cloned.clone());
+        documents.get(2).getRootElement()
+            .addContent(new Element("test", MUNIT_NS).setAttribute("description", "untracked"));
+
+        nodes = applicationModel.getNodes(xpathExpression, nodes, journal);
+        assertThat(nodes, contains(applicationModel.getNodes(xpath).toArray()));
+        // Nothing changed since
+        assertThat(applicationModel.getNodes(xpathExpression, nodes, journal), contains(nodes.toArray()));
+
+        renamed.setName("test");
+      }
+    }
+  }
+
+  @Test
+  public void nodesOfEachInSingleWalk() throws Exception {
+    Path app = originalProjectPath.resolve("src").resolve("main").resolve("app");
+    for (int i = 0; i < 3; ++i) {
+      FileUtils.copyFile(app.resolve(MUNIT_SECTIONS_SAMPLE_XML).toFile(), app.resolve("copy-" + i + ".xml").toFile());
+    }
+
+    ApplicationModel applicationModel = new ApplicationModelBuilder()
+        .withProjectBasePath(originalProjectPath)
+        .withConfigurationFiles(getFiles(app))
+        .withMuleVersion(MULE_VERSION)
+        .withSupportedNamespaces(newArrayList())
+        .withProjectType(MULE_THREE_APPLICATION)
+        .withPom(originalProjectPath.resolve("pom.xml")).build();
+
+    List<XPathExpression> selectors = newArrayList();
+    for (String xpath : asList(MUNIT_TESTS_SELECTOR, MUNIT_TESTS_SELECTOR.replace("//*", "/*/*"),
+                               "//*[local-name()='config' and namespace-uri()='http://www.mulesoft.org/schema/mule/munit']",
+                               "//*[namespace-uri()='http://www.mulesoft.org/schema/mule/munit' and local-name()='missing']")) {
+      selectors.add(XPathFactory.instance().compile(xpath, Filters.element()));
+    }
+    XPathExpression<Element> generalXPath = XPathFactory.instance().compile(XPATH_SELECTOR, Filters.element());
+
+    List<XPathExpression> expressions = newArrayList(selectors);
+    expressions.add(generalXPath);
+    Map<XPathExpression, List<Element>> nodes = applicationModel.getNodesOfEach(expressions);
+    assertThat(nodes.keySet(), contains(selectors.toArray()));
+    for (XPathExpression selector : selectors) {
+      assertThat(nodes.get(selector), is(applicationModel.getNodes(selector)));
+    }
+    assertThat(nodes.get(selectors.get(0)), hasSize(greaterThan(0)));
+  }
+
+  @Test
+  public void documentsContainStringsSeeChanges() throws Exception {
+    ApplicationModel applicationModel = new ApplicationModelBuilder()
+        .withProjectBasePath(originalProjectPath)
+        .withConfigurationFiles(getFiles(originalProjectPath.resolve("src").resolve("main").resolve("app")))
+        .withMuleVersion(MULE_VERSION)
+        .withSupportedNamespaces(newArrayList())
+        .withProjectType(MULE_THREE_APPLICATION)
+        .withPom(originalProjectPath.resolve("pom.xml")).build();
+    Document document = applicationModel.getApplicationDocuments().values().iterator().next();
+
+    Map<String, List<Document>> documents =
+        applicationModel.getDocumentsContainStrings(asList("munit:config", "${added.property}"));
+    assertThat(documents.get("munit:config"), contains(document));
+    assertThat(documents.get("${added.property}"), hasSize(0));
+    assertThat(applicationModel.getDocumentsContainString("munit:config"), contains(document));
+
+    document.getRootElement().addContent(new Element("added").setAttribute("value", "${added.property}"));
+
+    documents = applicationModel.getDocumentsContainStrings(asList("munit:config", "${added.property}"));
+    assertThat(documents.get("munit:config"), contains(document));
+    assertThat(documents.get("${added.property}"), contains(document));
+  }
+
+  @Test
+  public void mayHaveAnyNamespaceSeesChanges() throws Exception {
+    ApplicationModel applicationModel = new ApplicationModelBuilder()
+        .withProjectBasePath(originalProjectPath)
+        .withConfigurationFiles(getFiles(originalProjectPath.resolve("src").resolve("main").resolve("app")))
+        .withMuleVersion(MULE_VERSION)
+        .withSupportedNamespaces(newArrayList())
+        .withProjectType(MULE_THREE_APPLICATION)
+        .withPom(originalProjectPath.resolve("pom.xml")).build();
+    Document document = applicationModel.getApplicationDocuments().values().iterator().next();
+
+    assertThat(applicationModel.mayHaveAnyNamespace(asList("urn:added", "http://www.mulesoft.org/schema/mule/munit")), is(true));
+    assertThat(applicationModel.mayHaveAnyNamespace(asList("urn:added")), is(false));
+
+    // Neither the added element nor its child are created by the model
+    Element added = new Element("added");
+    document.getRootElement().getChildren().get(0).addContent(added);
+    added.addContent(new Element("child", Namespace.getNamespace("urn:added")));
+    assertThat(applicationModel.mayHaveAnyNamespace(asList("urn:added")), is(true));
+
+    added.detach();
+    assertThat(applicationModel.mayHaveAnyNamespace(asList("urn:added")), is(false));
+
+    document.getRootElement().getChildren().get(0).setNamespace(Namespace.getNamespace("urn:renamed"));
+    assertThat(applicationModel.mayHaveAnyNamespace(asList("urn:renamed")), is(true));
+  }
+
+  @Test
+  public void failingFileIsReported() throws Exception {
+    Path app = originalProjectPath.resolve("src").resolve("main").resolve("app");
+    for (int i = 0; i < 10; ++i) {
+      FileUtils.copyFile(app.resolve(MUNIT_SECTIONS_SAMPLE_XML).toFile(), app.resolve("copy-" + i + ".xml").toFile());
+    }
+    Path invalid = app.resolve("invalid.xml");
+    FileUtils.write(invalid.toFile(), "<mule><flow></mule>", UTF_8);
+
+    ApplicationModelBuilder builder = new ApplicationModelBuilder()
+        .withProjectBasePath(originalProjectPath)
+        .withConfigurationFiles(getFiles(app))
+        .withMuleVersion(MULE_VERSION)
+        .withSupportedNamespaces(newArrayList())
+        .withProjectType(MULE_THREE_APPLICATION)
+        .withPom(originalProjectPath.resolve("pom.xml"));
+
+    expectedException.expect(RuntimeException.class);
+    expectedException.expectMessage("Application Model Generation Error - Fail to parse file: " + invalid);
+    builder.build();
+  }
+
   private void buildOriginalProject() throws IOException {
     originalProjectPath = temporaryFolder.newFolder(ORIGINAL_PROJECT_NAME).toPath();
 
@@ -0,0 +1,483 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.project.model;
+
+import static com.mulesoft.tools.migration.project.model.ElementsIndex.parseSelector;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import com.mulesoft.tools.migration.project.model.ElementsIndex.DocumentsLookup;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.jdom2.Attribute;
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.jdom2.Text;
+import org.jdom2.filter.Filters;
+import org.jdom2.input.SAXBuilder;
+import org.jdom2.xpath.XPathFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Mulesoft Inc.
+ */
+public class ElementsIndexTest {
+
+  private static final String CORE_NS_URI = "http://www.mulesoft.org/schema/mule/core";
+  private static final Namespace CORE_NS = Namespace.getNamespace(CORE_NS_URI);
+
+  private static final String LOGGERS = "//*[namespace-uri() = '" + CORE_NS_URI + "' and local-name() = 'logger']";
+  private static final String FLOWS = "/*/*[namespace-uri()='" + CORE_NS_URI + "' and local-name()='flow']";
+
+  private static final String CONFIG = "<mule xmlns=\"" + CORE_NS_URI + "\">"
+      + "<flow name=\"flow1\"><logger message=\"1\"/><choice><when><logger message=\"2\"/></when></choice>"
+      + "<flow-ref name=\"flow1\"/><transformer ref=\"flow2\"/></flow>"
+      + "<flow name=\"flow2\"><logger message=\"3\"/></flow>"
+      + "<sub-flow name=\"subFlow\"><flow name=\"nested\"/></sub-flow>"
+      + "</mule>";
+
+  private ElementsIndex index;
+  private Document document;
+
+  @Before
+  public void setUp() throws Exception {
+    index = new ElementsIndex();
+    SAXBuilder saxBuilder = new SAXBuilder();
+    saxBuilder.setJDOMFactory(index.getJDOMFactory());
+    document = saxBuilder.build(new StringReader(CONFIG));
+  }
+
+  @Test
+  public void parseSimpleSelectors() {
+    assertThat(parseSelector(LOGGERS), notNullValue());
+    assertThat(parseSelector(FLOWS), notNullValue());
+    assertThat(parseSelector("//*[local-name()='logger' and namespace-uri()='" + CORE_NS_URI + "']"), notNullValue());
+  }
+
+  @Test
+  public void doNotParseComplexSelectors() {
+    assertThat(parseSelector("//*[namespace-uri()='" + CORE_NS_URI + "' and local-name()='logger'][1]"), nullValue());
+    assertThat(parseSelector("//mule:logger"), nullValue());
+    assertThat(parseSelector("/*/mule:flow/*[namespace-uri()='" + CORE_NS_URI + "' and local-name()='logger']"),
+               nullValue());
+  }
+
+  @Test
+  public void sameResultsAsXPath() {
+    assertSameAsXPath(LOGGERS);
+    assertSameAsXPath(FLOWS);
+    assertThat(index.getElements(parseSelector(FLOWS), document), hasSize(2));
+  }
+
+  @Test
+  public void addedElements() {
+    Element flow1 = document.getRootElement().getChildren().get(0);
+    Element logger = new Element("logger", CORE_NS);
+    flow1.addContent(0, logger);
+
+    Element tryElement = new Element("try", CORE_NS);
+    flow1.addContent(tryElement);
+    tryElement.addContent(new Element("logger", CORE_NS));
+
+    Element flow = new Element("flow", CORE_NS);
+    document.getRootElement().addContent(0, flow);
+
+    assertSameAsXPath(LOGGERS);
+    assertSameAsXPath(FLOWS);
+    assertThat(index.getElements(parseSelector(LOGGERS), document).get(0), sameInstance(logger));
+    assertThat(index.getElements(parseSelector(LOGGERS), document), hasSize(5));
+  }
+
+  @Test
+  public void elementsAddedBeforeAttaching() {
+    Element flow = new Element("flow", CORE_NS);
+    Element logger = new Element("logger", CORE_NS);
+    logger.setAttribute("name", "flow2");
+    flow.addContent(logger);
+    Element detachedFlow = document.getRootElement().getChildren().get(1).detach();
+    detachedFlow.addContent(new Element("logger", CORE_NS));
+
+    index.getElements(parseSelector(LOGGERS), document);
+    document.getRootElement().addContent(flow);
+    document.getRootElement().addContent(detachedFlow);
+
+    assertSameAsXPath(LOGGERS);
+    assertSameAsXPath(FLOWS);
+    assertReferencesSameAsXPath("name", "flow2");
+    assertThat(index.getElements(parseSelector(LOGGERS), document), hasSize(5));
+  }
+
+  @Test
+  public void detachedElements() {
+    Element flow1 = document.getRootElement().getChildren().get(0);
+    flow1.getChildren().get(1).detach();
+    document.getRootElement().getChildren().get(1).detach();
+
+    assertSameAsXPath(LOGGERS);
+    assertSameAsXPath(FLOWS);
+    assertThat(index.getElements(parseSelector(LOGGERS), document), hasSize(1));
+  }
+
+  @Test
+  public void movedElements() {
+    Element root = document.getRootElement();
+    Element nested = root.getChildren().get(2).getChildren().get(0);
+    root.addContent(nested.detach());
+    Element logger = root.getChildren().get(1).getChildren().get(0).detach();
+    root.getChildren().get(0).addContent(0, logger);
+
+    assertSameAsXPath(LOGGERS);
+    assertSameAsXPath(FLOWS);
+    assertThat(index.getElements(parseSelector(FLOWS), document), hasSize(3));
+  }
+
+  @Test
+  public void renamedElements() {
+    Element root = document.getRootElement();
+    root.getChildren().get(0).setName("sub-flow");
+    root.getChildren().get(2).setName("flow");
+    root.getChildren().get(1).getChildren().get(0).setNamespace(Namespace.getNamespace("other", "http://other"));
+
+    Element tryElement = new Element("try", CORE_NS);
+    root.getChildren().get(1).addContent(tryElement);
+    Element newLogger = new Element("set-payload", CORE_NS);
+    tryElement.addContent(newLogger);
+    newLogger.setName("logger");
+
+    assertSameAsXPath(LOGGERS);
+    assertSameAsXPath(FLOWS);
+  }
+
+  @Test
+  public void documentNotCreatedByIndexFactory() throws Exception {
+    Document otherDocument = new SAXBuilder().build(new StringReader(CONFIG));
+
+    assertThat(index.getElements(parseSelector(LOGGERS), otherDocument), hasSize(3));
+    assertThat(index.getElements(parseSelector(LOGGERS), document), hasSize(3));
+  }
+
+  @Test
+  public void elementsOfOtherDocumentsAreNotReturned() throws Exception {
+    Element flow = new Element("flow", CORE_NS);
+    flow.addContent(document.getRootElement().getChildren().get(1).removeContent(0));
+    SAXBuilder saxBuilder = new SAXBuilder();
+    saxBuilder.setJDOMFactory(index.getJDOMFactory());
+    Document otherDocument = saxBuilder.build(new StringReader("<mule xmlns=\"" + CORE_NS_URI + "\"/>"));
+    otherDocument.getRootElement().addContent(flow);
+
+    assertThat(index.getElements(parseSelector(LOGGERS), document), hasSize(2));
+    assertThat(index.getElements(parseSelector(LOGGERS), otherDocument), hasSize(1));
+    assertThat(index.getElements(parseSelector("//*[namespace-uri()='" + CORE_NS_URI + "' and local-name()='none']"),
+                                 otherDocument),
+               empty());
+  }
+
+  @Test
+  public void referencingElements() {
+    assertReferencesSameAsXPath("ref", "flow2");
+    assertReferencesSameAsXPath("name", "flow1");
+    assertThat(index.getElementsWithAttribute("ref", "flow2", document), hasSize(1));
+  }
+
+  @Test
+  public void changedReferences() {
+    Element root = document.getRootElement();
+    Element flowRef = root.getChildren().get(0).getChild("flow-ref", CORE_NS);
+    flowRef.getAttribute("name").setValue("flow2");
+    root.getChildren().get(1).setAttribute("ref", "flow2");
+    root.getChildren().get(2).removeAttribute("name");
+
+    Element newFlowRef = new Element("flow-ref", CORE_NS);
+    root.getChildren().get(1).addContent(newFlowRef);
+    newFlowRef.setAttribute("name", "flow2");
+
+    Attribute untrackedAttribute = new Attribute("name", "flow1");
+    root.getChildren().get(1).getChildren().get(0).setAttribute(untrackedAttribute);
+    untrackedAttribute.setValue("flow2");
+
+    root.addContent(root.getChildren().get(0).clone().setAttribute("name", "flow3"));
+
+    assertReferencesSameAsXPath("name", "flow1");
+    assertReferencesSameAsXPath("name", "flow2");
+    assertReferencesSameAsXPath("name", "flow3");
+    assertThat(index.getElementsWithAttribute("name", "subFlow", document), empty());
+    assertReferencesSameAsXPath("ref", "flow2");
+    assertThat(index.getElementsWithAttribute("name", "flow2", document), hasSize(5));
+  }
+
+  @Test
+  public void attributesContainingValue() {
+    assertThat(parseSelector(containing("![p[")), notNullValue());
+    assertSameAsXPath(containing("low"));
+    assertSameAsXPath(containing("flow2"));
+    assertSameAsXPath(containing("2"));
+    assertSameAsXPath(containing(""));
+    assertThat(index.getElements(parseSelector(containing("missing")), document), empty());
+    assertThat(index.getElementsWithAttributeContaining("low", document), hasSize(5));
+  }
+
+  @Test
+  public void changedAttributesContainingValue() {
+    assertThat(index.getElementsWithAttributeContaining("flow", document), hasSize(4));
+
+    Element root = document.getRootElement();
+    Element flow1 = root.getChildren().get(0);
+    flow1.getChild("logger", CORE_NS).getAttribute("message").setValue("![p['flow.message']]");
+    root.getChildren().get(1).setAttribute("description", "Second flow");
+    root.getChildren().get(2).removeAttribute("name");
+
+    Element logger = new Element("logger", CORE_NS);
+    flow1.addContent(logger);
+    logger.setAttribute("message", "![p['logger.message']]");
+
+    Attribute untrackedAttribute = new Attribute("message", "untracked");
+    root.getChildren().get(1).getChildren().get(0).setAttribute(untrackedAttribute);
+    untrackedAttribute.setValue("![p['untracked.message']]");
+
+    root.addContent(flow1.clone().setAttribute("name", "cloned flow"));
+    root.getChildren().get(1).detach();
+
+    assertSameAsXPath(containing("flow"));
+    assertSameAsXPath(containing("![p["));
+    assertSameAsXPath(containing(".message"));
+    assertSameAsXPath(containing("cloned"));
+    assertThat(index.getElementsWithAttributeContaining("Second", document), empty());
+    assertThat(index.getElementsWithAttributeContaining("![p[", document), hasSize(4));
+  }
+
+  @Test
+  public void firstAndCountOfElements() {
+    assertThat(index.countElements(parseSelector(LOGGERS), document, Integer.MAX_VALUE), is(3));
+    assertThat(index.countElements(parseSelector(LOGGERS), document, 2), is(2));
+    assertThat(index.countElements(parseSelector(containing("flow")), document, 1), is(1));
+    assertThat(index.countElements(parseSelector(containing("missing")), document, Integer.MAX_VALUE), is(0));
+
+    Element firstFlow = document.getRootElement().getChildren().get(0);
+    Element addedLogger = new Element("logger", CORE_NS);
+    firstFlow.addContent(0, firstFlow.getChildren().get(2).clone().addContent(addedLogger));
+    assertThat(index.getFirstElement(parseSelector(LOGGERS), document), sameInstance(addedLogger));
+    assertThat(index.countElements(parseSelector(LOGGERS), document, Integer.MAX_VALUE), is(4));
+    assertThat(index.getFirstElement(parseSelector(containing("missing")), document), nullValue());
+  }
+
+  @Test
+  public void selectorWithAttributeValue() {
+    String flow2 = "*/*[namespace-uri()='" + CORE_NS_URI + "' and local-name()='flow' and @name = 'flow2']";
+    assertSameAsXPath(flow2);
+    assertSameAsXPath("//*[namespace-uri()='" + CORE_NS_URI + "' and local-name()='flow' and @name='nested']");
+    assertThat(index.getElements(parseSelector(flow2), document), hasSize(1));
+    assertThat(index.getElements(parseSelector(FLOWS.replace("]", " and @name='nested']")), document), empty());
+  }
+
+  @Test
+  public void lookupInManyDocuments() throws Exception {
+    SAXBuilder saxBuilder = new SAXBuilder();
+    saxBuilder.setJDOMFactory(index.getJDOMFactory());
+    Document otherDocument = saxBuilder.build(new StringReader(CONFIG));
+    List<Element> otherLoggers = XPathFactory.instance().compile(LOGGERS, Filters.element()).evaluate(otherDocument);
+    DocumentsLookup lookup = index.startLookup();
+
+    assertThat(index.getElements(parseSelector(LOGGERS), document, lookup), hasSize(3));
+    // Indexed after the elements of the first document were grouped
+    assertThat(index.getElements(parseSelector(LOGGERS), otherDocument, lookup), contains(otherLoggers.toArray()));
+    assertThat(index.countElements(parseSelector(LOGGERS), document, 2, lookup), is(2));
+    assertThat(index.getFirstElement(parseSelector(LOGGERS), otherDocument, lookup), sameInstance(otherLoggers.get(0)));
+
+    document.getRootElement().getChildren().get(1).addContent(new Element("logger", CORE_NS));
+    assertThat(index.getElements(parseSelector(LOGGERS), document, index.startLookup()), hasSize(4));
+    assertThat(index.getElements(parseSelector(LOGGERS), otherDocument, index.startLookup()), hasSize(3));
+  }
+
+  @Test
+  public void elementsAddedConcurrentlyToManyDocuments() throws Exception {
+    int documents = 4;
+    int additions = 500;
+    List<Document> otherDocuments = new ArrayList<>();
+    for (int i = 0; i < documents; ++i) {
+      SAXBuilder saxBuilder = new SAXBuilder();
+      saxBuilder.setJDOMFactory(index.getJDOMFactory());
+      otherDocuments.add(saxBuilder.build(new StringReader(CONFIG)));
+    }
+
+    // Each thread changes and queries its own document, as the document local steps do, while the queries go through the
+    // elements being added to the other documents
+    ExecutorService executor = newFixedThreadPool(documents);
+    try {
+      CyclicBarrier start = new CyclicBarrier(documents);
+      List<Future<?>> parts = new ArrayList<>();
+      for (Document otherDocument : otherDocuments) {
+        parts.add(executor.submit(() -> {
+          start.await();
+          Element flow = otherDocument.getRootElement().getChildren().get(1);
+          for (int i = 0; i < additions; ++i) {
+            flow.addContent(index.getJDOMFactory().element("logger", CORE_NS));
+            flow.addContent(new Element("try", CORE_NS).addContent(new Element("logger", CORE_NS)));
+            index.getElements(parseSelector(LOGGERS), otherDocument, i % 2 == 0 ? index.startLookup() : null);
+          }
+          return null;
+        }));
+      }
+      for (Future<?> part : parts) {
+        part.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    for (Document otherDocument : otherDocuments) {
+      List<Element> expected = XPathFactory.instance().compile(LOGGERS, Filters.element()).evaluate(otherDocument);
+      assertThat(expected, hasSize(3 + 2 * additions));
+      assertThat(index.getElements(parseSelector(LOGGERS), otherDocument), contains(expected.toArray()));
+      assertThat(index.getElements(parseSelector(LOGGERS), otherDocument, index.startLookup()), contains(expected.toArray()));
+    }
+  }
+
+  @Test
+  public void journalOfChanges() {
+    MutationJournal journal = index.startJournal();
+    List<Element> previous = index.getElements(parseSelector(LOGGERS), document);
+    assertThat(journal.isChanged(document), is(false));
+
+    Element root = document.getRootElement();
+    Element flow2 = root.getChildren().get(1);
+    flow2.getChildren().get(0).setName("renamed");
+    Element choice = root.getChildren().get(0).getChildren().get(1).clone();
+    flow2.addContent(0, choice);
+    Element nested = root.getChildren().get(2).getChildren().get(0).setName("logger");
+
+    assertThat(index.hasUntrackedContent(document), is(false));
+    assertThat(journal.isChanged(document), is(true));
+    assertThat(journal.getChangedElements(document), contains(flow2.getChildren().get(1), choice, nested));
+    List<Element> expected = XPathFactory.instance().compile(LOGGERS, Filters.element()).evaluate(document);
+    assertThat(index.getElements(parseSelector(LOGGERS), document, previous, journal.getChangedElements(document)),
+               contains(expected.toArray()));
+
+    journal.reset();
+    assertThat(journal.isChanged(document), is(false));
+    journal.close();
+    nested.setName("flow");
+    assertThat(journal.isChanged(document), is(false));
+  }
+
+  @Test
+  public void untrackedContentFlagged() throws Exception {
+    Element root = document.getRootElement();
+    Element flow = root.getChildren().get(1).clone();
+    flow.getChildren().get(0).addContent(new Element("untracked", CORE_NS));
+    assertThat(index.hasUntrackedContent(document), is(false));
+    root.addContent(flow);
+    assertThat(index.hasUntrackedContent(document), is(true));
+
+    setUp();
+    document.getRootElement().getChildren().get(1).setAttribute(new Attribute("untracked", "value"));
+    assertThat(index.hasUntrackedContent(document), is(true));
+
+    setUp();
+    document.getRootElement().getChildren().get(1).setAttribute("tracked", "value");
+    assertThat(index.hasUntrackedContent(document), is(false));
+  }
+
+  @Test
+  public void notIndexedAttribute() {
+    assertThat(index.getElementsWithAttribute("message", "3", document), hasSize(1));
+  }
+
+  @Test
+  public void unmodifiedDocument() {
+    index.trackChanges(document);
+    document.getRootElement().getChildren().get(0).getAttributeValue("name");
+    index.getElements(parseSelector(LOGGERS), document);
+
+    assertThat(index.isModified(document), is(false));
+  }
+
+  @Test
+  public void untrackedDocumentIsModified() throws Exception {
+    assertThat(index.isModified(document), is(true));
+    assertThat(index.isModified(new SAXBuilder().build(new StringReader(CONFIG))), is(true));
+  }
+
+  @Test
+  public void modifiedAttribute() {
+    index.trackChanges(document);
+    document.getRootElement().getChildren().get(1).getChildren().get(0).getAttribute("message").setValue("4");
+
+    assertThat(index.isModified(document), is(true));
+  }
+
+  @Test
+  public void modifiedText() throws Exception {
+    Document otherDocument = parse("<mule xmlns=\"" + CORE_NS_URI + "\"><description>text</description></mule>");
+    index.trackChanges(otherDocument);
+    ((Text) otherDocument.getRootElement().getChildren().get(0).getContent(0)).setText("other text");
+
+    assertThat(index.isModified(otherDocument), is(true));
+  }
+
+  @Test
+  public void detachedContent() {
+    index.trackChanges(document);
+    document.getRootElement().getChildren().get(0).getChildren().get(0).detach();
+
+    assertThat(index.isModified(document), is(true));
+  }
+
+  @Test
+  public void addedNamespaceDeclaration() {
+    index.trackChanges(document);
+    document.getRootElement().addNamespaceDeclaration(Namespace.getNamespace("other", "http://other"));
+
+    assertThat(index.isModified(document), is(true));
+  }
+
+  @Test
+  public void modifiedOtherDocument() throws Exception {
+    Document otherDocument = parse(CONFIG);
+    index.trackChanges(document);
+    index.trackChanges(otherDocument);
+    otherDocument.getRootElement().addContent(document.getRootElement().getChildren().get(2).detach());
+
+    assertThat(index.isModified(document), is(true));
+    assertThat(index.isModified(otherDocument), is(true));
+    assertThat(index.isModified(parse(CONFIG)), is(true));
+  }
+
+  private Document parse(String content) throws Exception {
+    SAXBuilder saxBuilder = new SAXBuilder();
+    saxBuilder.setJDOMFactory(index.getJDOMFactory());
+    return saxBuilder.build(new StringReader(content));
+  }
+
+  private void assertReferencesSameAsXPath(String attributeName, String value) {
+    List<Element> expected =
+        XPathFactory.instance().compile("//*[@" + attributeName + "='" + value + "']", Filters.element()).evaluate(document);
+    assertThat(index.getElementsWithAttribute(attributeName, value, document), contains(expected.toArray()));
+  }
+
+  private static String containing(String value) {
+    return "//*[@*[contains(.,'" + value + "')]]";
+  }
+
+  private void assertSameAsXPath(String expression) {
+    List<Element> expected = XPathFactory.instance().compile(expression, Filters.element()).evaluate(document);
+    assertThat(index.getElements(parseSelector(expression), document), contains(expected.toArray()));
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.project.model;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+
+import org.junit.Test;
+
+public class MultiStringMatcherTest {
+
+  @Test
+  public void findsEveryContainedString() {
+    MultiStringMatcher matcher = new MultiStringMatcher(asList("${http.port}", "p('http.port')", "${db.url}", "missing"));
+
+    assertThat(matcher.findIn("<http:listener-config port=\"${http.port}\" host=\"#[p('http.port')]\"/>"),
+               containsInAnyOrder("${http.port}", "p('http.port')"));
+  }
+
+  @Test
+  public void findsOverlappingAndNestedStrings() {
+    MultiStringMatcher matcher = new MultiStringMatcher(asList("he", "she", "his", "hers", "ushe"));
+
+    assertThat(matcher.findIn("ushers"), containsInAnyOrder("he", "she", "hers", "ushe"));
+  }
+
+  @Test
+  public void findsStringsAfterPartialMatches() {
+    MultiStringMatcher matcher = new MultiStringMatcher(asList("${a.b}", "${a.c}"));
+
+    assertThat(matcher.findIn("$${a.${a.b${a.c}"), containsInAnyOrder("${a.c}"));
+  }
+
+  @Test
+  public void emptyStringIsAlwaysContained() {
+    MultiStringMatcher matcher = new MultiStringMatcher(asList("", "a"));
+
+    assertThat(matcher.findIn(""), containsInAnyOrder(""));
+    assertThat(matcher.findIn("bab"), containsInAnyOrder("", "a"));
+  }
+
+  @Test
+  public void noStrings() {
+    assertThat(new MultiStringMatcher(asList()).findIn("text"), empty());
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.project.model;
+
+import static com.mulesoft.tools.migration.project.model.XPathCache.MAX_COMPILED_EXPRESSIONS;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.Namespace;
+import org.jdom2.input.SAXBuilder;
+import org.jdom2.xpath.XPathExpression;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Mulesoft Inc.
+ */
+public class XPathCacheTest {
+
+  private static final String CONFIG = "<mule xmlns=\"http://www.mulesoft.org/schema/mule/core\""
+      + " xmlns:http=\"http://www.mulesoft.org/schema/mule/http\">"
+      + "<flow name=\"flow\"><http:listener path=\"/\"/><vm:outbound-endpoint xmlns:vm=\"http://www.mulesoft.org/schema/mule/vm\""
+      + " path=\"out\"/></flow></mule>";
+
+  private XPathCache cache;
+  private Document document;
+
+  @Before
+  public void setUp() throws Exception {
+    cache = new XPathCache(emptyList());
+    document = parse(CONFIG);
+  }
+
+  @Test
+  public void compiledExpressionIsReused() {
+    XPathExpression<Element> compiled = cache.compile("//http:listener", document);
+
+    assertThat(cache.compile("//http:listener", document), sameInstance(compiled));
+    assertThat(compiled.evaluate(document), hasSize(1));
+  }
+
+  @Test
+  public void compiledExpressionIsSharedBetweenDocumentsWithSameNamespaces() throws Exception {
+    Document otherDocument = parse(CONFIG);
+
+    assertThat(cache.compile("//mule:flow", otherDocument), sameInstance(cache.compile("//mule:flow", document)));
+  }
+
+  @Test
+  public void namespacesAreRecalculatedWhenRootDeclarationsChange() {
+    XPathExpression<Element> compiled = cache.compile("//http:listener", document);
+
+    document.getRootElement().addNamespaceDeclaration(Namespace.getNamespace("vm", "http://www.mulesoft.org/schema/mule/vm"));
+
+    assertThat(cache.compile("//http:listener", document), not(sameInstance(compiled)));
+    assertThat(cache.compile("//vm:outbound-endpoint", document).evaluate(document), hasSize(1));
+  }
+
+  @Test
+  public void namespacesAreRecalculatedWhenSupportedNamespacesChange() {
+    XPathExpression<Element> compiled = cache.compile("//mule:flow", document);
+
+    cache.setSupportedNamespaces(emptyList());
+
+    assertThat(cache.compile("//mule:flow", document), not(sameInstance(compiled)));
+  }
+
+  @Test
+  public void compiledExpressionsAreBounded() {
+    XPathExpression<Element> compiled = cache.compile("//mule:flow", document);
+    for (int i = 0; i < MAX_COMPILED_EXPRESSIONS; ++i) {
+      cache.compile("//mule:flow[" + (i + 1) + "]", document);
+    }
+
+    assertThat(cache.compile("//mule:flow", document), not(sameInstance(compiled)));
+  }
+
+  @Test
+  public void compiledExpressionIsNotSharedBetweenThreads() throws Exception {
+    XPathExpression<Element> compiled = cache.compile("//mule:flow", document);
+    AtomicReference<XPathExpression<Element>> compiledByOtherThread = new AtomicReference<>();
+    Thread otherThread = new Thread(() -> compiledByOtherThread.set(cache.compile("//mule:flow", document)));
+    otherThread.start();
+    otherThread.join();
+
+    assertThat(compiledByOtherThread.get(), not(sameInstance(compiled)));
+    assertThat(cache.compile("//mule:flow", document), sameInstance(compiled));
+  }
+
+  private Document parse(String content) throws JDOMException, IOException {
+    return new SAXBuilder().build(new StringReader(content));
+  }
+}
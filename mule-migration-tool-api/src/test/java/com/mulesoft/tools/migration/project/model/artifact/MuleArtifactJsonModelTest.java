@@ -349,4 +349,14 @@ public class MuleArtifactJsonModelTest {
     model.setIsRedeploymentEnabled(false);
     assertThat("redeploymentEnabled should be false", !model.getIsRedeploymentEnabled().get());
   }
+
+  @Test
+  public void isModified() {
+    model = new MuleArtifactJsonModel(format("{ \"%s\": %s }", REDEPLOYMENT_ENABLED, true));
+    assertThat("mule-artifact.json should not be modified", !model.isModified());
+    model.setIsRedeploymentEnabled(true);
+    assertThat("mule-artifact.json should not be modified", !model.isModified());
+    model.setIsRedeploymentEnabled(false);
+    assertThat("mule-artifact.json should be modified", model.isModified());
+  }
 }
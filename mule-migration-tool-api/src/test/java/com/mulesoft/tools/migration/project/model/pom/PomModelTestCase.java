@@ -301,5 +301,20 @@ public class PomModelTestCase {
       assertNotNull(model.getParent());
       assertThat("Parent is not the expected", parent.getInnerModel(), equalTo(model.getParent().get().getInnerModel()));
     }
+
+    @Test
+    public void isModified() {
+      assertThat("Pom should not be modified", model.isModified(), is(false));
+      model.setVersion("1.0.0");
+      assertThat("Pom should not be modified", model.isModified(), is(false));
+      model.setVersion("2.0.0");
+      assertThat("Pom should be modified", model.isModified(), is(true));
+    }
+
+    @Test
+    public void isModifiedThroughParent() {
+      model.getParent().get().setRelativePath("new-path");
+      assertThat("Pom should be modified", model.isModified(), is(true));
+    }
   }
 }
@@ -6,12 +6,21 @@
 package com.mulesoft.tools.migration.task;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.mulesoft.tools.migration.project.ProjectType.MULE_FOUR_APPLICATION;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.write;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -22,31 +31,48 @@ import static org.mockito.Mockito.when;
 
 import com.mulesoft.tools.migration.exception.MigrationTaskException;
 import com.mulesoft.tools.migration.project.model.ApplicationModel;
+import com.mulesoft.tools.migration.project.model.ApplicationModel.ApplicationModelBuilder;
 import com.mulesoft.tools.migration.project.model.pom.PomModel;
+import com.mulesoft.tools.migration.step.AbstractApplicationModelMigrationStep;
 import com.mulesoft.tools.migration.step.MigrationStep;
 import com.mulesoft.tools.migration.step.category.ApplicationModelContribution;
+import com.mulesoft.tools.migration.step.category.DocumentLocalContribution;
 import com.mulesoft.tools.migration.step.category.MigrationReport;
 import com.mulesoft.tools.migration.step.category.NamespaceContribution;
 import com.mulesoft.tools.migration.step.category.PomContribution;
 import com.mulesoft.tools.migration.step.category.ProjectStructureContribution;
 import com.mulesoft.tools.migration.util.ExpressionMigrator;
 
+import org.jdom2.Document;
 import org.jdom2.Element;
+import org.jdom2.filter.ElementFilter;
+import org.jdom2.output.XMLOutputter;
 import org.jdom2.xpath.XPathExpression;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.InOrder;
 import org.mockito.Mockito;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 
 /**
  * @author Mulesoft Inc.
  */
 public class AbstractMigrationTaskTest {
 
+  private static final String TEST_NS_URI = "urn:test";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   private AbstractMigrationTask migrationTask;
   private ApplicationModel applicationModelMock;
   private ExpressionMigrator expressionMigratorMock;
@@ -129,6 +155,51 @@ public class AbstractMigrationTaskTest {
 
   }
 
+  @Test
+  public void executeWithProfiler() throws Exception {
+    NamespaceContribution namespaceContributionMock = mock(NamespaceContribution.class);
+    ApplicationModelContribution applicationModelContributionMock = mock(ApplicationModelContribution.class);
+    XPathExpression appliedTo = mock(XPathExpression.class);
+    when(applicationModelContributionMock.getAppliedTo()).thenReturn(appliedTo);
+    when(applicationModelMock.getNodes(appliedTo)).thenReturn(newArrayList(mock(Element.class), mock(Element.class)));
+    MigrationProfiler profilerMock = mock(MigrationProfiler.class);
+
+    migrationTask.setApplicationModel(applicationModelMock);
+    migrationTask.setProfiler(profilerMock);
+    ((MigrationTaskImpl) migrationTask)
+        .setMigrationSteps(newArrayList(namespaceContributionMock, applicationModelContributionMock));
+
+    migrationTask.execute(mock(MigrationReport.class));
+
+    InOrder inOrder = Mockito.inOrder(profilerMock, namespaceContributionMock, applicationModelContributionMock);
+    inOrder.verify(profilerMock).stepStarted(migrationTask, namespaceContributionMock);
+    inOrder.verify(namespaceContributionMock).execute(any(ApplicationModel.class), any(MigrationReport.class));
+    inOrder.verify(profilerMock).stepFinished(migrationTask, namespaceContributionMock, 0);
+    inOrder.verify(profilerMock).stepStarted(migrationTask, applicationModelContributionMock);
+    inOrder.verify(applicationModelContributionMock, times(2)).execute(any(Element.class), any(MigrationReport.class));
+    inOrder.verify(profilerMock).stepFinished(migrationTask, applicationModelContributionMock, 2);
+  }
+
+  @Test
+  public void executeWithProfilerAndFailedMigrationStep() throws Exception {
+    NamespaceContribution namespaceContribution = mock(NamespaceContribution.class);
+    doThrow(NullPointerException.class)
+        .when(namespaceContribution)
+        .execute(eq(applicationModelMock), any(MigrationReport.class));
+    MigrationProfiler profilerMock = mock(MigrationProfiler.class);
+
+    migrationTask.setApplicationModel(applicationModelMock);
+    migrationTask.setProfiler(profilerMock);
+    ((MigrationTaskImpl) migrationTask).setMigrationSteps(newArrayList(namespaceContribution));
+
+    try {
+      migrationTask.execute(mock(MigrationReport.class));
+      fail("The step failure should have been propagated");
+    } catch (MigrationTaskException e) {
+      verify(profilerMock).stepFinished(migrationTask, namespaceContribution, 0);
+    }
+  }
+
   @Test(expected = MigrationTaskException.class)
   public void executeWithFailedMigrationStep() throws Exception {
     NamespaceContribution namespaceContribution = mock(NamespaceContribution.class);
@@ -144,9 +215,102 @@ public class AbstractMigrationTaskTest {
     migrationTask.execute(mock(MigrationReport.class));
   }
 
+  @Test
+  public void executeFusedAppliesStepsToSameNodes() throws Exception {
+    assertThat(migrate(true), is(migrate(false)));
+  }
+
+  private String migrate(boolean fusedStepDispatch) throws Exception {
+    Path project = temporaryFolder.newFolder().toPath();
+    Path config = project.resolve("config.xml");
+    write(config, ("<mule xmlns=\"" + TEST_NS_URI + "\"><a/><b/><flow><a/><c/><b/></flow></mule>").getBytes(UTF_8));
+    ApplicationModel applicationModel = new ApplicationModelBuilder()
+        .withProjectBasePath(project)
+        .withConfigurationFiles(singletonList(config))
+        .withMuleVersion("4.1.1")
+        .withSupportedNamespaces(newArrayList())
+        .withProjectType(MULE_FOUR_APPLICATION)
+        .build();
+
+    List<MigrationStep> steps = new ArrayList<>();
+    // Each step changes the nodes matched by the next ones, as a copy of a tracked element or as a new untracked one
+    steps.add(new ElementStep("//*[namespace-uri()='" + TEST_NS_URI + "' and local-name()='a']",
+                              e -> e.getParentElement().addContent(e.clone().setName("c"))));
+    steps.add(new ElementStep("//*[local-name()='c' and namespace-uri()='" + TEST_NS_URI + "']", e -> e.setName("b")));
+    steps.add(new ElementStep("/*/*[namespace-uri()='" + TEST_NS_URI + "' and local-name()='b']",
+                              e -> e.addContent(new Element("c", e.getNamespace()))));
+    steps.add(new ElementStep("//*[namespace-uri()='" + TEST_NS_URI + "' and local-name()='b']",
+                              e -> e.setAttribute("visited", "true")));
+    steps.add(new ElementStep("//*[local-name()='c']", e -> e.setAttribute("visited", "true")));
+
+    AbstractMigrationTask task = new MigrationTaskImpl();
+    task.setApplicationModel(applicationModel);
+    task.setFusedStepDispatch(fusedStepDispatch);
+    ((MigrationTaskImpl) task).setMigrationSteps(steps);
+    task.execute(mock(MigrationReport.class));
+
+    return new XMLOutputter().outputString(applicationModel.getApplicationDocuments().values().iterator().next());
+  }
+
+  @Test
+  public void executeDocumentLocalStepConcurrently() throws Exception {
+    Path project = temporaryFolder.newFolder().toPath();
+    List<Path> configs = new ArrayList<>();
+    for (int i = 0; i < 4; ++i) {
+      Path config = project.resolve("config-" + i + ".xml");
+      write(config, ("<mule xmlns=\"" + TEST_NS_URI + "\"><a/><flow><a/></flow><a/></mule>").getBytes(UTF_8));
+      configs.add(config);
+    }
+    ApplicationModel applicationModel = new ApplicationModelBuilder()
+        .withProjectBasePath(project)
+        .withConfigurationFiles(configs)
+        .withMuleVersion("4.1.1")
+        .withSupportedNamespaces(newArrayList())
+        .withProjectType(MULE_FOUR_APPLICATION)
+        .build();
+
+    List<MigrationStep> steps = new ArrayList<>();
+    steps.add(new DocumentLocalElementStep("//*[namespace-uri()='" + TEST_NS_URI + "' and local-name()='a']", e -> {
+      // Counts the elements migrated before in the same document
+      e.setAttribute("index", String.valueOf(getElementsA(e.getDocument()).stream()
+          .filter(a -> a.getAttribute("index") != null).count()));
+    }));
+
+    MigrationReport report = mock(MigrationReport.class);
+    doAnswer(invocation -> {
+      List<Runnable> parts = invocation.getArgument(0);
+      ForkJoinPool pool = invocation.getArgument(1);
+      parts.stream().map(pool::submit).collect(toList()).forEach(ForkJoinTask::join);
+      return null;
+    }).when(report).runConcurrently(any(), any());
+    AbstractMigrationTask task = new MigrationTaskImpl();
+    task.setApplicationModel(applicationModel);
+    ForkJoinPool pool = new ForkJoinPool(configs.size());
+    task.setDocumentLocalStepsPool(pool);
+    ((MigrationTaskImpl) task).setMigrationSteps(steps);
+    try {
+      task.execute(report);
+    } finally {
+      pool.shutdown();
+    }
+
+    verify(report).runConcurrently(argThat(parts -> parts.size() == configs.size()), any(ForkJoinPool.class));
+    verify(report).addProcessedElements(3 * configs.size());
+    for (Document document : applicationModel.getApplicationDocuments().values()) {
+      assertThat(getElementsA(document).stream().map(a -> a.getAttributeValue("index")).collect(toList()),
+                 contains("0", "1", "2"));
+    }
+  }
+
+  private static List<Element> getElementsA(Document document) {
+    List<Element> elements = new ArrayList<>();
+    document.getDescendants(new ElementFilter("a")).forEach(elements::add);
+    return elements;
+  }
+
   @Test
   public void shouldExecuteAllStepsAppModelContributionAndElementPresent() {
-    doReturn(newArrayList(mock(Element.class))).when(applicationModelMock).getNodes(any(XPathExpression.class));
+    doReturn(true).when(applicationModelMock).exists(any(XPathExpression.class));
 
     MigrationStepSelector selectorMock = mock(MigrationStepSelector.class);
     ApplicationModelContribution contrib = mock(ApplicationModelContribution.class);
@@ -198,6 +362,37 @@ public class AbstractMigrationTaskTest {
     assertThat("It should return true", taskSpy.shouldExecuteAllSteps(selectorMock));
   }
 
+  private static final class ElementStep extends AbstractApplicationModelMigrationStep {
+
+    private final Consumer<Element> migration;
+
+    private ElementStep(String appliedTo, Consumer<Element> migration) {
+      this.setAppliedTo(appliedTo);
+      this.migration = migration;
+    }
+
+    @Override
+    public void execute(Element element, MigrationReport report) {
+      migration.accept(element);
+    }
+  }
+
+  private static final class DocumentLocalElementStep extends AbstractApplicationModelMigrationStep
+      implements DocumentLocalContribution {
+
+    private final Consumer<Element> migration;
+
+    private DocumentLocalElementStep(String appliedTo, Consumer<Element> migration) {
+      this.setAppliedTo(appliedTo);
+      this.migration = migration;
+    }
+
+    @Override
+    public void execute(Element element, MigrationReport report) {
+      migration.accept(element);
+    }
+  }
+
   private static final class MigrationTaskImpl extends AbstractMigrationTask {
 
     private List<MigrationStep> migrationSteps;
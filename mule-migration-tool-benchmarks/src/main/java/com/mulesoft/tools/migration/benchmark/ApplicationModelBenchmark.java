@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.benchmark;
+
+import static com.mulesoft.tools.migration.benchmark.BenchmarkProjects.e2eProject;
+import static com.mulesoft.tools.migration.benchmark.BenchmarkProjects.sourceModel;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import com.mulesoft.tools.migration.project.model.ApplicationModel;
+
+import org.jdom2.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+
+/**
+ * Measures {@link ApplicationModel#getNodes(String)} with the shapes of the selectors used by the migration steps.
+ *
+ * @author Mulesoft Inc.
+ * @since 1.2.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ApplicationModelBenchmark {
+
+  @Param({"apikit1", "tweetbook-oauth2-provider", "http1", "db-crud"})
+  public String project;
+
+  @Param({
+      // Any element of a namespace, as in getXPathSelector
+      "//*[namespace-uri() = 'http://www.mulesoft.org/schema/mule/core' and local-name() = 'flow']",
+      // Top level element, as in getTopLevelXPathSelector
+      "/*/*[namespace-uri() = 'http://www.mulesoft.org/schema/mule/http' and local-name() = 'listener-config']",
+      // Message source of a flow, as in the inbound endpoint steps
+      "/*/mule:flow/*[namespace-uri() = 'http://www.mulesoft.org/schema/mule/http' and local-name() = 'inbound-endpoint'][1]",
+      // Alternative element names, as in the transformer steps
+      "//*[namespace-uri() = 'http://www.mulesoft.org/schema/mule/core' and (local-name() = 'logger' or local-name() = 'set-payload')]",
+      // Attribute value search, as in GatewayMigrationStep
+      "//*[@*[contains(.,'#[')]]"})
+  public String selector;
+
+  private ApplicationModel applicationModel;
+
+  @Setup
+  public void setUp() throws Exception {
+    applicationModel = sourceModel(e2eProject(project));
+  }
+
+  @Benchmark
+  public List<Element> getNodes() {
+    return applicationModel.getNodes(selector);
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.benchmark;
+
+import static com.mulesoft.tools.migration.benchmark.BenchmarkProjects.e2eProject;
+import static com.mulesoft.tools.migration.benchmark.BenchmarkProjects.sourceModel;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.commons.io.FileUtils.deleteDirectory;
+
+import com.mulesoft.tools.migration.engine.project.structure.ApplicationPersister;
+import com.mulesoft.tools.migration.project.model.ApplicationModel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Measures {@link ApplicationPersister#persist()} of the model of a project to an empty folder.
+ *
+ * @author Mulesoft Inc.
+ * @since 1.2.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ApplicationPersisterBenchmark {
+
+  @Param({"apikit1", "tweetbook-oauth2-provider", "http1", "db-crud"})
+  public String project;
+
+  private ApplicationModel applicationModel;
+  private Path outputPath;
+
+  @Setup
+  public void setUp() throws Exception {
+    applicationModel = sourceModel(e2eProject(project));
+  }
+
+  @Setup(Level.Invocation)
+  public void createOutput() throws IOException {
+    outputPath = Files.createTempDirectory("mmt-benchmark");
+  }
+
+  @TearDown(Level.Invocation)
+  public void deleteOutput() throws IOException {
+    deleteDirectory(outputPath.toFile());
+  }
+
+  @Benchmark
+  public void persist() throws Exception {
+    new ApplicationPersister(applicationModel, outputPath).persist();
+  }
+}
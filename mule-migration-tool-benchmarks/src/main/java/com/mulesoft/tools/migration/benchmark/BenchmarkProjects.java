@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.benchmark;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.mulesoft.tools.migration.engine.project.MuleProjectFactory.getMuleProject;
+import static com.mulesoft.tools.migration.engine.project.structure.BasicProject.getFiles;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
+import com.mulesoft.tools.migration.engine.project.ProjectTypeFactory;
+import com.mulesoft.tools.migration.engine.project.structure.mule.MuleProject;
+import com.mulesoft.tools.migration.project.ProjectType;
+import com.mulesoft.tools.migration.project.model.ApplicationModel;
+import com.mulesoft.tools.migration.project.model.ApplicationModel.ApplicationModelBuilder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Access to the inputs of the benchmarks: the projects of the end to end tests and the corpora of expressions.
+ *
+ * @author Mulesoft Inc.
+ * @since 1.2.1
+ */
+final class BenchmarkProjects {
+
+  /**
+   * The system property with the folder of the end to end test projects, relative to the benchmarks module by default.
+   */
+  static final String E2E_DIR_PROPERTY = "mmt.benchmark.e2eDir";
+
+  static final String MULE_3_VERSION = "3.*.*";
+  static final String MULE_4_VERSION = "4.2.1";
+
+  private static final String DEFAULT_E2E_DIR = "../mule-migration-tool-tests/src/test/resources/e2e";
+
+  private BenchmarkProjects() {}
+
+  /**
+   * @param name the name of an end to end test project
+   * @return the base path of the project
+   */
+  static Path e2eProject(String name) {
+    Path project = Paths.get(System.getProperty(E2E_DIR_PROPERTY, DEFAULT_E2E_DIR)).resolve(name).toAbsolutePath();
+    checkArgument(project.toFile().isDirectory(),
+                  "Project '%s' not found, set the '%s' system property to the e2e projects folder",
+                  project, E2E_DIR_PROPERTY);
+    return project;
+  }
+
+  /**
+   * Builds the model of a Mule 3 project the same way {@code MigrationJob} builds the model of the project to migrate.
+   *
+   * @param project the base path of the project
+   * @return the application model of the project
+   */
+  static ApplicationModel sourceModel(Path project) throws Exception {
+    ProjectType type = new ProjectTypeFactory().getProjectType(project);
+    MuleProject muleProject = getMuleProject(project, type);
+    ApplicationModelBuilder builder = new ApplicationModelBuilder()
+        .withConfigurationFiles(getFiles(muleProject.srcMainConfiguration(), "xml"))
+        .withProjectType(type)
+        .withMuleVersion(MULE_4_VERSION)
+        .withPom(muleProject.pom())
+        .withProjectBasePath(muleProject.getBaseFolder())
+        .withSupportedNamespaces(new ArrayList<>());
+    if (muleProject.srcTestConfiguration().toFile().exists()) {
+      builder.withTestConfigurationFiles(getFiles(muleProject.srcTestConfiguration(), "xml"));
+    }
+    return builder.build();
+  }
+
+  /**
+   * @param project the base path of a Mule 3 project
+   * @return the configuration files of the project
+   */
+  static List<Path> configurationFiles(Path project) throws Exception {
+    ProjectType type = new ProjectTypeFactory().getProjectType(project);
+    return getFiles(getMuleProject(project, type).srcMainConfiguration(), "xml");
+  }
+
+  /**
+   * @param resource a resource of this module with one entry per line
+   * @return the non empty lines of the resource
+   */
+  static List<String> corpus(String resource) throws IOException {
+    InputStream corpusStream = BenchmarkProjects.class.getClassLoader().getResourceAsStream(resource);
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(corpusStream, UTF_8))) {
+      return reader.lines().filter(line -> !line.isEmpty()).collect(toList());
+    }
+  }
+}
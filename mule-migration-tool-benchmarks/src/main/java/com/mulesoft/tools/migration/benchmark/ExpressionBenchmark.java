@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.benchmark;
+
+import static com.mulesoft.tools.migration.benchmark.BenchmarkProjects.corpus;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import com.mulesoft.tools.MelParserHelper;
+import com.mulesoft.tools.MigrationResult;
+import com.mulesoft.tools.Migrator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import scala.util.Try;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Measures parsing and migrating the MEL expressions found in the applications used to test the migration.
+ * <p>
+ * Each invocation goes through the whole corpus. Expressions that fail to parse or migrate are part of the measure, as they
+ * are in a migration.
+ *
+ * @author Mulesoft Inc.
+ * @since 1.2.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ExpressionBenchmark {
+
+  private List<String> expressions;
+
+  @Setup
+  public void setUp() throws IOException {
+    expressions = corpus("mel-expressions.txt");
+  }
+
+  @Benchmark
+  public void parse(Blackhole blackhole) {
+    for (String expression : expressions) {
+      try {
+        blackhole.consume(MelParserHelper.parse(expression));
+      } catch (RuntimeException e) {
+        blackhole.consume(e);
+      }
+    }
+  }
+
+  @Benchmark
+  public void migrate(Blackhole blackhole) {
+    for (String expression : expressions) {
+      try {
+        blackhole.consume(Migrator.migrate(expression).getGeneratedCode());
+      } catch (RuntimeException e) {
+        blackhole.consume(e);
+      }
+    }
+  }
+
+  @Benchmark
+  public List<Try<MigrationResult>> migrateAll() {
+    return Migrator.migrateAll(expressions);
+  }
+}
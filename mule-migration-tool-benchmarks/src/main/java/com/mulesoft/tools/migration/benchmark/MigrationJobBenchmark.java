@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.benchmark;
+
+import static com.mulesoft.tools.migration.benchmark.BenchmarkProjects.MULE_3_VERSION;
+import static com.mulesoft.tools.migration.benchmark.BenchmarkProjects.MULE_4_VERSION;
+import static com.mulesoft.tools.migration.benchmark.BenchmarkProjects.e2eProject;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.commons.io.FileUtils.deleteDirectory;
+
+import com.mulesoft.tools.migration.engine.MigrationJob;
+import com.mulesoft.tools.migration.engine.MigrationJob.MigrationJobBuilder;
+import com.mulesoft.tools.migration.report.DefaultMigrationReport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Measures the whole migration of the projects used by the end to end tests, as run by the migration assistant.
+ *
+ * @author Mulesoft Inc.
+ * @since 1.2.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MigrationJobBenchmark {
+
+  @Param({"apikit1", "tweetbook-oauth2-provider", "http1", "db-crud"})
+  public String project;
+
+  private Path projectPath;
+  private Path outputPath;
+
+  @Setup
+  public void setUp() {
+    projectPath = e2eProject(project);
+  }
+
+  @Setup(Level.Invocation)
+  public void createOutput() throws IOException {
+    outputPath = Files.createTempDirectory("mmt-benchmark").resolve(project);
+  }
+
+  @TearDown(Level.Invocation)
+  public void deleteOutput() throws IOException {
+    deleteDirectory(outputPath.getParent().toFile());
+  }
+
+  @Benchmark
+  public void execute() throws Exception {
+    MigrationJob job = new MigrationJobBuilder()
+        .withProject(projectPath)
+        .withOutputProject(outputPath)
+        .withInputVersion(MULE_3_VERSION)
+        .withOuputVersion(MULE_4_VERSION)
+        .build();
+    job.execute(new DefaultMigrationReport());
+  }
+}
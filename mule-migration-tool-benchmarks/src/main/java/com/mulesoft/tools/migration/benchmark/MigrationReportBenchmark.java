@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.benchmark;
+
+import static com.mulesoft.tools.migration.benchmark.BenchmarkProjects.configurationFiles;
+import static com.mulesoft.tools.migration.benchmark.BenchmarkProjects.e2eProject;
+import static com.mulesoft.tools.migration.step.category.MigrationReport.Level.WARN;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.jdom2.filter.Filters.element;
+
+import com.mulesoft.tools.migration.report.DefaultMigrationReport;
+import com.mulesoft.tools.migration.report.html.model.ReportEntryModel;
+
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.input.SAXBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures adding entries to the {@link DefaultMigrationReport} and locating the elements of the entries in the files they were
+ * written to.
+ *
+ * @author Mulesoft Inc.
+ * @since 1.2.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MigrationReportBenchmark {
+
+  @Param({"apikit1", "tweetbook-oauth2-provider", "http1", "db-crud"})
+  public String project;
+
+  private List<Path> configurationFiles;
+  private List<Element> elements;
+  private List<ReportEntryModel> entries;
+  private DefaultMigrationReport report;
+  private int nextElement;
+
+  @Setup
+  public void setUp() throws Exception {
+    configurationFiles = configurationFiles(e2eProject(project));
+    entries = new ArrayList<>();
+    for (Element element : parseElements()) {
+      entries.add(new ReportEntryModel(WARN, element, "Benchmark entry"));
+    }
+  }
+
+  /**
+   * The report comments the elements it reports on, so each iteration starts over with the elements as parsed.
+   */
+  @Setup(Level.Iteration)
+  public void resetReport() throws Exception {
+    elements = parseElements();
+    report = new DefaultMigrationReport();
+    nextElement = 0;
+  }
+
+  private List<Element> parseElements() throws Exception {
+    List<Element> parsedElements = new ArrayList<>();
+    SAXBuilder saxBuilder = new SAXBuilder();
+    for (Path configurationFile : configurationFiles) {
+      Document document = saxBuilder.build(configurationFile.toFile());
+      document.getRootElement().getDescendants(element()).forEach(parsedElements::add);
+    }
+    return parsedElements;
+  }
+
+  @Benchmark
+  public void report() {
+    Element element = elements.get(nextElement++ % elements.size());
+    report.report("expressions.melToDw", element, element);
+  }
+
+  @Benchmark
+  public void setElementLocation() throws Exception {
+    entries.get(0).setElementLocation();
+  }
+
+  @Benchmark
+  public void setElementsLocation() throws Exception {
+    ReportEntryModel.setElementsLocation(entries);
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.benchmark;
+
+import static com.mulesoft.tools.migration.benchmark.BenchmarkProjects.corpus;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import com.mulesoft.tools.migration.library.tools.TemplateParser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Measures {@link TemplateParser#translate} over the MEL templates found in the applications used to test the migration.
+ * <p>
+ * The expressions in the templates are left as they are, so only the parsing of the templates is measured.
+ *
+ * @author Mulesoft Inc.
+ * @since 1.2.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TemplateParserBenchmark {
+
+  private List<String> templates;
+
+  @Setup
+  public void setUp() throws IOException {
+    templates = corpus("mel-templates.txt");
+  }
+
+  @Benchmark
+  public void translate(Blackhole blackhole) {
+    TemplateParser parser = TemplateParser.createMuleStyleParser();
+    for (String template : templates) {
+      blackhole.consume(parser.translate(template, script -> script));
+    }
+  }
+}
@@ -20,8 +20,10 @@ import com.mulesoft.tools.migration.project.ProjectType;
 import com.mulesoft.tools.migration.project.model.ApplicationModel;
 import com.mulesoft.tools.migration.project.model.ApplicationModel.ApplicationModelBuilder;
 import com.mulesoft.tools.migration.project.model.pom.Parent;
+import com.mulesoft.tools.migration.report.DefaultMigrationProfiler;
 import com.mulesoft.tools.migration.report.html.HTMLReport;
 import com.mulesoft.tools.migration.report.html.model.ReportEntryModel;
+import com.mulesoft.tools.migration.report.json.JSONProfile;
 import com.mulesoft.tools.migration.report.json.JSONReport;
 import com.mulesoft.tools.migration.step.category.MigrationReport;
 import com.mulesoft.tools.migration.task.AbstractMigrationTask;
@@ -31,6 +33,8 @@ import org.slf4j.LoggerFactory;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.google.common.base.Preconditions.checkState;
 import static com.mulesoft.tools.migration.engine.project.MuleProjectFactory.getMuleProject;
@@ -50,6 +54,10 @@ public class MigrationJob implements Executable {
 
   private static final String HTML_REPORT_FOLDER = "report";
   private final boolean jsonReportEnabled;
+  private final boolean persistCheckpoints;
+  private final DefaultMigrationProfiler profiler;
+  private final boolean fusedStepDispatch;
+  private final ForkJoinPool documentLocalStepsPool;
   private transient Logger logger = LoggerFactory.getLogger(this.getClass());
 
   private final Path project;
@@ -65,7 +73,8 @@ public class MigrationJob implements Executable {
 
   private MigrationJob(Path project, Path parentDomainProject, Path outputProject, List<AbstractMigrationTask> migrationTasks,
                        String muleVersion, boolean cancelOnError, Parent projectParentGAV, String projectGAV,
-                       boolean jsonReportEnabled) {
+                       boolean jsonReportEnabled, boolean persistCheckpoints, boolean profilingEnabled,
+                       boolean fusedStepDispatch, boolean concurrentDocumentLocalSteps) {
     this.migrationTasks = migrationTasks;
     this.muleVersion = muleVersion;
     this.outputProject = outputProject;
@@ -76,6 +85,10 @@ public class MigrationJob implements Executable {
     this.projectParentGAV = projectParentGAV;
     this.projectGAV = projectGAV;
     this.jsonReportEnabled = jsonReportEnabled;
+    this.persistCheckpoints = persistCheckpoints;
+    this.profiler = profilingEnabled ? new DefaultMigrationProfiler() : null;
+    this.fusedStepDispatch = fusedStepDispatch;
+    this.documentLocalStepsPool = concurrentDocumentLocalSteps ? ForkJoinPool.commonPool() : null;
     this.runnerVersion = this.getClass().getPackage().getImplementationVersion();
     if (this.runnerVersion == null) {
       this.runnerVersion = "n/a";
@@ -91,19 +104,25 @@ public class MigrationJob implements Executable {
     Path sourceProjectBasePath = applicationModel.getProjectBasePath();
     persistApplicationModel(applicationModel);
     ProjectType targetProjectType = applicationModel.getProjectType().getTargetType();
+    // The target model is built once and shared by all the tasks, it is only written to disk when the job finishes (or after
+    // each task when checkpoints are enabled, for debugging purposes).
     applicationModel =
         generateTargetApplicationModel(outputProject, targetProjectType, sourceProjectBasePath, projectParentGAV, projectGAV);
     try {
+      // Translating all the expressions upfront lets the tasks just look them up, instead of translating them one at a time
+      new MelToDwExpressionMigrator(report, applicationModel).translateExpressions();
       for (AbstractMigrationTask task : migrationTasks) {
-        if (task.getApplicableProjectTypes().contains(targetProjectType)) {
+        if (task.getApplicableProjectTypes().contains(targetProjectType) && isTriggered(task, applicationModel)) {
           task.setApplicationModel(applicationModel);
           task.setExpressionMigrator(new MelToDwExpressionMigrator(report, applicationModel));
+          task.setProfiler(profiler);
+          task.setFusedStepDispatch(fusedStepDispatch);
+          task.setDocumentLocalStepsPool(documentLocalStepsPool);
           try {
-            task.execute(report);
-            persistApplicationModel(applicationModel);
-            applicationModel =
-                generateTargetApplicationModel(outputProject, targetProjectType, sourceProjectBasePath, projectParentGAV,
-                                               projectGAV);
+            executeTask(task, report);
+            if (persistCheckpoints) {
+              persistApplicationModel(applicationModel);
+            }
           } catch (MigrationTaskException ex) {
             if (cancelOnError) {
               throw ex;
@@ -117,10 +136,34 @@ public class MigrationJob implements Executable {
         }
       }
     } finally {
+      persistApplicationModel(applicationModel);
       generateReport(report);
     }
   }
 
+  /**
+   * A task with trigger namespaces is skipped when there is no element of those in the model, without setting it up nor
+   * querying the model for each of its steps.
+   */
+  private boolean isTriggered(AbstractMigrationTask task, ApplicationModel applicationModel) {
+    Set<String> triggerNamespaces = task.getTriggerNamespaces();
+    return triggerNamespaces.isEmpty() || applicationModel.mayHaveAnyNamespace(triggerNamespaces);
+  }
+
+  private void executeTask(AbstractMigrationTask task, MigrationReport report) throws Exception {
+    if (profiler == null) {
+      task.execute(report);
+      return;
+    }
+
+    profiler.taskStarted(task);
+    try {
+      task.execute(report);
+    } finally {
+      profiler.taskFinished(task);
+    }
+  }
+
   private void persistApplicationModel(ApplicationModel applicationModel) throws Exception {
     ApplicationPersister persister = new ApplicationPersister(applicationModel, outputProject);
     persister.persist();
@@ -184,13 +227,10 @@ public class MigrationJob implements Executable {
   }
 
   private void generateReport(MigrationReport<ReportEntryModel> report) throws Exception {
-    List<ReportEntryModel> reportEntries = report.getReportEntries();
-    for (ReportEntryModel entry : reportEntries) {
-      try {
-        entry.setElementLocation();
-      } catch (Exception ex) {
-        throw new MigrationJobException("Failed to generate report.", ex);
-      }
+    try {
+      ReportEntryModel.setElementsLocation(report.getReportEntries());
+    } catch (Exception ex) {
+      throw new MigrationJobException("Failed to generate report.", ex);
     }
     HTMLReport htmlReport = new HTMLReport(report.getReportEntries(), reportPath.toFile(), this.getRunnerVersion());
     htmlReport.printReport();
@@ -198,6 +238,10 @@ public class MigrationJob implements Executable {
       JSONReport jsonReport = new JSONReport(report.getReportEntries(), reportPath.toFile(), outputProject);
       jsonReport.printReport();
     }
+    if (profiler != null) {
+      JSONProfile jsonProfile = new JSONProfile(profiler.getTaskProfiles(), reportPath.toFile());
+      jsonProfile.printProfile();
+    }
   }
 
   public Path getReportPath() {
@@ -223,6 +267,10 @@ public class MigrationJob implements Executable {
     private String outputVersion;
     private boolean cancelOnError = false;
     private boolean jsonReportEnabled = false;
+    private boolean persistCheckpoints = false;
+    private boolean profilingEnabled = false;
+    private boolean fusedStepDispatch = false;
+    private boolean concurrentDocumentLocalSteps = false;
     private List<AbstractMigrationTask> migrationTasks = new ArrayList<>();
     private Parent projectParentGAV = null;
     private String projectGAV;
@@ -272,6 +320,50 @@ public class MigrationJob implements Executable {
       return this;
     }
 
+    public MigrationJobBuilder withPersistCheckpoints(boolean persistCheckpoints) {
+      this.persistCheckpoints = persistCheckpoints;
+      return this;
+    }
+
+    /**
+     * Enables writing the time, allocations, matched nodes and XPath queries of each task and step to {@code profile.json},
+     * next to the JSON report.
+     *
+     * @param profilingEnabled whether to profile the tasks
+     * @return the builder
+     * @since 1.2.1
+     */
+    public MigrationJobBuilder withProfiling(boolean profilingEnabled) {
+      this.profilingEnabled = profilingEnabled;
+      return this;
+    }
+
+    /**
+     * Enables fetching the nodes for all the steps of each task that only select by namespace and name in a single walk of each
+     * document, instead of querying the documents once for each step. The migrated project is the same either way.
+     *
+     * @param fusedStepDispatch whether to fetch the nodes for all the steps of each task at once
+     * @return the builder
+     * @since 1.2.1
+     */
+    public MigrationJobBuilder withFusedStepDispatch(boolean fusedStepDispatch) {
+      this.fusedStepDispatch = fusedStepDispatch;
+      return this;
+    }
+
+    /**
+     * Enables applying the steps that declare themselves document-local to the elements of each configuration file concurrently,
+     * on the common fork/join pool. The migrated project and the entries of the report are the same either way.
+     *
+     * @param concurrentDocumentLocalSteps whether to apply the document-local steps concurrently to each configuration file
+     * @return the builder
+     * @since 1.2.1
+     */
+    public MigrationJobBuilder withConcurrentDocumentLocalSteps(boolean concurrentDocumentLocalSteps) {
+      this.concurrentDocumentLocalSteps = concurrentDocumentLocalSteps;
+      return this;
+    }
+
     public MigrationJob build() throws Exception {
       checkState(project != null, "The project must not be null");
       if (!project.toFile().exists()) {
@@ -307,7 +399,9 @@ public class MigrationJob implements Executable {
       migrationTasks = migrationTaskLocator.locate();
 
       return new MigrationJob(project, parentDomainProject, outputProject, migrationTasks, outputVersion.toString(),
-                              this.cancelOnError, this.projectParentGAV, this.projectGAV, this.jsonReportEnabled);
+                              this.cancelOnError, this.projectParentGAV, this.projectGAV, this.jsonReportEnabled,
+                              this.persistCheckpoints, this.profilingEnabled, this.fusedStepDispatch,
+                              this.concurrentDocumentLocalSteps);
     }
   }
 
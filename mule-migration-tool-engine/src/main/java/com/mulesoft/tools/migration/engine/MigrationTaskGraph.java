@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.engine;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.mulesoft.tools.migration.task.MigrationTask;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * The order in which some migration tasks have to run, given the namespaces each one reads and writes and the explicit
+ * constraints between them.
+ * <p>
+ * Two tasks depend on each other when either of them does not declare its namespaces, or when one writes a namespace the other
+ * reads or writes. Dependent tasks run in the order they were given in, unless explicitly ordered the other way. A task with
+ * explicit constraints is moved past the tasks that do not declare their namespaces to satisfy them, but never past a task it
+ * depends on according to the namespaces both of them declare.
+ *
+ * @author Mulesoft Inc.
+ * @since 1.2.1
+ */
+final class MigrationTaskGraph<T extends MigrationTask> {
+
+  private final List<T> tasks;
+  private final BitSet[] successors;
+
+  /**
+   * @param tasks the tasks to run, in the order they run in when no constraint says otherwise
+   * @throws IllegalStateException if the explicit constraints contradict each other, or the order of some tasks that declare a
+   *         dependency between them
+   */
+  MigrationTaskGraph(List<T> tasks) {
+    this.tasks = new ArrayList<>(tasks);
+    this.successors = new BitSet[tasks.size()];
+    for (int i = 0; i < successors.length; ++i) {
+      successors[i] = new BitSet(successors.length);
+    }
+
+    addExplicitConstraints();
+    BitSet[] explicitlyAfter = transitiveClosure();
+    checkAcyclic(explicitlyAfter, "The tasks that %s has to run before or after are contradictory");
+
+    for (int i = 0; i < successors.length; ++i) {
+      for (int j = i + 1; j < successors.length; ++j) {
+        if (!declaresNamespaces(this.tasks.get(i)) || !declaresNamespaces(this.tasks.get(j))
+            || !dependOnEachOther(this.tasks.get(i), this.tasks.get(j))) {
+          continue;
+        }
+        if (explicitlyAfter[j].get(i)) {
+          successors[j].set(i);
+        } else {
+          successors[i].set(j);
+        }
+      }
+    }
+    BitSet[] after = transitiveClosure();
+    checkAcyclic(after, "The tasks that %s has to run before or after contradict the order of the tasks it depends on");
+
+    // The tasks that declare explicit constraints are ordered last, and the tasks they refer to right before them, so the former
+    // are the ones moved past the tasks in between
+    int[] ranks = new int[successors.length];
+    for (int i = 0; i < successors.length; ++i) {
+      if (hasExplicitConstraints(tasks.get(i))) {
+        ranks[i] = 2;
+      } else if (!explicitlyAfter[i].isEmpty() || isExplicitlyAfterAny(explicitlyAfter, i)) {
+        ranks[i] = 1;
+      }
+    }
+    for (int rank = 0; rank <= 2; ++rank) {
+      addListedOrder(after, ranks, rank);
+    }
+  }
+
+  private static boolean isExplicitlyAfterAny(BitSet[] explicitlyAfter, int i) {
+    for (BitSet taskExplicitlyAfter : explicitlyAfter) {
+      if (taskExplicitlyAfter.get(i)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void checkAcyclic(BitSet[] after, String errorMessageTemplate) {
+    for (int i = 0; i < successors.length; ++i) {
+      checkState(!after[i].get(i), errorMessageTemplate, describe(tasks.get(i)));
+    }
+  }
+
+  /**
+   * Orders the dependent tasks that do not declare their namespaces in the order they were given in, unless they are already
+   * ordered the other way.
+   */
+  private void addListedOrder(BitSet[] after, int[] ranks, int rank) {
+    for (int i = 0; i < successors.length; ++i) {
+      for (int j = i + 1; j < successors.length; ++j) {
+        if (declaresNamespaces(tasks.get(i)) && declaresNamespaces(tasks.get(j))
+            || Math.max(ranks[i], ranks[j]) != rank
+            || after[i].get(j) || after[j].get(i)) {
+          continue;
+        }
+        successors[i].set(j);
+        for (int k = 0; k < successors.length; ++k) {
+          if (k == i || after[k].get(i)) {
+            after[k].set(j);
+            after[k].or(after[j]);
+          }
+        }
+      }
+    }
+  }
+
+  private void addExplicitConstraints() {
+    for (int i = 0; i < successors.length; ++i) {
+      for (Class<? extends MigrationTask> runAfter : tasks.get(i).getRunAfterTasks()) {
+        for (int j : indexesOf(runAfter)) {
+          successors[j].set(i);
+        }
+      }
+      for (Class<? extends MigrationTask> runBefore : tasks.get(i).getRunBeforeTasks()) {
+        for (int j : indexesOf(runBefore)) {
+          successors[i].set(j);
+        }
+      }
+    }
+  }
+
+  private List<Integer> indexesOf(Class<? extends MigrationTask> taskType) {
+    List<Integer> indexes = new ArrayList<>();
+    for (int i = 0; i < tasks.size(); ++i) {
+      if (taskType.isInstance(tasks.get(i))) {
+        indexes.add(i);
+      }
+    }
+    return indexes;
+  }
+
+  private BitSet[] transitiveClosure() {
+    BitSet[] reachable = new BitSet[successors.length];
+    for (int i = 0; i < successors.length; ++i) {
+      reachable[i] = (BitSet) successors[i].clone();
+    }
+    // Floyd-Warshall over the reachability relation
+    for (int k = 0; k < successors.length; ++k) {
+      for (int i = 0; i < successors.length; ++i) {
+        if (reachable[i].get(k)) {
+          reachable[i].or(reachable[k]);
+        }
+      }
+    }
+    return reachable;
+  }
+
+  private static boolean hasExplicitConstraints(MigrationTask task) {
+    return !task.getRunAfterTasks().isEmpty() || !task.getRunBeforeTasks().isEmpty();
+  }
+
+  private static boolean declaresNamespaces(MigrationTask task) {
+    return task.getReadNamespaces() != null && task.getWrittenNamespaces() != null;
+  }
+
+  private static boolean dependOnEachOther(MigrationTask task, MigrationTask other) {
+    if (!declaresNamespaces(task) || !declaresNamespaces(other)) {
+      return true;
+    }
+    return writesAnyOf(task, other.getReadNamespaces()) || writesAnyOf(task, other.getWrittenNamespaces())
+        || writesAnyOf(other, task.getReadNamespaces());
+  }
+
+  private static boolean writesAnyOf(MigrationTask task, Set<String> namespaces) {
+    Set<String> written = new HashSet<>(task.getWrittenNamespaces());
+    written.retainAll(namespaces);
+    return !written.isEmpty();
+  }
+
+  /**
+   * @return the tasks in the order to run them: each one after the ones it depends on, and otherwise in the order they were
+   *         given in
+   */
+  List<T> sort() {
+    int[] pendingPredecessors = new int[successors.length];
+    for (BitSet taskSuccessors : successors) {
+      taskSuccessors.stream().forEach(j -> ++pendingPredecessors[j]);
+    }
+
+    PriorityQueue<Integer> ready = new PriorityQueue<>();
+    for (int i = 0; i < successors.length; ++i) {
+      if (pendingPredecessors[i] == 0) {
+        ready.add(i);
+      }
+    }
+
+    List<T> sorted = new ArrayList<>(successors.length);
+    while (!ready.isEmpty()) {
+      int i = ready.remove();
+      sorted.add(tasks.get(i));
+      successors[i].stream().forEach(j -> {
+        if (--pendingPredecessors[j] == 0) {
+          ready.add(j);
+        }
+      });
+    }
+    return sorted;
+  }
+
+  private static String describe(MigrationTask task) {
+    return task.getClass().getSimpleName();
+  }
+}
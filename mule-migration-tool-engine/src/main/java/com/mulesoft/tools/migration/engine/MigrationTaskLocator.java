@@ -75,6 +75,9 @@ import static java.lang.Boolean.TRUE;
 
 /**
  * The goal of this class is to locate migration tasks
+ * <p>
+ * The tasks run in the order they are listed in, except where the namespaces they declare to read and write, or the tasks they
+ * declare to run before or after, say otherwise.
  *
  * @author Mulesoft Inc.
  */
@@ -96,7 +99,8 @@ public class MigrationTaskLocator {
     migrationTasks.addAll(getCoreMigrationTasks());
     migrationTasks.addAll(getGatewayMigrationTasks());
     migrationTasks.addAll(getCoreAfterMigrationTasks());
-    return migrationTasks.stream().filter(mt -> shouldNotFilterTask(mt)).collect(Collectors.toList());
+    return new MigrationTaskGraph<>(migrationTasks.stream().filter(mt -> shouldNotFilterTask(mt)).collect(Collectors.toList()))
+        .sort();
   }
 
   private Boolean shouldNotFilterTask(MigrationTask migrationTask) {
@@ -164,7 +168,6 @@ public class MigrationTaskLocator {
 
     coreMigrationTasks.add(new ApikitMigrationTask());
     coreMigrationTasks.add(new SoapkitMigrationTask());
-    // Spring has to run after MUnit, since MUnit in Mule 3 has some custom spring components that are removed by the migrator
 
     return coreMigrationTasks;
   }
@@ -173,8 +176,6 @@ public class MigrationTaskLocator {
     List<AbstractMigrationTask> coreMigrationTasks = new ArrayList<>();
 
     coreMigrationTasks.add(new FiltersMigrationTask());
-
-    // Spring has to run after MUnit, since MUnit in Mule 3 has some custom spring components that are removed by the migrator
     coreMigrationTasks.add(new SpringMigrationTask());
     coreMigrationTasks.add(new HTTPCleanupTask());
     coreMigrationTasks.add(new MigrationCleanTask());
@@ -6,11 +6,11 @@
 package com.mulesoft.tools.migration.engine.project.structure;
 
 import static com.mulesoft.tools.migration.engine.project.ProjectMatcher.getProjectDestination;
+import static com.mulesoft.tools.migration.engine.project.structure.ConfigFileOutputProcessor.getConfigFileFormat;
 import static com.mulesoft.tools.migration.project.ProjectType.MULE_THREE_APPLICATION;
 import static com.mulesoft.tools.migration.project.ProjectType.MULE_THREE_MAVEN_APPLICATION;
 import static java.nio.file.Files.exists;
 import static org.apache.commons.io.FileUtils.moveFileToDirectory;
-import static org.jdom2.output.Format.getPrettyFormat;
 import static org.jdom2.output.LineSeparator.NL;
 
 import com.mulesoft.tools.migration.engine.exception.MigrationJobException;
@@ -25,6 +25,7 @@ import com.mulesoft.tools.migration.engine.project.structure.util.CopyFileVisito
 import com.mulesoft.tools.migration.project.ProjectType;
 import com.mulesoft.tools.migration.project.model.ApplicationModel;
 import com.mulesoft.tools.migration.project.model.artifact.MuleArtifactJsonModel;
+import com.mulesoft.tools.migration.project.model.pom.PomModel;
 
 import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
@@ -50,14 +51,14 @@ import org.jdom2.input.SAXBuilder;
 import org.jdom2.output.XMLOutputter;
 
 /**
- * Will save all the changes applied on the application after each task execution
+ * Will save all the changes applied on the application once the migration tasks are executed
  *
  * @author Mulesoft Inc.
  * @since 1.0.0
  */
 public class ApplicationPersister {
 
-  private static ProjectTypeFactory projectFactory = new ProjectTypeFactory();
+  private final ProjectTypeFactory projectFactory = new ProjectTypeFactory();
 
   private ApplicationModel appModel;
   private Path outputAppPath;
@@ -138,36 +139,50 @@ public class ApplicationPersister {
   }
 
   private void persistConfigFiles() throws Exception {
+    XMLOutputter configFileOutputter = new XMLOutputter(getConfigFileFormat(), new ConfigFileOutputProcessor());
+
     for (Map.Entry<Path, Document> entry : appModel.getApplicationDocuments().entrySet()) {
       Path originalFilePath = entry.getKey();
       Path targetFilePath = getTargetFilePath(originalFilePath);
 
       Document document = entry.getValue();
+      if (isUnchanged(appModel.isModified(document), targetFilePath)) {
+        continue;
+      }
 
-      XMLOutputter xmlOutputter = new XMLOutputter(getPrettyFormat().setIndent("    "));
-      ByteArrayOutputStream preFromattedOutput = new ByteArrayOutputStream();
-      xmlOutputter.output(document, preFromattedOutput);
+      File targetFile = targetFilePath.toFile();
+      targetFile.getParentFile().mkdirs();
+      try (OutputStream output = new FileOutputStream(targetFile)) {
+        if (document.getDocType() == null) {
+          configFileOutputter.output(document, output);
+        } else {
+          // The parser rewrites the internal subset of the doctype, so it has to be reparsed to get the same output
+          new XMLOutputter().output(reformat(document), output);
+        }
+      }
+    }
+  }
 
-      SAXBuilder saxBuilder = new SAXBuilder();
-      Document finalDocument = saxBuilder.build(new ByteArrayInputStream(preFromattedOutput.toByteArray()));
+  private Document reformat(Document document) throws Exception {
+    ByteArrayOutputStream preFromattedOutput = new ByteArrayOutputStream();
+    new XMLOutputter(getConfigFileFormat()).output(document, preFromattedOutput);
 
-      // Add empty lines between top level elements, as requested by our beloved PM <3
-      new LinkedList<>(finalDocument.getRootElement().getChildren()).descendingIterator().forEachRemaining(c -> {
-        finalDocument.getRootElement().addContent(finalDocument.getRootElement().indexOf(c) + 1,
-                                                  new Text(NL.value()));
+    SAXBuilder saxBuilder = new SAXBuilder();
+    Document finalDocument = saxBuilder.build(new ByteArrayInputStream(preFromattedOutput.toByteArray()));
 
-        if ("flow".equals(c.getName())) {
-          new LinkedList<>(c.getChildren()).descendingIterator().forEachRemaining(fc -> {
-            c.addContent(c.indexOf(fc) + 1, new Text(NL.value()));
-          });
-        }
-      });
-      finalDocument.getRootElement().addContent(0, new Text(NL.value()));
+    // Add empty lines between top level elements, as requested by our beloved PM <3
+    new LinkedList<>(finalDocument.getRootElement().getChildren()).descendingIterator().forEachRemaining(c -> {
+      finalDocument.getRootElement().addContent(finalDocument.getRootElement().indexOf(c) + 1,
+                                                new Text(NL.value()));
 
-      File targetFile = targetFilePath.toFile();
-      targetFile.getParentFile().mkdirs();
-      new XMLOutputter().output(finalDocument, new FileOutputStream(targetFile));
-    }
+      if ("flow".equals(c.getName())) {
+        new LinkedList<>(c.getChildren()).descendingIterator().forEachRemaining(fc -> {
+          c.addContent(c.indexOf(fc) + 1, new Text(NL.value()));
+        });
+      }
+    });
+    finalDocument.getRootElement().addContent(0, new Text(NL.value()));
+    return finalDocument;
   }
 
   private Path getTargetFilePath(Path originalFilePath) throws MigrationJobException {
@@ -204,11 +219,27 @@ public class ApplicationPersister {
     }
   }
 
+  /**
+   * Whether the file for a part of the model can be left as is, because the model was read from the output project and the
+   * part wasn't changed since.
+   *
+   * @param modified whether the part of the model was modified
+   * @param targetFilePath the file the part of the model is written to
+   */
+  private boolean isUnchanged(boolean modified, Path targetFilePath) {
+    return !modified && exists(targetFilePath)
+        && appModel.getProjectBasePath().toAbsolutePath().normalize().equals(outputAppPath.toAbsolutePath().normalize());
+  }
+
   private void persistMuleArtifactJson() throws IOException {
     Optional<MuleArtifactJsonModel> muleArtifactJsonModel = appModel.getMuleArtifactJsonModel();
     if (muleArtifactJsonModel.isPresent() && projectOutput instanceof MuleFourApplication) {
-      String jsonContent = appModel.getMuleArtifactJsonModel().get().toString();
-      File outputFile = ((MuleFourApplication) projectOutput).muleArtifactJson().toFile();
+      Path outputFilePath = ((MuleFourApplication) projectOutput).muleArtifactJson();
+      if (isUnchanged(muleArtifactJsonModel.get().isModified(), outputFilePath)) {
+        return;
+      }
+      String jsonContent = muleArtifactJsonModel.get().toString();
+      File outputFile = outputFilePath.toFile();
       try (FileWriter fileWriter = new FileWriter(outputFile)) {
         fileWriter.write(jsonContent);
       }
@@ -243,9 +274,14 @@ public class ApplicationPersister {
   private void persistPom() throws Exception {
     MavenXpp3Writer mavenWriter = new MavenXpp3Writer();
     Path pomLocation = ((MavenProject) projectOutput).pom();
-    BufferedWriter writer = new BufferedWriter(new FileWriter(pomLocation.toFile()));
-    if (appModel.getPomModel().isPresent()) {
-      mavenWriter.write(writer, appModel.getPomModel().get().getMavenModelCopy());
+    Optional<PomModel> pomModel = appModel.getPomModel();
+    if (pomModel.isPresent() && isUnchanged(pomModel.get().isModified(), pomLocation)) {
+      return;
+    }
+    try (BufferedWriter writer = new BufferedWriter(new FileWriter(pomLocation.toFile()))) {
+      if (pomModel.isPresent()) {
+        mavenWriter.write(writer, pomModel.get().getMavenModelCopy());
+      }
     }
   }
 
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.engine.project.structure;
+
+import static org.jdom2.output.Format.getPrettyFormat;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import org.jdom2.Attribute;
+import org.jdom2.Comment;
+import org.jdom2.Content;
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.jdom2.ProcessingInstruction;
+import org.jdom2.output.Format;
+import org.jdom2.output.Format.TextMode;
+import org.jdom2.output.support.AbstractXMLOutputProcessor;
+import org.jdom2.output.support.FormatStack;
+import org.jdom2.output.support.Walker;
+import org.jdom2.util.NamespaceStack;
+
+/**
+ * Pretty prints the configuration files of the migrated application, leaving an empty line between the top level elements and
+ * between the components of each flow.
+ * <p>
+ * The output is the same as pretty printing the document, parsing that output again and printing it raw after adding the empty
+ * lines to the parsed document, but it is written in a single pass. That is why line breaks within comments, CDATA sections and
+ * processing instructions are normalized as an XML parser would do, and why nothing is printed between the document level nodes.
+ *
+ * @author Mulesoft Inc.
+ * @since 1.2.1
+ */
+final class ConfigFileOutputProcessor extends AbstractXMLOutputProcessor {
+
+  /**
+   * @return the format to use along with this processor
+   */
+  static Format getConfigFileFormat() {
+    return getPrettyFormat().setIndent("    ");
+  }
+
+  @Override
+  protected void printDocument(Writer out, FormatStack fstack, NamespaceStack nstack, Document doc) throws IOException {
+    printDeclaration(out, fstack);
+
+    for (Content content : doc.getContent()) {
+      switch (content.getCType()) {
+        case Comment:
+          printComment(out, fstack, (Comment) content);
+          break;
+        case Element:
+          printElement(out, fstack, nstack, (Element) content);
+          break;
+        case ProcessingInstruction:
+          printProcessingInstruction(out, fstack, (ProcessingInstruction) content);
+          break;
+        default:
+          // the doctype is not supported, nothing else may be in the document level
+      }
+    }
+
+    write(out, fstack.getLineSeparator());
+  }
+
+  @Override
+  protected void printElement(Writer out, FormatStack fstack, NamespaceStack nstack, Element element) throws IOException {
+    if (element.isRootElement()) {
+      printRootElement(out, fstack, nstack, element);
+      return;
+    }
+
+    super.printElement(out, fstack, nstack, element);
+
+    // Add empty lines between top level elements and flow components, as requested by our beloved PM <3
+    Element parent = element.getParentElement();
+    if (parent.isRootElement() || ("flow".equals(parent.getName()) && parent.getParentElement().isRootElement())) {
+      write(out, fstack.getLineSeparator());
+    }
+  }
+
+  /**
+   * Same as {@link #printElement(Writer, FormatStack, NamespaceStack, Element)} with an empty line after the opening tag, which
+   * is printed even if the root element has no content.
+   */
+  private void printRootElement(Writer out, FormatStack fstack, NamespaceStack nstack, Element element) throws IOException {
+    nstack.push(element);
+    try {
+      write(out, "<");
+      write(out, element.getQualifiedName());
+      for (Namespace ns : nstack.addedForward()) {
+        printNamespace(out, fstack, ns);
+      }
+      if (element.hasAttributes()) {
+        for (Attribute attribute : element.getAttributes()) {
+          printAttribute(out, fstack, attribute);
+        }
+      }
+      write(out, ">");
+      write(out, fstack.getLineSeparator());
+
+      fstack.push();
+      try {
+        String space = element.getAttributeValue("space", Namespace.XML_NAMESPACE);
+        if ("default".equals(space)) {
+          fstack.setTextMode(fstack.getDefaultMode());
+        } else if ("preserve".equals(space)) {
+          fstack.setTextMode(TextMode.PRESERVE);
+        }
+
+        Walker walker = buildWalker(fstack, element.getContent(), true);
+        if (walker.hasNext()) {
+          if (!walker.isAllText()) {
+            textRaw(out, fstack.getPadBetween());
+          }
+          printContent(out, fstack, nstack, walker);
+          if (!walker.isAllText()) {
+            textRaw(out, fstack.getPadLast());
+          }
+        }
+      } finally {
+        fstack.pop();
+      }
+
+      write(out, "</");
+      write(out, element.getQualifiedName());
+      write(out, ">");
+    } finally {
+      nstack.pop();
+    }
+  }
+
+  @Override
+  protected void printComment(Writer out, FormatStack fstack, Comment comment) throws IOException {
+    write(out, "<!--");
+    write(out, normalizeLineBreaks(comment.getText()));
+    write(out, "-->");
+  }
+
+  @Override
+  protected void printProcessingInstruction(Writer out, FormatStack fstack, ProcessingInstruction pi) throws IOException {
+    if (pi.getData().indexOf('\r') >= 0) {
+      pi = new ProcessingInstruction(pi.getTarget(), normalizeLineBreaks(pi.getData()));
+    }
+    super.printProcessingInstruction(out, fstack, pi);
+  }
+
+  @Override
+  protected void textCDATA(Writer out, String text) throws IOException {
+    super.textCDATA(out, normalizeLineBreaks(text));
+  }
+
+  private static String normalizeLineBreaks(String text) {
+    if (text.indexOf('\r') < 0) {
+      return text;
+    }
+    return text.replace("\r\n", "\n").replace('\r', '\n');
+  }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.report;
+
+import static java.lang.management.ManagementFactory.getThreadMXBean;
+
+import com.mulesoft.tools.migration.project.model.ApplicationModel;
+import com.mulesoft.tools.migration.step.MigrationStep;
+import com.mulesoft.tools.migration.task.MigrationProfiler;
+import com.mulesoft.tools.migration.task.MigrationTask;
+
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the wall time, CPU time, allocated bytes, matched nodes and XPath queries of each task and step of a migration.
+ * <p>
+ * CPU time and allocated bytes are measured on the thread that runs each task, adding those of the parts of its steps run on
+ * other threads. They are {@code -1} if the JVM doesn't support measuring them.
+ *
+ * @author Mulesoft Inc.
+ * @since 1.2.1
+ */
+public class DefaultMigrationProfiler implements MigrationProfiler {
+
+  private static final ThreadMXBean THREAD_MX_BEAN = getThreadMXBean();
+
+  private final List<TaskProfile> taskProfiles = new ArrayList<>();
+
+  private TaskProfile currentTask;
+  private Sample taskStart;
+  private Sample stepStart;
+  // The cost of the parts of the current step run on other threads, and of those of the steps of the current task
+  private final LongAdder stepConcurrentCpuTime = new LongAdder();
+  private final LongAdder stepConcurrentAllocatedBytes = new LongAdder();
+  private long taskConcurrentCpuTime;
+  private long taskConcurrentAllocatedBytes;
+
+  @Override
+  public void taskStarted(MigrationTask task) {
+    currentTask = new TaskProfile(task.getClass().getName(), task.getDescription());
+    taskProfiles.add(currentTask);
+    taskStart = new Sample(task.getApplicationModel());
+    taskConcurrentCpuTime = 0;
+    taskConcurrentAllocatedBytes = 0;
+  }
+
+  @Override
+  public void taskFinished(MigrationTask task) {
+    currentTask.record(taskStart, new Sample(task.getApplicationModel()),
+                       currentTask.steps.stream().mapToLong(StepProfile::getNodesMatched).sum());
+    currentTask.addConcurrentCost(taskConcurrentCpuTime, taskConcurrentAllocatedBytes);
+    currentTask = null;
+  }
+
+  @Override
+  public void stepStarted(MigrationTask task, MigrationStep step) {
+    stepStart = new Sample(task.getApplicationModel());
+    stepConcurrentCpuTime.reset();
+    stepConcurrentAllocatedBytes.reset();
+  }
+
+  @Override
+  public void stepFinished(MigrationTask task, MigrationStep step, int nodesMatched) {
+    StepProfile stepProfile = new StepProfile(step.getClass().getName());
+    stepProfile.record(stepStart, new Sample(task.getApplicationModel()), nodesMatched);
+    long concurrentCpuTime = stepConcurrentCpuTime.sum();
+    long concurrentAllocatedBytes = stepConcurrentAllocatedBytes.sum();
+    stepProfile.addConcurrentCost(concurrentCpuTime, concurrentAllocatedBytes);
+    taskConcurrentCpuTime += concurrentCpuTime;
+    taskConcurrentAllocatedBytes += concurrentAllocatedBytes;
+    currentTask.steps.add(stepProfile);
+  }
+
+  @Override
+  public Runnable concurrentPart(MigrationTask task, MigrationStep step, Runnable part) {
+    Thread stepThread = Thread.currentThread();
+    return () -> {
+      if (Thread.currentThread() == stepThread) {
+        // Already measured along with the rest of the step
+        part.run();
+        return;
+      }
+      Sample start = new Sample(null);
+      try {
+        part.run();
+      } finally {
+        Sample end = new Sample(null);
+        if (start.cpuTime >= 0 && end.cpuTime >= 0) {
+          stepConcurrentCpuTime.add(end.cpuTime - start.cpuTime);
+        }
+        if (start.allocatedBytes >= 0 && end.allocatedBytes >= 0) {
+          stepConcurrentAllocatedBytes.add(end.allocatedBytes - start.allocatedBytes);
+        }
+      }
+    };
+  }
+
+  /**
+   * @return the profile of each of the tasks executed so far, in execution order
+   */
+  public List<TaskProfile> getTaskProfiles() {
+    return taskProfiles;
+  }
+
+  /**
+   * The measures taken at some point of the execution.
+   */
+  private static final class Sample {
+
+    private final long wallTime;
+    private final long cpuTime;
+    private final long allocatedBytes;
+    private final long xpathEvaluations;
+
+    private Sample(ApplicationModel applicationModel) {
+      wallTime = System.nanoTime();
+      cpuTime = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : -1;
+      allocatedBytes = getCurrentThreadAllocatedBytes();
+      xpathEvaluations = applicationModel != null ? applicationModel.getXPathEvaluations() : 0;
+    }
+
+    private static long getCurrentThreadAllocatedBytes() {
+      if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+        if (threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled()) {
+          return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+      }
+      return -1;
+    }
+  }
+
+  /**
+   * The measures of the execution of a task or step.
+   */
+  public static class ExecutionProfile {
+
+    private long wallTimeNanos;
+    private long cpuTimeNanos;
+    private long allocatedBytes;
+    private long nodesMatched;
+    private long xpathEvaluations;
+
+    void record(Sample start, Sample end, long nodesMatched) {
+      this.wallTimeNanos = end.wallTime - start.wallTime;
+      this.cpuTimeNanos = start.cpuTime < 0 || end.cpuTime < 0 ? -1 : end.cpuTime - start.cpuTime;
+      this.allocatedBytes = start.allocatedBytes < 0 || end.allocatedBytes < 0 ? -1 : end.allocatedBytes - start.allocatedBytes;
+      this.nodesMatched = nodesMatched;
+      this.xpathEvaluations = end.xpathEvaluations - start.xpathEvaluations;
+    }
+
+    void addConcurrentCost(long cpuTimeNanos, long allocatedBytes) {
+      if (this.cpuTimeNanos >= 0) {
+        this.cpuTimeNanos += cpuTimeNanos;
+      }
+      if (this.allocatedBytes >= 0) {
+        this.allocatedBytes += allocatedBytes;
+      }
+    }
+
+    public long getWallTimeNanos() {
+      return wallTimeNanos;
+    }
+
+    public long getCpuTimeNanos() {
+      return cpuTimeNanos;
+    }
+
+    public long getAllocatedBytes() {
+      return allocatedBytes;
+    }
+
+    public long getNodesMatched() {
+      return nodesMatched;
+    }
+
+    public long getXPathEvaluations() {
+      return xpathEvaluations;
+    }
+  }
+
+  /**
+   * The measures of the execution of a task, along with those of its steps.
+   */
+  public static class TaskProfile extends ExecutionProfile {
+
+    private final String task;
+    private final String description;
+    private final List<StepProfile> steps = new ArrayList<>();
+
+    private TaskProfile(String task, String description) {
+      this.task = task;
+      this.description = description;
+    }
+
+    public String getTask() {
+      return task;
+    }
+
+    public String getDescription() {
+      return description;
+    }
+
+    public List<StepProfile> getSteps() {
+      return steps;
+    }
+  }
+
+  /**
+   * The measures of the execution of a step.
+   */
+  public static class StepProfile extends ExecutionProfile {
+
+    private final String step;
+
+    private StepProfile(String step) {
+      this.step = step;
+    }
+
+    public String getStep() {
+      return step;
+    }
+  }
+}
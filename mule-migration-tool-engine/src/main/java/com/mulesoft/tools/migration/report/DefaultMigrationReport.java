@@ -20,15 +20,21 @@ import java.io.InputStream;
 import java.net.URL;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import static com.google.common.base.Throwables.throwIfUnchecked;
 import static com.mulesoft.tools.migration.step.category.MigrationReport.Level.ERROR;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.list;
 
 /**
  * Default implementation of a {@link MigrationReport}.
+ * <p>
+ * It can be fed from many threads at once. The entries are kept in the order they are reported, except for the ones reported
+ * by parts of some work {@link #runConcurrently(List, ForkJoinPool) run concurrently}, which are kept in the order of the parts.
  *
  * @author Mulesoft Inc.
  * @since 1.0.0
@@ -36,10 +42,17 @@ import static java.util.Collections.list;
 public class DefaultMigrationReport implements MigrationReport<ReportEntryModel> {
 
   public static final Pattern WORD_MESSAGE_REPLACEMENT_EXPRESSION = Pattern.compile("\\{\\w*\\}");
+
+  // The definitions are read-only once loaded, so they are parsed just once and shared by all the reports created in this JVM
+  private static volatile Map<String, Map<String, Map<String, Object>>> reportEntriesDefinitions;
+
   private transient Map<String, Map<String, Map<String, Object>>> possibleEntries;
 
   private transient XMLOutputter outp = new XMLOutputter();
-  private final Set<ReportEntryModel> reportEntries = new HashSet<>();
+  private final Set<ReportEntryModel> reportEntries = new LinkedHashSet<>();
+  // The entries reported by the parts of some work being run concurrently, until all the parts finish
+  private final transient Set<ReportEntryModel> pendingReportEntries = new HashSet<>();
+  private final transient ThreadLocal<List<ReportEntryModel>> partReportEntries = new ThreadLocal<>();
 
   private String projectType;
   private String projectName;
@@ -50,16 +63,32 @@ public class DefaultMigrationReport implements MigrationReport<ReportEntryModel>
 
 
   public DefaultMigrationReport() {
-    possibleEntries = new HashMap<>();
+    possibleEntries = getReportEntriesDefinitions();
+  }
+
+  private static Map<String, Map<String, Map<String, Object>>> getReportEntriesDefinitions() {
+    if (reportEntriesDefinitions == null) {
+      synchronized (DefaultMigrationReport.class) {
+        if (reportEntriesDefinitions == null) {
+          reportEntriesDefinitions = loadReportEntriesDefinitions();
+        }
+      }
+    }
+    return reportEntriesDefinitions;
+  }
+
+  private static Map<String, Map<String, Map<String, Object>>> loadReportEntriesDefinitions() {
+    Map<String, Map<String, Map<String, Object>>> definitions = new HashMap<>();
     try {
       for (URL reportYamlUrl : list(DefaultMigrationReport.class.getClassLoader().getResources("report.yaml"))) {
         try (InputStream yamlStream = reportYamlUrl.openStream()) {
-          possibleEntries.putAll(new Yaml().loadAs(yamlStream, Map.class));
+          definitions.putAll(new Yaml().loadAs(yamlStream, Map.class));
         }
       }
     } catch (IOException e) {
       throw new MigrationAbortException("Couldn't load report entries definitions.", e);
     }
+    return definitions;
   }
 
   @Override
@@ -110,7 +139,7 @@ public class DefaultMigrationReport implements MigrationReport<ReportEntryModel>
         reportEntry = new ReportEntryModel(level, elementToComment, message, element.getDocument(), documentationLinks);
       }
 
-      if (reportEntries.add(reportEntry)) {
+      if (addReportEntry(reportEntry)) {
         if (elementToComment != null) {
           elementToComment.addContent(i++, new Comment("Migration " + level.name() + ": " + message));
 
@@ -132,8 +161,71 @@ public class DefaultMigrationReport implements MigrationReport<ReportEntryModel>
 
   }
 
+  private boolean addReportEntry(ReportEntryModel reportEntry) {
+    List<ReportEntryModel> partEntries = partReportEntries.get();
+    synchronized (this) {
+      if (partEntries == null) {
+        return reportEntries.add(reportEntry);
+      }
+      if (reportEntries.contains(reportEntry) || !pendingReportEntries.add(reportEntry)) {
+        return false;
+      }
+    }
+    partEntries.add(reportEntry);
+    return true;
+  }
+
+  @Override
+  public void runConcurrently(List<Runnable> parts, ForkJoinPool pool) {
+    List<List<ReportEntryModel>> partsEntries = new ArrayList<>(parts.size());
+    // The failures are kept as thrown, the pool would wrap them when joining
+    Throwable[] partsFailures = new Throwable[parts.size()];
+    List<ForkJoinTask<?>> partTasks = new ArrayList<>(parts.size());
+    for (int i = 0; i < parts.size(); ++i) {
+      Runnable part = parts.get(i);
+      List<ReportEntryModel> partEntries = new ArrayList<>();
+      partsEntries.add(partEntries);
+      int partIndex = i;
+      partTasks.add(pool.submit(() -> {
+        try {
+          runPart(part, partEntries);
+        } catch (Throwable t) {
+          partsFailures[partIndex] = t;
+        }
+      }));
+    }
+
+    partTasks.forEach(ForkJoinTask::join);
+    Throwable failure = Arrays.stream(partsFailures).filter(Objects::nonNull).findFirst().orElse(null);
+    synchronized (this) {
+      for (List<ReportEntryModel> partEntries : partsEntries) {
+        reportEntries.addAll(partEntries);
+        pendingReportEntries.removeAll(partEntries);
+      }
+    }
+    if (failure != null) {
+      throwIfUnchecked(failure);
+      throw new RuntimeException(failure);
+    }
+  }
+
+  private void runPart(Runnable part, List<ReportEntryModel> partEntries) {
+    // A part may run nested in another one, if the thread running it joins some other task
+    List<ReportEntryModel> outerPartEntries = partReportEntries.get();
+    partReportEntries.set(partEntries);
+    try {
+      part.run();
+    } finally {
+      if (outerPartEntries == null) {
+        partReportEntries.remove();
+      } else {
+        partReportEntries.set(outerPartEntries);
+      }
+    }
+  }
+
   @Override
-  public void addProcessedElements(int processedElements) {
+  public synchronized void addProcessedElements(int processedElements) {
     this.processedElements += processedElements;
     this.successfulMigrationRatio = (1.0 * (this.processedElements - reportEntries.stream()
         .filter(re -> re.getElement() != null && !"compatibility".equals(re.getElement().getNamespacePrefix()))
@@ -144,7 +236,7 @@ public class DefaultMigrationReport implements MigrationReport<ReportEntryModel>
   }
 
   @Override
-  public void updateReportEntryFilePath(Path oldFileName, Path newFileName) {
+  public synchronized void updateReportEntryFilePath(Path oldFileName, Path newFileName) {
     reportEntries.stream().filter(e -> oldFileName.toString().equals(e.getFilePath()))
         .forEach(r -> r.setFilePath(newFileName.toString()));
   }
@@ -158,7 +250,7 @@ public class DefaultMigrationReport implements MigrationReport<ReportEntryModel>
   }
 
   @Override
-  public List<ReportEntryModel> getReportEntries() {
+  public synchronized List<ReportEntryModel> getReportEntries() {
     return new ArrayList<>(this.reportEntries);
   }
 
@@ -6,6 +6,7 @@
 package com.mulesoft.tools.migration.report.html.model;
 
 import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.groupingBy;
 import static org.apache.commons.lang3.StringUtils.containsIgnoreCase;
 import static org.apache.commons.text.StringEscapeUtils.escapeXml11;
 
@@ -15,7 +16,6 @@ import com.mulesoft.tools.migration.step.category.MigrationReport.Level;
 import org.jdom2.Document;
 import org.jdom2.Element;
 import org.jdom2.Namespace;
-import org.jdom2.filter.Filters;
 import org.jdom2.input.SAXBuilder;
 import org.jdom2.located.LocatedElement;
 import org.jdom2.located.LocatedJDOMFactory;
@@ -24,7 +24,6 @@ import org.jdom2.output.XMLOutputter;
 import org.jdom2.output.support.AbstractXMLOutputProcessor;
 import org.jdom2.output.support.FormatStack;
 import org.jdom2.output.support.XMLOutputProcessor;
-import org.jdom2.xpath.XPathFactory;
 
 import java.io.File;
 import java.io.IOException;
@@ -32,8 +31,12 @@ import java.io.Writer;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -79,22 +82,53 @@ public class ReportEntryModel {
   }
 
   public void setElementLocation() throws Exception {
+    if (filePath != null) {
+      setElementLocation(parseLocated(filePath));
+    }
+  }
+
+  /**
+   * Sets the location of the elements of the given entries in the files they were written to.
+   * <p>
+   * Each file is parsed once for all the entries that refer to it, and different files are parsed in parallel.
+   *
+   * @param entries the report entries to set the element location for
+   * @throws MigrationJobException if any of the files referred to by the entries could not be parsed
+   * @since 1.2.1
+   */
+  public static void setElementsLocation(Collection<ReportEntryModel> entries) throws MigrationJobException {
+    Map<String, List<ReportEntryModel>> entriesByFile = entries.stream()
+        .filter(entry -> entry.getFilePath() != null)
+        .collect(groupingBy(ReportEntryModel::getFilePath));
+
+    try {
+      entriesByFile.entrySet().parallelStream().forEach(fileEntries -> {
+        try {
+          Document document = parseLocated(fileEntries.getKey());
+          fileEntries.getValue().forEach(entry -> entry.setElementLocation(document));
+        } catch (MigrationJobException e) {
+          throw new RuntimeException(e);
+        }
+      });
+    } catch (RuntimeException e) {
+      if (e.getCause() instanceof MigrationJobException) {
+        throw (MigrationJobException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private static Document parseLocated(String filePath) throws MigrationJobException {
     try {
       SAXBuilder saxBuilder = new SAXBuilder();
       saxBuilder.setJDOMFactory(new LocatedJDOMFactory());
-      if (filePath != null) {
-        Document document = saxBuilder.build(Paths.get(filePath).toFile());
-        setElementLocation(document);
-      }
+      return saxBuilder.build(Paths.get(filePath).toFile());
     } catch (Exception ex) {
       throw new MigrationJobException("Failed to obtain new element location.", ex);
     }
   }
 
   private void setElementLocation(Document document) {
-    String xpathExpression = "";
-    Element currentElement = element;
-
     // element may be null of a report entry is not generated for an XML element (such as a DW script in its own DWL file, the
     // pom, etc.).
     if (element == null || element.getDocument() == null) {
@@ -104,23 +138,25 @@ public class ReportEntryModel {
       return;
     }
 
+    // The position of the element in its document, as the index of each of its ancestors among its siblings
+    Deque<Integer> elementPath = new ArrayDeque<>();
+    Element currentElement = element;
     while (currentElement != element.getDocument().getRootElement()) {
-      xpathExpression =
-          "/*[" + (1 + currentElement.getParentElement().getChildren().indexOf(currentElement)) + "]" + xpathExpression;
+      elementPath.push(currentElement.getParentElement().getChildren().indexOf(currentElement));
       currentElement = currentElement.getParentElement();
     }
 
-    xpathExpression = "/*" + xpathExpression;
-
-    List<Element> elements =
-        XPathFactory.instance()
-            .compile(xpathExpression, Filters.element(), null,
-                     document.getRootElement().getAdditionalNamespaces())
-            .evaluate(document);
-    if (elements.size() > 0) {
-      this.lineNumber = ((LocatedElement) elements.get(0)).getLine();
-      this.columnNumber = ((LocatedElement) elements.get(0)).getColumn();
+    Element locatedElement = document.getRootElement();
+    for (int childIndex : elementPath) {
+      List<Element> children = locatedElement.getChildren();
+      if (childIndex >= children.size()) {
+        return;
+      }
+      locatedElement = children.get(childIndex);
     }
+
+    this.lineNumber = ((LocatedElement) locatedElement).getLine();
+    this.columnNumber = ((LocatedElement) locatedElement).getColumn();
   }
 
   private String domElementToString(Element element) {
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.report.json;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.Collections.singletonMap;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mulesoft.tools.migration.report.DefaultMigrationProfiler.TaskProfile;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Generates the JSON profile of a migration, next to the JSON report.
+ *
+ * @author Mulesoft Inc.
+ * @since 1.2.1
+ */
+public class JSONProfile {
+
+  private final List<TaskProfile> taskProfiles;
+  private final File reportDirectory;
+
+  public JSONProfile(List<TaskProfile> taskProfiles, File reportDirectory) {
+    checkNotNull(taskProfiles, "Task profiles cannot be null");
+    checkNotNull(reportDirectory, "Report directory cannot be null");
+    this.taskProfiles = taskProfiles;
+    this.reportDirectory = reportDirectory;
+  }
+
+  public void printProfile() {
+    Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    String json = gson.toJson(singletonMap("tasks", taskProfiles));
+    File file = new File(reportDirectory, "profile.json");
+    try (OutputStreamWriter fileWriter = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+      fileWriter.append(json);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
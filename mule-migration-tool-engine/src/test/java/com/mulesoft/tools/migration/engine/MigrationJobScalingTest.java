@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.engine;
+
+import static com.sun.management.GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION;
+import static java.lang.management.ManagementFactory.getGarbageCollectorMXBeans;
+import static java.lang.management.ManagementFactory.getMemoryMXBean;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+
+import com.mulesoft.tools.migration.report.DefaultMigrationReport;
+import com.mulesoft.tools.migration.tck.SyntheticProjectBuilder;
+import com.mulesoft.tools.migration.tck.SyntheticProjectBuilder.SyntheticProject;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checks that the cost of migrating an application grows linearly with its size.
+ * <p>
+ * The cost per configuration file of migrating synthetic applications 10 and 100 times the size of the base one are compared,
+ * since the fixed costs of a migration still dominate the base size. The applications are migrated both with connector
+ * configurations shared by all the files and declared in each file, since the latter ones go through the migrations that
+ * look up each connector configuration in the whole application.
+ * <p>
+ * The allocations are those of all the threads of the migration, so the ones in the pools used to parse the files and migrate
+ * the expressions are accounted for.
+ * <p>
+ * Since they take long and measure wall time, these tests are only run with the {@code scaling} profile.
+ *
+ * @author Mulesoft Inc.
+ */
+public class MigrationJobScalingTest {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MigrationJobScalingTest.class);
+
+  private static final String MULE_3_VERSION = "3.8.0";
+  private static final String MULE_4_VERSION = "4.2.1";
+
+  private static final int FLOWS_PER_FILE = 5;
+
+  /**
+   * How much more each configuration file may cost to migrate at 100x than at 10x, to allow for measuring noise and the JIT.
+   */
+  private static final double MAX_COST_GROWTH = 2.5;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void migrationCostGrowsLinearlyWithSharedConnectors() throws Exception {
+    assertMigrationCostGrowsLinearly(true, "shared");
+  }
+
+  @Test
+  public void migrationCostGrowsLinearlyWithConnectorsPerFile() throws Exception {
+    assertMigrationCostGrowsLinearly(false, "per-file");
+  }
+
+  private void assertMigrationCostGrowsLinearly(boolean sharedConnectors, String mode) throws Exception {
+    // Warm up, so the first measure does not include loading the tasks and compiling the hot paths
+    migrate(1, sharedConnectors, mode + "-warmup");
+
+    Cost base = migrate(1, sharedConnectors, mode + "-base");
+    Cost tenTimes = migrate(10, sharedConnectors, mode + "-ten-times");
+    Cost hundredTimes = migrate(100, sharedConnectors, mode + "-hundred-times");
+    LOGGER.info("Migration cost per configuration file with {} connectors: 1x {}, 10x {}, 100x {}", mode, base, tenTimes,
+                hundredTimes);
+
+    assertThat("Migration time grows superlinearly: 10x " + tenTimes + ", 100x " + hundredTimes,
+               (double) hundredTimes.getWallTimeNanos(), lessThan(MAX_COST_GROWTH * tenTimes.getWallTimeNanos()));
+    if (tenTimes.getAllocatedBytes() >= 0) {
+      assertThat("Migration allocation grows superlinearly: 10x " + tenTimes + ", 100x " + hundredTimes,
+                 (double) hundredTimes.getAllocatedBytes(), lessThan(MAX_COST_GROWTH * tenTimes.getAllocatedBytes()));
+    }
+  }
+
+  private Cost migrate(int scale, boolean sharedConnectors, String name) throws Exception {
+    Path projects = temporaryFolder.newFolder(name).toPath();
+    SyntheticProject project = new SyntheticProjectBuilder()
+        .withName(name)
+        .withConfigFiles(scale)
+        .withFlowsPerFile(FLOWS_PER_FILE)
+        .withSharedConnectors(sharedConnectors)
+        .withMunitSuites(scale)
+        .withDomain(name + "-domain")
+        .generate(projects);
+
+    MigrationJob job = new MigrationJob.MigrationJobBuilder()
+        .withProject(project.getApplicationPath())
+        .withParentDomainProject(project.getDomainPath())
+        .withOutputProject(projects.resolve(name + "-migrated"))
+        .withInputVersion(MULE_3_VERSION)
+        .withOuputVersion(MULE_4_VERSION)
+        .build();
+
+    long wallTime;
+    long allocatedBytes;
+    try (HeapAllocationMeter allocationMeter = new HeapAllocationMeter()) {
+      long startTime = System.nanoTime();
+      job.execute(new DefaultMigrationReport());
+      wallTime = System.nanoTime() - startTime;
+      allocatedBytes = allocationMeter.getAllocatedBytes();
+    }
+
+    return new Cost(wallTime / scale, allocatedBytes < 0 ? -1 : allocatedBytes / scale);
+  }
+
+  /**
+   * Measures the bytes allocated in the heap by all the threads, including the ones that finish before the measure is taken, as
+   * the growth of the heap usage plus what each garbage collection frees in between.
+   */
+  private static final class HeapAllocationMeter implements NotificationListener, AutoCloseable {
+
+    private final List<NotificationEmitter> collectors = new ArrayList<>();
+    private final long startCollections;
+    private final long startUsedBytes;
+    private long notifiedCollections;
+    private long freedBytes;
+
+    private HeapAllocationMeter() {
+      for (GarbageCollectorMXBean collector : getGarbageCollectorMXBeans()) {
+        if (collector instanceof NotificationEmitter) {
+          ((NotificationEmitter) collector).addNotificationListener(this, null, null);
+          collectors.add((NotificationEmitter) collector);
+        }
+      }
+      startCollections = getCollections();
+      startUsedBytes = getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    @Override
+    public synchronized void handleNotification(Notification notification, Object handback) {
+      if (!GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+        return;
+      }
+      GcInfo gcInfo = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData()).getGcInfo();
+      freedBytes += getUsedBytes(gcInfo.getMemoryUsageBeforeGc()) - getUsedBytes(gcInfo.getMemoryUsageAfterGc());
+      ++notifiedCollections;
+    }
+
+    /**
+     * @return the bytes allocated since this meter was created, or {@code -1} if the collections are not notified
+     */
+    private long getAllocatedBytes() throws InterruptedException {
+      if (collectors.isEmpty()) {
+        return -1;
+      }
+      // The collections are notified asynchronously, wait for the ones run so far
+      long deadline = System.nanoTime() + SECONDS.toNanos(10);
+      while (System.nanoTime() < deadline) {
+        long collections = getCollections();
+        long usedBytes = getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        synchronized (this) {
+          if (getCollections() == collections && notifiedCollections >= collections - startCollections) {
+            return usedBytes - startUsedBytes + freedBytes;
+          }
+        }
+        Thread.sleep(10);
+      }
+      return -1;
+    }
+
+    private static long getCollections() {
+      return getGarbageCollectorMXBeans().stream().mapToLong(collector -> Math.max(collector.getCollectionCount(), 0)).sum();
+    }
+
+    private static long getUsedBytes(Map<String, MemoryUsage> memoryUsages) {
+      return memoryUsages.values().stream().mapToLong(MemoryUsage::getUsed).sum();
+    }
+
+    @Override
+    public void close() {
+      for (NotificationEmitter collector : collectors) {
+        try {
+          collector.removeNotificationListener(this);
+        } catch (ListenerNotFoundException e) {
+          // Already removed
+        }
+      }
+    }
+  }
+
+  private static final class Cost {
+
+    private final long wallTimeNanos;
+    private final long allocatedBytes;
+
+    private Cost(long wallTimeNanos, long allocatedBytes) {
+      this.wallTimeNanos = wallTimeNanos;
+      this.allocatedBytes = allocatedBytes;
+    }
+
+    private long getWallTimeNanos() {
+      return wallTimeNanos;
+    }
+
+    private long getAllocatedBytes() {
+      return allocatedBytes;
+    }
+
+    @Override
+    public String toString() {
+      return wallTimeNanos / 1000000 + "ms/" + allocatedBytes / 1024 + "KB";
+    }
+  }
+}
@@ -11,12 +11,15 @@ import static com.mulesoft.tools.migration.project.model.pom.PomModel.DEFAULT_VE
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.singleton;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -145,6 +148,30 @@ public class MigrationJobTest {
     verify(migrationTask, times(1)).execute(any(MigrationReport.class));
   }
 
+  @Test
+  public void executeSkipsTaskWithoutTriggerNamespaces() throws Exception {
+    migrationJob = new MigrationJob.MigrationJobBuilder()
+        .withProject(originalProjectPath)
+        .withOutputProject(migratedProjectPath)
+        .withInputVersion(MULE_380_VERSION)
+        .withOuputVersion(MULE_413_VERSION)
+        .build();
+
+    AbstractMigrationTask skippedTask = mock(AbstractMigrationTask.class);
+    when(skippedTask.getApplicableProjectTypes()).thenReturn(singleton(MULE_FOUR_APPLICATION));
+    when(skippedTask.getTriggerNamespaces()).thenReturn(singleton("http://www.mulesoft.org/schema/mule/sfdc"));
+    AbstractMigrationTask triggeredTask = mock(AbstractMigrationTask.class);
+    when(triggeredTask.getApplicableProjectTypes()).thenReturn(singleton(MULE_FOUR_APPLICATION));
+    when(triggeredTask.getTriggerNamespaces()).thenReturn(singleton("http://www.mulesoft.org/schema/mule/munit"));
+
+    migrationTasks.add(skippedTask);
+    migrationTasks.add(triggeredTask);
+    Whitebox.setInternalState(migrationJob, "migrationTasks", migrationTasks);
+    migrationJob.execute(new DefaultMigrationReport());
+    verify(skippedTask, never()).execute(any(MigrationReport.class));
+    verify(triggeredTask, times(1)).execute(any(MigrationReport.class));
+  }
+
   @Test(expected = MigrationTaskException.class)
   public void executeWithTaskThatFailsAndStopExecution() throws Exception {
     migrationJob = new MigrationJob.MigrationJobBuilder()
@@ -208,6 +235,67 @@ public class MigrationJobTest {
 
   }
 
+  @Test
+  public void executeSharesApplicationModelBetweenTasks() throws Exception {
+    migrationJob = new MigrationJob.MigrationJobBuilder()
+        .withProject(originalProjectPath)
+        .withOutputProject(migratedProjectPath)
+        .withInputVersion(MULE_380_VERSION)
+        .withOuputVersion(MULE_413_VERSION)
+        .build();
+
+    MunitMigrationTask firstTask = new MunitMigrationTask();
+    MunitMigrationTask secondTask = new MunitMigrationTask();
+    migrationTasks.add(firstTask);
+    migrationTasks.add(secondTask);
+    Whitebox.setInternalState(migrationJob, "migrationTasks", migrationTasks);
+    migrationJob.execute(new DefaultMigrationReport());
+
+    assertThat(secondTask.getApplicationModel(), sameInstance(firstTask.getApplicationModel()));
+    assertTrue(migratedProjectPath.resolve("src").resolve("main").resolve("mule").resolve(MULE_SAMPLE_XML).toFile().exists());
+  }
+
+  @Test
+  public void executeWithCheckpoints() throws Exception {
+    migrationJob = new MigrationJob.MigrationJobBuilder()
+        .withProject(originalProjectPath)
+        .withOutputProject(migratedProjectPath)
+        .withInputVersion(MULE_380_VERSION)
+        .withOuputVersion(MULE_413_VERSION)
+        .withPersistCheckpoints(true)
+        .build();
+
+    MunitMigrationTask migrationTask = new MunitMigrationTask();
+    migrationTasks.add(migrationTask);
+    Whitebox.setInternalState(migrationJob, "migrationTasks", migrationTasks);
+    migrationJob.execute(new DefaultMigrationReport());
+
+    assertThat(migrationTask.getApplicationModel().getApplicationDocuments().size(), is(2));
+    assertTrue(migratedProjectPath.resolve("src").resolve("main").resolve("mule").resolve(MULE_SAMPLE_XML).toFile().exists());
+  }
+
+  @Test
+  public void executeWithProfiling() throws Exception {
+    migrationJob = new MigrationJob.MigrationJobBuilder()
+        .withProject(originalProjectPath)
+        .withOutputProject(migratedProjectPath)
+        .withInputVersion(MULE_380_VERSION)
+        .withOuputVersion(MULE_413_VERSION)
+        .withProfiling(true)
+        .build();
+
+    MunitMigrationTask migrationTask = new MunitMigrationTask();
+    migrationTasks.add(migrationTask);
+    Whitebox.setInternalState(migrationJob, "migrationTasks", migrationTasks);
+    migrationJob.execute(new DefaultMigrationReport());
+
+    File profile = migrationJob.getReportPath().resolve("profile.json").toFile();
+    assertTrue(profile.exists());
+    String profileContent = FileUtils.readFileToString(profile, UTF_8);
+    assertThat(profileContent, containsString("\"task\": \"" + MunitMigrationTask.class.getName() + "\""));
+    assertThat(profileContent, containsString("\"xpathEvaluations\""));
+  }
+
   @Test
   public void shouldNotOverrideArtifactIdWhenPomExists() throws Exception {
     assertProjectGav(originalProjectPath, ":customArtifactId:", "groupId", "artifactid", "1.0-SNAPSHOT");
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.engine;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+import com.mulesoft.tools.migration.step.MigrationStep;
+import com.mulesoft.tools.migration.task.AbstractMigrationTask;
+import com.mulesoft.tools.migration.task.MigrationTask;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+
+public class MigrationTaskGraphTest {
+
+  @Test
+  public void undeclaredTasksKeepTheirOrder() {
+    TaskA a = new TaskA(null, null);
+    TaskB b = new TaskB(null, null);
+    TaskC c = new TaskC(null, null);
+
+    assertThat(new MigrationTaskGraph<>(asList(a, b, c)).sort(), contains(a, b, c));
+  }
+
+  @Test
+  public void independentTasksKeepTheirOrder() {
+    TaskA a = new TaskA(singleton("x"), singleton("x"));
+    TaskB b = new TaskB(singleton("y"), singleton("y"));
+
+    assertThat(new MigrationTaskGraph<>(asList(a, b)).sort(), contains(a, b));
+  }
+
+  @Test
+  public void runAfterMovesTaskAfterAnother() {
+    TaskA a = new TaskA(singleton("x"), singleton("x"));
+    TaskB b = new TaskB(singleton("y"), singleton("y"), TaskC.class);
+    TaskC c = new TaskC(singleton("z"), singleton("z"));
+
+    assertThat(new MigrationTaskGraph<>(asList(a, b, c)).sort(), contains(a, c, b));
+  }
+
+  @Test
+  public void runAfterMovesDependentTasksAlong() {
+    TaskA a = new TaskA(singleton("x"), singleton("y"), TaskC.class);
+    TaskB b = new TaskB(singleton("y"), singleton("z"), TaskA.class);
+    TaskC c = new TaskC(singleton("w"), singleton("w"));
+
+    assertThat(new MigrationTaskGraph<>(asList(a, b, c)).sort(), contains(c, a, b));
+  }
+
+  @Test
+  public void writeConflictKeepsTheOrder() {
+    TaskA a = new TaskA(singleton("x"), singleton("y"));
+    TaskB b = new TaskB(singleton("y"), singleton("z"));
+
+    assertThat(new MigrationTaskGraph<>(asList(a, b)).sort(), contains(a, b));
+  }
+
+  @Test
+  public void writeConflictExplicitlyOrdered() {
+    TaskA a = new TaskA(singleton("x"), singleton("y"), TaskB.class);
+    TaskB b = new TaskB(singleton("x"), singleton("y"));
+
+    assertThat(new MigrationTaskGraph<>(asList(a, b)).sort(), contains(b, a));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void contradictoryConstraints() {
+    TaskA a = new TaskA(singleton("x"), singleton("x"), TaskB.class);
+    TaskB b = new TaskB(singleton("y"), singleton("y"), TaskA.class);
+
+    new MigrationTaskGraph<>(asList(a, b));
+  }
+
+  @Test
+  public void runAfterMovesTaskPastUndeclaredTasks() {
+    TaskA a = new TaskA(singleton("x"), singleton("x"), TaskC.class);
+    TaskB b = new TaskB(null, null);
+    TaskC c = new TaskC(singleton("z"), singleton("z"));
+
+    assertThat(new MigrationTaskGraph<>(asList(a, b, c)).sort(), contains(b, c, a));
+  }
+
+  @Test
+  public void runBeforeMovesTaskPastUndeclaredTasks() {
+    TaskA a = new TaskA(singleton("x"), singleton("x"));
+    TaskB b = new TaskB(null, null);
+    TaskC c = new TaskC(singleton("z"), singleton("z"));
+    c.runBefore(TaskA.class);
+
+    assertThat(new MigrationTaskGraph<>(asList(a, b, c)).sort(), contains(c, a, b));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void constraintsContradictingDeclaredDependencies() {
+    TaskA a = new TaskA(singleton("x"), singleton("y"));
+    TaskB b = new TaskB(singleton("y"), singleton("z"));
+    TaskC c = new TaskC(singleton("z"), singleton("w"));
+    c.runBefore(TaskA.class);
+
+    new MigrationTaskGraph<>(asList(a, b, c));
+  }
+
+  private abstract static class DeclaringTask extends AbstractMigrationTask {
+
+    private final Set<String> readNamespaces;
+    private final Set<String> writtenNamespaces;
+    private final Set<Class<? extends MigrationTask>> runAfterTasks;
+    private Set<Class<? extends MigrationTask>> runBeforeTasks = emptySet();
+
+    DeclaringTask(Set<String> readNamespaces, Set<String> writtenNamespaces, Class<? extends MigrationTask> runAfterTask) {
+      this.readNamespaces = readNamespaces;
+      this.writtenNamespaces = writtenNamespaces;
+      this.runAfterTasks = runAfterTask != null ? singleton(runAfterTask) : emptySet();
+    }
+
+    @Override
+    public Set<String> getReadNamespaces() {
+      return readNamespaces;
+    }
+
+    @Override
+    public Set<String> getWrittenNamespaces() {
+      return writtenNamespaces;
+    }
+
+    void runBefore(Class<? extends MigrationTask> runBeforeTask) {
+      this.runBeforeTasks = singleton(runBeforeTask);
+    }
+
+    @Override
+    public Set<Class<? extends MigrationTask>> getRunAfterTasks() {
+      return runAfterTasks;
+    }
+
+    @Override
+    public Set<Class<? extends MigrationTask>> getRunBeforeTasks() {
+      return runBeforeTasks;
+    }
+
+    @Override
+    public String getDescription() {
+      return null;
+    }
+
+    @Override
+    public List<MigrationStep> getSteps() {
+      return null;
+    }
+
+    @Override
+    public String getTo() {
+      return null;
+    }
+
+    @Override
+    public String getFrom() {
+      return null;
+    }
+  }
+
+  private static final class TaskA extends DeclaringTask {
+
+    TaskA(Set<String> readNamespaces, Set<String> writtenNamespaces) {
+      super(readNamespaces, writtenNamespaces, null);
+    }
+
+    TaskA(Set<String> readNamespaces, Set<String> writtenNamespaces, Class<? extends MigrationTask> runAfterTask) {
+      super(readNamespaces, writtenNamespaces, runAfterTask);
+    }
+  }
+
+  private static final class TaskB extends DeclaringTask {
+
+    TaskB(Set<String> readNamespaces, Set<String> writtenNamespaces) {
+      super(readNamespaces, writtenNamespaces, null);
+    }
+
+    TaskB(Set<String> readNamespaces, Set<String> writtenNamespaces, Class<? extends MigrationTask> runAfterTask) {
+      super(readNamespaces, writtenNamespaces, runAfterTask);
+    }
+  }
+
+  private static final class TaskC extends DeclaringTask {
+
+    TaskC(Set<String> readNamespaces, Set<String> writtenNamespaces) {
+      super(readNamespaces, writtenNamespaces, null);
+    }
+  }
+}
@@ -7,13 +7,19 @@ package com.mulesoft.tools.migration.engine;
 
 import static com.mulesoft.tools.migration.project.ProjectType.MULE_FOUR_APPLICATION;
 import static com.mulesoft.tools.migration.util.version.VersionUtils.isVersionGreaterOrEquals;
+import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 
+import com.mulesoft.tools.migration.library.mule.tasks.AmqpMigrationTask;
+import com.mulesoft.tools.migration.library.mule.tasks.PostprocessMuleApplication;
 import com.mulesoft.tools.migration.library.mule.tasks.PreprocessMuleApplication;
+import com.mulesoft.tools.migration.library.mule.tasks.SalesforceMigrationTask;
+import com.mulesoft.tools.migration.library.mule.tasks.SpringMigrationTask;
 import com.mulesoft.tools.migration.library.munit.tasks.MunitMigrationTask;
 import com.mulesoft.tools.migration.project.ProjectType;
 import com.mulesoft.tools.migration.task.AbstractMigrationTask;
@@ -66,4 +72,51 @@ public class MigrationTaskLocatorTest {
     assertThat("The migration task project type is wrong", migrationTask.getProjectType(), is(projectType));
   }
 
+  @Test
+  public void locateSpringAfterMunit() {
+    MigrationTaskLocator migrationTaskLocator = new MigrationTaskLocator(ANY_VERSION_3, ANY_VERSION_4);
+    List<AbstractMigrationTask> migrationTaskList = migrationTaskLocator.locate();
+
+    assertThat(indexOf(migrationTaskList, SpringMigrationTask.class),
+               greaterThan(indexOf(migrationTaskList, MunitMigrationTask.class)));
+  }
+
+  @Test
+  public void locateKeepsListedOrder() {
+    MigrationTaskLocator migrationTaskLocator = new MigrationTaskLocator(ANY_VERSION_3, ANY_VERSION_4);
+    List<AbstractMigrationTask> migrationTaskList = migrationTaskLocator.locate();
+
+    assertThat(indexOf(migrationTaskList, AmqpMigrationTask.class),
+               lessThan(indexOf(migrationTaskList, SalesforceMigrationTask.class)));
+    assertThat(migrationTaskList.get(migrationTaskList.size() - 1), instanceOf(PostprocessMuleApplication.class));
+  }
+
+  @Test
+  public void locateConflictingContributedTask() {
+    SalesforceMigrationTask contributedTask = new SalesforceMigrationTask();
+    MigrationTaskLocator migrationTaskLocator = new MigrationTaskLocator(ANY_VERSION_3, ANY_VERSION_4) {
+
+      @Override
+      protected List<AbstractMigrationTask> getGatewayMigrationTasks() {
+        // Writes the Salesforce namespace without declaring whether it runs before or after SalesforceMigrationTask
+        return singletonList(contributedTask);
+      }
+    };
+    List<AbstractMigrationTask> migrationTaskList = migrationTaskLocator.locate();
+
+    assertThat(migrationTaskList.indexOf(contributedTask),
+               greaterThan(indexOf(migrationTaskList, SalesforceMigrationTask.class)));
+    assertThat(migrationTaskList.indexOf(contributedTask),
+               lessThan(indexOf(migrationTaskList, PostprocessMuleApplication.class)));
+  }
+
+  private static int indexOf(List<AbstractMigrationTask> migrationTaskList, Class<? extends MigrationTask> taskType) {
+    for (int i = 0; i < migrationTaskList.size(); ++i) {
+      if (taskType.isInstance(migrationTaskList.get(i))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.engine.project.structure;
+
+import static com.mulesoft.tools.migration.engine.project.structure.ConfigFileOutputProcessor.getConfigFileFormat;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.io.StringReader;
+
+import org.jdom2.CDATA;
+import org.jdom2.Comment;
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.input.SAXBuilder;
+import org.jdom2.output.LineSeparator;
+import org.jdom2.output.XMLOutputter;
+import org.junit.Test;
+
+public class ConfigFileOutputProcessorTest {
+
+  private static final String EOL = LineSeparator.DEFAULT.value();
+  private static final String CORE_NS = "xmlns=\"http://www.mulesoft.org/schema/mule/core\"";
+  private static final String DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + EOL;
+
+  private final XMLOutputter outputter = new XMLOutputter(getConfigFileFormat(), new ConfigFileOutputProcessor());
+
+  @Test
+  public void emptyLinesBetweenTopLevelElementsAndFlowComponents() throws Exception {
+    Document document = parse("<mule " + CORE_NS + "><!-- c --><flow name=\"f\"><logger/><choice><when><logger/></when></choice>"
+        + "</flow><sub-flow name=\"s\"><logger/><logger/></sub-flow></mule>");
+
+    assertThat(outputter.outputString(document), is(DECLARATION
+        + "<mule " + CORE_NS + ">" + EOL
+        + EOL
+        + "    <!-- c -->" + EOL
+        + "    <flow name=\"f\">" + EOL
+        + "        <logger />" + EOL
+        + EOL
+        + "        <choice>" + EOL
+        + "            <when>" + EOL
+        + "                <logger />" + EOL
+        + "            </when>" + EOL
+        + "        </choice>" + EOL
+        + EOL
+        + "    </flow>" + EOL
+        + EOL
+        + "    <sub-flow name=\"s\">" + EOL
+        + "        <logger />" + EOL
+        + "        <logger />" + EOL
+        + "    </sub-flow>" + EOL
+        + EOL
+        + "</mule>" + EOL));
+  }
+
+  @Test
+  public void emptyRootElement() throws Exception {
+    Document document = parse("<!-- header --><mule " + CORE_NS + "/>");
+
+    assertThat(outputter.outputString(document), is(DECLARATION
+        + "<!-- header --><mule " + CORE_NS + ">" + EOL
+        + "</mule>" + EOL));
+  }
+
+  @Test
+  public void lineBreaksNormalized() throws Exception {
+    Document document = parse("<mule " + CORE_NS + "/>");
+    Element flow = new Element("flow", document.getRootElement().getNamespace());
+    document.getRootElement().addContent(flow);
+    flow.addContent(new Comment(" line\r\nbreak "));
+    Element setPayload = new Element("set-payload", document.getRootElement().getNamespace());
+    flow.addContent(setPayload);
+    setPayload.addContent(new CDATA("a\r\nb\rc"));
+
+    assertThat(outputter.outputString(document), is(DECLARATION
+        + "<mule " + CORE_NS + ">" + EOL
+        + EOL
+        + "    <flow>" + EOL
+        + "        <!-- line\nbreak -->" + EOL
+        + "        <set-payload><![CDATA[a\nb\nc]]></set-payload>" + EOL
+        + EOL
+        + "    </flow>" + EOL
+        + EOL
+        + "</mule>" + EOL));
+  }
+
+  private Document parse(String content) throws Exception {
+    return new SAXBuilder().build(new StringReader(content));
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.report;
+
+import static java.lang.management.ManagementFactory.getThreadMXBean;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+import com.mulesoft.tools.migration.report.DefaultMigrationProfiler.StepProfile;
+import com.mulesoft.tools.migration.report.DefaultMigrationProfiler.TaskProfile;
+import com.mulesoft.tools.migration.step.MigrationStep;
+import com.mulesoft.tools.migration.task.MigrationTask;
+
+import org.junit.Test;
+
+public class DefaultMigrationProfilerTest {
+
+  private static final long BUSY_NANOS = MILLISECONDS.toNanos(100);
+
+  @Test
+  public void concurrentPartsAreMeasuredWithTheirStep() throws Exception {
+    assumeTrue(getThreadMXBean().isThreadCpuTimeSupported() && getThreadMXBean().isThreadCpuTimeEnabled());
+
+    DefaultMigrationProfiler profiler = new DefaultMigrationProfiler();
+    MigrationTask task = mock(MigrationTask.class);
+    MigrationStep step = mock(MigrationStep.class);
+
+    profiler.taskStarted(task);
+    profiler.stepStarted(task, step);
+    Thread worker = new Thread(profiler.concurrentPart(task, step, DefaultMigrationProfilerTest::busyWait));
+    worker.start();
+    worker.join();
+    profiler.stepFinished(task, step, 1);
+    profiler.taskFinished(task);
+
+    TaskProfile taskProfile = profiler.getTaskProfiles().get(0);
+    StepProfile stepProfile = taskProfile.getSteps().get(0);
+    // The step thread just waits for the worker, so most of the CPU time is the one spent by the worker
+    assertThat(stepProfile.getCpuTimeNanos(), greaterThanOrEqualTo(BUSY_NANOS));
+    assertThat(taskProfile.getCpuTimeNanos(), greaterThanOrEqualTo(stepProfile.getCpuTimeNanos()));
+  }
+
+  private static void busyWait() {
+    long start = getThreadMXBean().getCurrentThreadCpuTime();
+    while (getThreadMXBean().getCurrentThreadCpuTime() - start < BUSY_NANOS) {
+      // Spend CPU time
+    }
+  }
+}
@@ -12,14 +12,22 @@ import com.mulesoft.tools.migration.step.category.MigrationReport;
 import org.jdom2.Document;
 import org.jdom2.Element;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.mulesoft.tools.migration.helper.DocumentHelper.getDocument;
 import static com.mulesoft.tools.migration.helper.DocumentHelper.getElementsFromDocument;
 import static com.mulesoft.tools.migration.step.category.MigrationReport.Level.WARN;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
@@ -30,6 +38,9 @@ public class DefaultMigrationReportTest {
   private static final Path MUNIT_EXAMPLES_PATH = Paths.get("munit/examples");
   private static final Path MUNIT_SAMPLE_PATH = MUNIT_EXAMPLES_PATH.resolve(MUNIT_SAMPLE_XML);
 
+  @Rule
+  public ExpectedException expectedException = ExpectedException.none();
+
   private DefaultMigrationReport defaultMigrationReport;
   private AssertTrue assertTrue;
 
@@ -52,4 +63,65 @@ public class DefaultMigrationReportTest {
     assertThat("Duplicate entry added.", defaultMigrationReport.getReportEntries().size(), is(2));
   }
 
+  @Test
+  public void concurrentPartsEntriesInOrder() throws Exception {
+    List<Element> elements = new ArrayList<>();
+    for (int i = 0; i < 4; ++i) {
+      Document document = new Document(new Element("mule"));
+      document.setBaseURI(Paths.get("config-" + i + ".xml").toUri().toString());
+      elements.add(document.getRootElement());
+    }
+    defaultMigrationReport.report(WARN, elements.get(0), elements.get(0), "Before");
+
+    // Each part reports once the parts after it did
+    List<CountDownLatch> reported = new ArrayList<>();
+    List<Runnable> parts = new ArrayList<>();
+    for (int i = 0; i < elements.size(); ++i) {
+      Element element = elements.get(i);
+      CountDownLatch partReported = new CountDownLatch(1);
+      reported.add(partReported);
+      int part = i;
+      parts.add(() -> {
+        try {
+          if (part + 1 < elements.size()) {
+            reported.get(part + 1).await();
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        defaultMigrationReport.report(WARN, element, element, "Part " + part);
+        defaultMigrationReport.report(WARN, element, element, "Part " + part);
+        partReported.countDown();
+      });
+    }
+    ForkJoinPool pool = new ForkJoinPool(elements.size());
+    try {
+      defaultMigrationReport.runConcurrently(parts, pool);
+    } finally {
+      pool.shutdown();
+    }
+    defaultMigrationReport.report(WARN, elements.get(0), elements.get(0), "After");
+
+    assertThat(defaultMigrationReport.getReportEntries().stream().map(e -> e.getMessage()).collect(toList()),
+               contains("Before", "Part 0", "Part 1", "Part 2", "Part 3", "After"));
+    assertThat(elements.get(3).getContent().size(), is(1));
+  }
+
+  @Test
+  public void concurrentPartsFirstFailure() throws Exception {
+    List<Runnable> parts = new ArrayList<>();
+    parts.add(() -> {
+    });
+    parts.add(() -> {
+      throw new IllegalStateException("First");
+    });
+    parts.add(() -> {
+      throw new IllegalArgumentException("Second");
+    });
+
+    expectedException.expect(IllegalStateException.class);
+    expectedException.expectMessage("First");
+    defaultMigrationReport.runConcurrently(parts, ForkJoinPool.commonPool());
+  }
+
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.report.html.model;
+
+import static com.mulesoft.tools.migration.step.category.MigrationReport.Level.WARN;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import com.mulesoft.tools.migration.engine.exception.MigrationJobException;
+
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.input.SAXBuilder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+
+public class ReportEntryModelTest {
+
+  private static final String CONFIG = "<mule xmlns=\"http://www.mulesoft.org/schema/mule/core\">\n"
+      + "  <flow name=\"flow1\">\n"
+      + "    <logger message=\"1\"/>\n"
+      + "  </flow>\n"
+      + "  <flow name=\"flow2\">\n"
+      + "    <logger message=\"2\"/>\n"
+      + "    <logger message=\"3\"/>\n"
+      + "  </flow>\n"
+      + "</mule>\n";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void elementsLocationInSeveralFiles() throws Exception {
+    Document document1 = writeAndParse("config1.xml");
+    Document document2 = writeAndParse("config2.xml");
+
+    ReportEntryModel flow1 = new ReportEntryModel(WARN, document1.getRootElement().getChildren().get(0), "flow1");
+    ReportEntryModel logger3 =
+        new ReportEntryModel(WARN, document1.getRootElement().getChildren().get(1).getChildren().get(1), "logger3");
+    ReportEntryModel logger2 =
+        new ReportEntryModel(WARN, document2.getRootElement().getChildren().get(1).getChildren().get(0), "logger2");
+    ReportEntryModel root = new ReportEntryModel(WARN, document2.getRootElement(), "root");
+
+    ReportEntryModel.setElementsLocation(asList(flow1, logger3, logger2, root));
+
+    assertLocation(flow1, 2, 22);
+    assertLocation(logger3, 7, 26);
+    assertLocation(logger2, 6, 26);
+    assertLocation(root, 1, 56);
+  }
+
+  @Test
+  public void sameLocationAsSingleEntry() throws Exception {
+    Document document = writeAndParse("config.xml");
+    Element logger = document.getRootElement().getChildren().get(1).getChildren().get(1);
+    ReportEntryModel entry = new ReportEntryModel(WARN, logger, "logger");
+    ReportEntryModel sameEntry = new ReportEntryModel(WARN, logger, "logger");
+
+    entry.setElementLocation();
+    ReportEntryModel.setElementsLocation(asList(sameEntry));
+
+    assertLocation(sameEntry, entry.getLineNumber(), entry.getColumnNumber());
+  }
+
+  @Test
+  public void elementNotInOutputFile() throws Exception {
+    Document document = writeAndParse("config.xml");
+    Element logger = new Element("logger", document.getRootElement().getNamespace());
+    document.getRootElement().getChildren().get(0).addContent(logger);
+    ReportEntryModel entry = new ReportEntryModel(WARN, logger, "logger");
+
+    ReportEntryModel.setElementsLocation(asList(entry));
+
+    assertLocation(entry, 0, 0);
+  }
+
+  @Test(expected = MigrationJobException.class)
+  public void missingOutputFile() throws Exception {
+    Document document = writeAndParse("config.xml");
+    ReportEntryModel entry = new ReportEntryModel(WARN, document.getRootElement(), "root");
+    entry.setFilePath(new File(temporaryFolder.getRoot(), "missing.xml").getAbsolutePath());
+
+    ReportEntryModel.setElementsLocation(asList(entry));
+  }
+
+  private Document writeAndParse(String fileName) throws Exception {
+    File file = temporaryFolder.newFile(fileName);
+    Files.write(file.toPath(), CONFIG.getBytes(UTF_8));
+    return new SAXBuilder().build(file);
+  }
+
+  private void assertLocation(ReportEntryModel entry, int line, int column) {
+    assertThat(entry.getLineNumber(), is(line));
+    assertThat(entry.getColumnNumber(), is(column));
+  }
+}
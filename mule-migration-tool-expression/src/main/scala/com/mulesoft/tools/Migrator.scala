@@ -1,7 +1,9 @@
 package com.mulesoft.tools
 
+import java.lang.ref.WeakReference
 import java.util
 import java.util.Date
+import java.util.concurrent.{Callable, ConcurrentHashMap, ForkJoinPool}
 
 import com.mulesoft.tools.ast._
 import com.mulesoft.tools.{ast => mel}
@@ -15,14 +17,32 @@ import org.mule.weave.v2.parser.ast.types.TypeReferenceNode
 import org.mule.weave.v2.parser.ast.variables.{NameIdentifier, VariableReferenceNode}
 import org.mule.weave.v2.parser.{ast => dw}
 
-import scala.util.{Failure, Success, Try}
+import scala.collection.JavaConverters._
+import scala.util.{DynamicVariable, Try}
 
 object Migrator {
 
   val CLASS_PROPERTY_NAME = "class"
 
   def bindingContextVariable: List[String] = List("message", "exception", "payload", "flowVars", "sessionVars", "recordVars", "null");
-  var counter = 0
+
+  /**
+    * The state of the migration of a single expression. Each call to migrate gets its own, bound to the calling thread, so
+    * expressions can be migrated concurrently and from within another migration.
+    */
+  private class MigrationContext {
+    var counter = 0
+  }
+
+  private val currentMigration = new DynamicVariable[MigrationContext](new MigrationContext)
+
+  /**
+    * The classes looked up in each class loader by canonical name, misses included.
+    *
+    * A class references the class loader that defined it, which is the key or one of its parents, so the classes are held
+    * weakly for the entry of a class loader to be removed once it is no longer used.
+    */
+  private val loadedClasses = new util.WeakHashMap[ClassLoader, ConcurrentHashMap[String, Option[WeakReference[Class[_]]]]]()
 
 
   def toDataweaveAst(expressionNode: mel.MelExpressionNode): MigrationResult = {
@@ -73,10 +93,10 @@ object Migrator {
 
     val candidateToCanonicalName = name.patch(lastDot , "", name.length() - lastDot)
     val methodName = name.patch(0 , "", lastDot+1)
-    val candidateToClass = Try(Thread.currentThread().getContextClassLoader.loadClass(candidateToCanonicalName))
+    val candidateToClass = loadClass(candidateToCanonicalName)
 
     candidateToClass match {
-      case Failure(_) => {
+      case None => {
         methodName match {
           case "length" => toFunction("length", candidateToCanonicalName)
           case "size" => toFunction("sizeOf", candidateToCanonicalName)
@@ -88,13 +108,14 @@ object Migrator {
           case "causedBy" => toExceptionFunction(name, arguments.head, false)
           case "causedExactlyBy" => toExceptionFunction(name, arguments.head, true)
           case _ => {
-            counter += 1
-            val reference = "$" + counter
+            val context = currentMigration.value
+            context.counter += 1
+            val reference = "$" + context.counter
             new MigrationResult(toDataweaveStringNode(reference).dwAstNode, DefaultMigrationMetadata(Seq(NonMigratable("expressions.methodInvocation"))))
           }
         }
       }
-      case Success(loadedClass) => {
+      case Some(loadedClass) => {
         methodName match {
           case "randomUUID" => toUUID
           case _ => toFunctionCall(methodName, CanonicalNameNode(candidateToCanonicalName), arguments)
@@ -103,6 +124,27 @@ object Migrator {
     }
   }
 
+  /**
+    * Looks up a class by its canonical name in the context class loader.
+    *
+    * Most of the names looked up are variables a method is invoked on rather than classes, so the misses are cached as well.
+    */
+  private def loadClass(canonicalName: String): Option[Class[_]] = {
+    val classLoader = Thread.currentThread().getContextClassLoader
+    val classes = loadedClasses.synchronized {
+      loadedClasses.computeIfAbsent(classLoader, (_: ClassLoader) => new ConcurrentHashMap[String, Option[WeakReference[Class[_]]]]())
+    }
+    // The class cannot be collected while the class loader it was looked up in is reachable
+    classes.computeIfAbsent(canonicalName, (name: String) => findClass(classLoader, name).map(new WeakReference[Class[_]](_)))
+      .flatMap(loadedClass => Option[Class[_]](loadedClass.get))
+  }
+
+  private def findClass(classLoader: ClassLoader, canonicalName: String): Option[Class[_]] = {
+    // Probing for the class file first avoids building the ClassNotFoundException of a miss
+    val classFile = Try(classLoader.getResource(canonicalName.replace('.', '/') + ".class")).getOrElse(null)
+    if (classFile == null) None else Try[Class[_]](classLoader.loadClass(canonicalName)).toOption
+  }
+
   private def toUUID: MigrationResult = {
     new MigrationResult(dw.functions.FunctionCallNode(VariableReferenceNode(NameIdentifier("uuid"))))
   }
@@ -229,10 +271,10 @@ object Migrator {
   }
 
   private def toDataweaveConstructorNode(canonicalName: CanonicalNameNode, arguments: Seq[MelExpressionNode]): MigrationResult = {
-    val theClassToCreate = Try(Thread.currentThread().getContextClassLoader.loadClass(canonicalName.name))
+    val theClassToCreate = loadClass(canonicalName.name)
     theClassToCreate match {
-      case Failure(_) => toGenericConstructor(canonicalName, arguments)
-      case Success(loadedClass) => {
+      case None => toGenericConstructor(canonicalName, arguments)
+      case Some(loadedClass) => {
         if (isMap(loadedClass, arguments)) toMapConstructor(canonicalName)
         else if (isList(loadedClass, arguments)) toListConstructor(canonicalName)
         else if (isDate(loadedClass, arguments)) toDateConstructor
@@ -330,11 +372,41 @@ object Migrator {
   }
 
   def migrate(melScript: String): MigrationResult = {
-    counter = 0
-    val expressionNode = MelParserHelper.parse(removeNullPayload(melScript))
-    val result = toDataweaveAst(expressionNode)
-    val bodyNode = resolveStringConcatenation(result.dwAstNode)
-    new MigrationResult(bodyNode, result.metadata)
+    currentMigration.withValue(new MigrationContext) {
+      val expressionNode = MelParserHelper.parse(removeNullPayload(melScript))
+      val result = toDataweaveAst(expressionNode)
+      val bodyNode = resolveStringConcatenation(result.dwAstNode)
+      new MigrationResult(bodyNode, result.metadata)
+    }
+  }
+
+  /**
+    * Migrates the given expressions on the common fork/join pool.
+    *
+    * Each distinct expression is migrated once, with the context class loader of the caller so classes are looked up the same
+    * way as when migrating sequentially.
+    *
+    * @return the result of migrating each expression, in the order of the given expressions
+    */
+  def migrateAll(melScripts: util.List[String]): util.List[Try[MigrationResult]] = {
+    val classLoader = Thread.currentThread().getContextClassLoader
+    val distinctScripts = melScripts.asScala.distinct
+    val tasks = distinctScripts.map(melScript => new Callable[Try[MigrationResult]] {
+      override def call(): Try[MigrationResult] = withContextClassLoader(classLoader)(Try(migrate(melScript)))
+    })
+    val results = distinctScripts.zip(ForkJoinPool.commonPool().invokeAll(tasks.asJava).asScala.map(_.get())).toMap
+    melScripts.asScala.map(results).asJava
+  }
+
+  private def withContextClassLoader[T](classLoader: ClassLoader)(body: => T): T = {
+    val currentThread = Thread.currentThread()
+    val originalClassLoader = currentThread.getContextClassLoader
+    currentThread.setContextClassLoader(classLoader)
+    try {
+      body
+    } finally {
+      currentThread.setContextClassLoader(originalClassLoader)
+    }
   }
 
   def resolveName(literal: String): String = {
@@ -2,6 +2,12 @@ package com.mulesoft.tools
 
 import org.scalatest.{FlatSpec, Matchers}
 
+import java.lang.ref.WeakReference
+import java.net.URLClassLoader
+
+import scala.collection.JavaConverters._
+import scala.util.Try
+
 class MigratorTest extends FlatSpec with Matchers {
   "Migrator" should "migrate a map" in {
     Migrator.migrate(" [ \"a\" : [1,2], \"b\" : 666  ]   ").getGeneratedCode() shouldBe "%dw 2.0\n---\n{\n  \"a\": [1, 2],\n  \"b\": 666\n}"
@@ -167,4 +173,47 @@ class MigratorTest extends FlatSpec with Matchers {
   it should "migrate a simple ternary operator expression2" in {
     Migrator.migrate("true ? true ? 1 : 0 : 0").getGeneratedCode() shouldBe "%dw 2.0\n---\nif (true)\n  if (true)\n    1\n  else\n    0\nelse\n  0"
   }
+
+  it should "number the non migratable method invocations of each expression from the start" in {
+    val first = Migrator.migrate("lala.foo() + pepe.bar()").getGeneratedCode()
+    Migrator.migrate("lala.foo()")
+    Migrator.migrate("lala.foo() + pepe.bar()").getGeneratedCode() shouldBe first
+  }
+
+  it should "migrate many expressions concurrently as sequentially" in {
+    val melScripts = (1 to 100).map(i => if (i % 10 == 0) "lala.foo() + pepe.bar(" else "lala.foo() + flowVars.v" + (i % 7) + " + pepe.bar()")
+    val results = Migrator.migrateAll(melScripts.asJava).asScala
+    results.map(_.toOption.map(_.getGeneratedCode())) shouldBe melScripts.map(s => Try(Migrator.migrate(s)).toOption.map(_.getGeneratedCode()))
+    results.count(_.isFailure) shouldBe 10
+  }
+
+  it should "migrate the same class lookups every time" in {
+    for (_ <- 1 to 2) {
+      Migrator.migrate("new java.util.ArrayList()").getGeneratedCode() shouldBe "%dw 2.0\n---\n[] as Array {class: java.util.ArrayList}"
+      Migrator.migrate("new com.lala.tools.Pepe('a')").getGeneratedCode() shouldBe "%dw 2.0\n---\njava!com::lala::tools::Pepe::new('a')"
+    }
+  }
+
+  it should "not keep the class loaders it looked classes up in" in {
+    val testClasses = classOf[ClassLookupTarget].getProtectionDomain.getCodeSource.getLocation
+    var classLoader: ClassLoader = new URLClassLoader(Array(testClasses), ClassLoader.getSystemClassLoader.getParent)
+    val classLoaderRef = new WeakReference(classLoader)
+    val currentThread = Thread.currentThread()
+    val originalClassLoader = currentThread.getContextClassLoader
+    currentThread.setContextClassLoader(classLoader)
+    try {
+      Migrator.migrate("new com.mulesoft.tools.ClassLookupTarget()").getGeneratedCode() shouldBe "%dw 2.0\n---\njava!com::mulesoft::tools::ClassLookupTarget::new()"
+    } finally {
+      currentThread.setContextClassLoader(originalClassLoader)
+    }
+    classLoader = null
+
+    for (_ <- 1 to 10 if classLoaderRef.get != null) {
+      System.gc()
+      Thread.sleep(100)
+    }
+    classLoaderRef.get shouldBe null
+  }
 }
+
+class ClassLookupTarget
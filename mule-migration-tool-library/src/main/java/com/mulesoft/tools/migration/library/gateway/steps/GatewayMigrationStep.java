@@ -10,6 +10,7 @@ import static com.mulesoft.tools.migration.library.gateway.steps.GatewayNamespac
 import static com.mulesoft.tools.migration.library.gateway.steps.GatewayNamespaces.XSI_NAMESPACE;
 import static java.util.Arrays.asList;
 
+import com.mulesoft.tools.migration.project.model.ApplicationModel;
 import com.mulesoft.tools.migration.step.AbstractApplicationModelMigrationStep;
 
 import java.util.ArrayList;
@@ -61,6 +62,11 @@ public abstract class GatewayMigrationStep extends AbstractApplicationModelMigra
         + attributeName + "' and .='" + attributeValue + "']]";
   }
 
+  /**
+   * @param attributeValue the value some attribute of the selected elements contains
+   * @return the selector of the elements with an attribute containing the value, looked up in the attribute values index of
+   *         the {@link ApplicationModel} instead of evaluated as XPath
+   */
   protected final String getXPathSelector(String attributeValue) {
     return "//*[@*[contains(.,'" + attributeValue + "')]]";
   }
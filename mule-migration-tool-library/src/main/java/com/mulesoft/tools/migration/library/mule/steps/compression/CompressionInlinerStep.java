@@ -5,6 +5,8 @@
  */
 package com.mulesoft.tools.migration.library.mule.steps.compression;
 
+import static java.util.stream.Collectors.toList;
+
 import com.mulesoft.tools.migration.step.AbstractApplicationModelMigrationStep;
 import com.mulesoft.tools.migration.step.category.MigrationReport;
 import com.mulesoft.tools.migration.step.util.XmlDslUtils;
@@ -31,7 +33,9 @@ public class CompressionInlinerStep extends AbstractApplicationModelMigrationSte
   @Override
   public void execute(Element element, MigrationReport report) throws RuntimeException {
     String refName = element.getAttribute("name").getValue();
-    List<Element> refs = getApplicationModel().getNodes(String.format("//mule:transformer[@ref = '%s']", refName));
+    List<Element> refs = getApplicationModel().getReferencingElements("ref", refName).stream()
+        .filter(t -> XmlDslUtils.isElement(t, XmlDslUtils.CORE_NS_URI, "transformer"))
+        .collect(toList());
 
     refs.forEach(ref -> {
       Element parent = ref.getParentElement();
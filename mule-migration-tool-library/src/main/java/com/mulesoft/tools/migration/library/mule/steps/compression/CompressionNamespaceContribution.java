@@ -24,8 +24,8 @@ public class CompressionNamespaceContribution implements NamespaceContribution {
 
   @Override
   public void execute(ApplicationModel applicationModel, MigrationReport report) throws RuntimeException {
-    if (!applicationModel.getNodes(GZipCompressTransformer.XPATH_SELECTOR).isEmpty() ||
-        !applicationModel.getNodes(GZipUncompressTransformer.XPATH_SELECTOR).isEmpty()) {
+    if (applicationModel.exists(GZipCompressTransformer.XPATH_SELECTOR) ||
+        applicationModel.exists(GZipUncompressTransformer.XPATH_SELECTOR)) {
       applicationModel.addNameSpace("compression", "http://www.mulesoft.org/schema/mule/compression",
                                     "http://www.mulesoft.org/schema/mule/compression/current/mule-compression.xsd");
     }
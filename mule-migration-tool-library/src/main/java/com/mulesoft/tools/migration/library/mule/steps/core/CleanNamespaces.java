@@ -6,7 +6,6 @@
 package com.mulesoft.tools.migration.library.mule.steps.core;
 
 import static com.google.common.collect.Lists.newArrayList;
-import static com.mulesoft.tools.migration.project.model.ApplicationModel.getElementsWithNamespace;
 
 import com.mulesoft.tools.migration.project.model.ApplicationModel;
 import com.mulesoft.tools.migration.step.category.MigrationReport;
@@ -43,9 +42,9 @@ public class CleanNamespaces implements NamespaceContribution {
   }
 
   public void removeUnusedNamespacesAndSchemas(Document document, ApplicationModel applicationModel) {
+    NamespaceUsage namespaceUsage = NamespaceUsage.scan(document);
     List<Namespace> unusedNamespaces = document.getRootElement().getAdditionalNamespaces().stream()
-        .filter(n -> getElementsWithNamespace(document, n, applicationModel).size() <= 0
-            && !nonRemovableNamespaces.contains(n.getPrefix()))
+        .filter(n -> !namespaceUsage.isUsed(n.getURI()) && !nonRemovableNamespaces.contains(n.getPrefix()))
         .collect(Collectors.toList());
     unusedNamespaces.forEach(n -> document.getRootElement().removeNamespaceDeclaration(n));
 
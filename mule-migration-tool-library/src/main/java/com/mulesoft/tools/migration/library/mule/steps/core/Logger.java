@@ -10,6 +10,7 @@ import static com.mulesoft.tools.migration.step.util.XmlDslUtils.migrateExpressi
 
 import com.mulesoft.tools.migration.step.AbstractApplicationModelMigrationStep;
 import com.mulesoft.tools.migration.step.ExpressionMigratorAware;
+import com.mulesoft.tools.migration.step.category.DocumentLocalContribution;
 import com.mulesoft.tools.migration.step.category.MigrationReport;
 import com.mulesoft.tools.migration.util.ExpressionMigrator;
 
@@ -21,7 +22,8 @@ import org.jdom2.Element;
  * @author Mulesoft Inc.
  * @since 1.0.0
  */
-public class Logger extends AbstractApplicationModelMigrationStep implements ExpressionMigratorAware {
+public class Logger extends AbstractApplicationModelMigrationStep
+    implements ExpressionMigratorAware, DocumentLocalContribution {
 
   public static final String XPATH_SELECTOR = getCoreXPathSelector("logger");
 
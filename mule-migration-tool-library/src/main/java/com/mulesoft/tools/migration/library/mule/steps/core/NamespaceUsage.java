@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.library.mule.steps.core;
+
+import static java.util.Collections.emptyList;
+
+import org.jdom2.Document;
+import org.jdom2.Element;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The elements of each namespace in a document, gathered in a single walk of the document instead of querying it once for each
+ * namespace.
+ *
+ * @author Mulesoft Inc.
+ * @since 1.2.1
+ */
+final class NamespaceUsage {
+
+  private final Map<String, Integer> elementCounts = new HashMap<>();
+  private final Map<String, List<Element>> entryPoints = new HashMap<>();
+
+  private NamespaceUsage() {}
+
+  /**
+   * Walks the given document counting the elements of each namespace.
+   *
+   * @param document the document to scan
+   * @return the namespaces used by the elements of the document
+   */
+  static NamespaceUsage scan(Document document) {
+    NamespaceUsage usage = new NamespaceUsage();
+    usage.scan(document.getRootElement(), null);
+    return usage;
+  }
+
+  private void scan(Element element, String parentNamespaceUri) {
+    String namespaceUri = element.getNamespaceURI();
+    elementCounts.merge(namespaceUri, 1, Integer::sum);
+    if (!namespaceUri.equals(parentNamespaceUri)) {
+      entryPoints.computeIfAbsent(namespaceUri, uri -> new ArrayList<>()).add(element);
+    }
+    for (Element child : element.getChildren()) {
+      scan(child, namespaceUri);
+    }
+  }
+
+  /**
+   * @param namespaceUri the URI of the namespace
+   * @return whether there is any element of the namespace in the document
+   */
+  boolean isUsed(String namespaceUri) {
+    return elementCounts.containsKey(namespaceUri);
+  }
+
+  /**
+   * @param namespaceUri the URI of the namespace
+   * @return the number of elements of the namespace in the document
+   */
+  int getElementCount(String namespaceUri) {
+    return elementCounts.getOrDefault(namespaceUri, 0);
+  }
+
+  /**
+   * @param namespaceUri the URI of the namespace
+   * @return the elements of the namespace whose parent is not of the namespace, in document order
+   */
+  List<Element> getEntryPoints(String namespaceUri) {
+    return entryPoints.getOrDefault(namespaceUri, emptyList());
+  }
+}
@@ -6,7 +6,6 @@
 package com.mulesoft.tools.migration.library.mule.steps.core;
 
 import static com.mulesoft.tools.migration.library.mule.steps.spring.SpringContributions.ADDITIONAL_SPRING_NAMESPACES_PROP;
-import static com.mulesoft.tools.migration.project.model.ApplicationModel.getElementsWithNamespace;
 import static com.mulesoft.tools.migration.xml.AdditionalNamespacesFactory.containsNamespace;
 import static java.util.stream.Collectors.toList;
 
@@ -17,8 +16,11 @@ import com.mulesoft.tools.migration.step.category.NamespaceContribution;
 import org.jdom2.Document;
 import org.jdom2.Namespace;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 /**
  * Check for component with no defined migration task yet.
@@ -35,14 +37,30 @@ public class PreprocessNamespaces implements NamespaceContribution {
 
   @Override
   public void execute(ApplicationModel applicationModel, MigrationReport report) throws RuntimeException {
+    Map<Document, NamespaceUsage> namespaceUsages = scanNamespaceUsages(applicationModel);
     List<Document> documents = applicationModel.getApplicationDocuments().values().stream().collect(toList());
-    documents.forEach(d -> addReportEntries(d, report, applicationModel));
+    documents.forEach(d -> addReportEntries(d, report, applicationModel, namespaceUsages));
   }
 
   public void addReportEntries(Document document, MigrationReport report, ApplicationModel applicationModel) {
+    addReportEntries(document, report, applicationModel, scanNamespaceUsages(applicationModel));
+  }
+
+  private Map<Document, NamespaceUsage> scanNamespaceUsages(ApplicationModel applicationModel) {
+    // Each document is walked once, instead of once for each of its namespaces
+    Map<Document, NamespaceUsage> namespaceUsages = new LinkedHashMap<>();
+    Stream.concat(applicationModel.getApplicationDocuments().values().stream(),
+                  applicationModel.getDomainDocuments().values().stream())
+        .forEach(d -> namespaceUsages.put(d, NamespaceUsage.scan(d)));
+    return namespaceUsages;
+  }
+
+  private void addReportEntries(Document document, MigrationReport report, ApplicationModel applicationModel,
+                                Map<Document, NamespaceUsage> namespaceUsages) {
+    NamespaceUsage documentNamespaceUsage = namespaceUsages.get(document);
     List<Namespace> unsupportedNamespaces =
         document.getRootElement().getAdditionalNamespaces().stream()
-            .filter(n -> !getElementsWithNamespace(document, n, applicationModel).isEmpty()
+            .filter(n -> documentNamespaceUsage.isUsed(n.getURI())
                 && !containsNamespace(n, applicationModel.getSupportedNamespaces()))
             .collect(toList());
 
@@ -50,7 +68,8 @@ public class PreprocessNamespaces implements NamespaceContribution {
 
     unsupportedNamespaces.forEach(ns -> {
       // Ignore nested elements of the same pass to not distort statistics or clutter the report
-      applicationModel.getNodes("//*[namespace-uri() = '" + ns.getURI() + "' and namespace-uri(..) != '" + ns.getURI() + "']")
+      namespaceUsages.values().stream()
+          .flatMap(namespaceUsage -> namespaceUsage.getEntryPoints(ns.getURI()).stream())
           .forEach(node -> {
             processedElements.incrementAndGet();
 
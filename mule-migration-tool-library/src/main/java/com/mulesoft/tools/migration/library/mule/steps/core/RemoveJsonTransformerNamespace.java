@@ -32,7 +32,7 @@ public class RemoveJsonTransformerNamespace implements NamespaceContribution {
   @Override
   public void execute(ApplicationModel applicationModel, MigrationReport report) throws RuntimeException {
     try {
-      if (applicationModel.getNodes(JSON_TRANSFORMER_XPRESSION).isEmpty()) {
+      if (!applicationModel.exists(JSON_TRANSFORMER_XPRESSION)) {
         applicationModel.removeNameSpace(JSON_NAMESPACE.getPrefix(), JSON_NAMESPACE.getURI(), JSON_TRANSFORMER_SCHEMA);
       }
     } catch (Exception e) {
@@ -5,7 +5,9 @@
  */
 package com.mulesoft.tools.migration.library.mule.steps.core;
 
+import static com.mulesoft.tools.migration.step.util.XmlDslUtils.CORE_NS_URI;
 import static com.mulesoft.tools.migration.step.util.XmlDslUtils.getCoreXPathSelector;
+import static com.mulesoft.tools.migration.step.util.XmlDslUtils.isElement;
 
 import com.mulesoft.tools.migration.exception.MigrationStepException;
 import com.mulesoft.tools.migration.step.AbstractApplicationModelMigrationStep;
@@ -35,7 +37,8 @@ public class RemoveObjectToStringTransformer extends AbstractApplicationModelMig
   @Override
   public void execute(Element element, MigrationReport report) throws RuntimeException {
     if (element != null && element.getParentElement() == element.getDocument().getRootElement()) {
-      getApplicationModel().getNodes("//mule:transformer[@ref='" + element.getAttributeValue("name") + "']")
+      getApplicationModel().getReferencingElements("ref", element.getAttributeValue("name")).stream()
+          .filter(t -> isElement(t, CORE_NS_URI, "transformer"))
           .forEach(t -> t.detach());
     }
     try {
@@ -8,6 +8,7 @@ package com.mulesoft.tools.migration.library.mule.steps.db;
 import static com.mulesoft.tools.migration.step.util.XmlDslUtils.migrateOperationStructure;
 
 import com.mulesoft.tools.migration.library.tools.mel.DefaultMelCompatibilityResolver;
+import com.mulesoft.tools.migration.step.category.DocumentLocalContribution;
 import com.mulesoft.tools.migration.step.category.MigrationReport;
 
 import org.jdom2.Element;
@@ -18,7 +19,7 @@ import org.jdom2.Element;
  * @author Mulesoft Inc.
  * @since 1.0.0
  */
-public class DbSelect extends AbstractDbOperationMigrator {
+public class DbSelect extends AbstractDbOperationMigrator implements DocumentLocalContribution {
 
   public static final String XPATH_SELECTOR = "//*[namespace-uri() = '" + DB_NAMESPACE_URI + "' and local-name() = 'select']";
 
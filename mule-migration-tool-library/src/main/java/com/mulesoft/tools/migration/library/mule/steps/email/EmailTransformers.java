@@ -48,7 +48,7 @@ public class EmailTransformers extends AbstractApplicationModelMigrationStep {
   public void execute(Element object, MigrationReport report) throws RuntimeException {
     report.report("email.transformers", object, object.getParentElement());
 
-    for (Element ref : getApplicationModel().getNodes("//*[@ref = '" + object.getAttributeValue("name") + "']")) {
+    for (Element ref : getApplicationModel().getReferencingElements("ref", object.getAttributeValue("name"))) {
       ref.detach();
     }
 
@@ -9,9 +9,14 @@ import static com.google.common.collect.Lists.newArrayList;
 import static com.mulesoft.tools.migration.step.util.TransportsUtils.handleConnectorChildElements;
 import static com.mulesoft.tools.migration.step.util.TransportsUtils.handleServiceOverrides;
 import static com.mulesoft.tools.migration.step.util.XmlDslUtils.CORE_NAMESPACE;
+import static com.mulesoft.tools.migration.step.util.XmlDslUtils.CORE_NS_URI;
 import static com.mulesoft.tools.migration.step.util.XmlDslUtils.changeDefault;
+import static com.mulesoft.tools.migration.step.util.XmlDslUtils.getCoreXPathSelector;
+import static com.mulesoft.tools.migration.step.util.XmlDslUtils.getXPathSelector;
+import static com.mulesoft.tools.migration.step.util.XmlDslUtils.isElement;
 import static com.mulesoft.tools.migration.step.util.XmlDslUtils.migrateReconnection;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 import static org.jdom2.Namespace.getNamespace;
 
 import com.mulesoft.tools.migration.step.AbstractApplicationModelMigrationStep;
@@ -23,6 +28,7 @@ import org.jdom2.Element;
 import org.jdom2.Namespace;
 
 import java.util.List;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
@@ -104,25 +110,48 @@ public class FileConfig extends AbstractApplicationModelMigrationStep
   }
 
   private void handleInputImplicitConnectorRef(Element object, MigrationReport report) {
-    makeImplicitConnectorRefsExplicit(object, report, getApplicationModel()
-        .getNodes("/*/mule:flow/*[namespace-uri()='" + FILE_NAMESPACE_URI
-            + "' and local-name()='inbound-endpoint' and not(@connector-ref)]"));
-    makeImplicitConnectorRefsExplicit(object, report, getApplicationModel()
-        .getNodes("//mule:inbound-endpoint[not(@connector-ref) and starts-with(@address, 'file://')]"));
+    makeImplicitConnectorRefsExplicit(object, report,
+                                      getImplicitConnectorRefs(getXPathSelector(FILE_NAMESPACE_URI, "inbound-endpoint"),
+                                                               FileConfig::isInTopLevelFlow));
+    makeImplicitConnectorRefsExplicit(object, report,
+                                      getImplicitConnectorRefs(getCoreXPathSelector("inbound-endpoint"),
+                                                               FileConfig::hasFileAddress));
   }
 
   private void handleOutputImplicitConnectorRef(Element object, MigrationReport report) {
     makeImplicitConnectorRefsExplicit(object, report,
-                                      getApplicationModel().getNodes("//*[namespace-uri()='" + FILE_NAMESPACE_URI
-                                          + "' and local-name()='outbound-endpoint' and not(@connector-ref)]"));
-    makeImplicitConnectorRefsExplicit(object, report, getApplicationModel()
-        .getNodes("//mule:outbound-endpoint[not(@connector-ref) and starts-with(@address, 'file://')]"));
+                                      getImplicitConnectorRefs(getXPathSelector(FILE_NAMESPACE_URI, "outbound-endpoint"),
+                                                               e -> true));
+    makeImplicitConnectorRefsExplicit(object, report,
+                                      getImplicitConnectorRefs(getCoreXPathSelector("outbound-endpoint"),
+                                                               FileConfig::hasFileAddress));
+  }
+
+  private List<Element> getImplicitConnectorRefs(String endpointsXPath, Predicate<Element> condition) {
+    // Filtered here rather than in the XPath expression, so the endpoints are looked up in the index of the application model
+    // instead of evaluating the expression on every document for each connector
+    return getApplicationModel().getNodes(endpointsXPath).stream()
+        .filter(e -> e.getAttribute("connector-ref") == null && condition.test(e))
+        .collect(toList());
+  }
+
+  private static boolean isInTopLevelFlow(Element endpoint) {
+    Element flow = endpoint.getParentElement();
+    return isElement(flow, CORE_NS_URI, "flow") && flow.getParentElement() != null && flow.getParentElement().isRootElement();
+  }
+
+  private static boolean hasFileAddress(Element endpoint) {
+    String address = endpoint.getAttributeValue("address");
+    return address != null && address.startsWith("file://");
   }
 
   private void makeImplicitConnectorRefsExplicit(Element object, MigrationReport report, List<Element> implicitConnectorRefs) {
+    if (implicitConnectorRefs.isEmpty()) {
+      return;
+    }
     List<Element> availableConfigs =
         getApplicationModel().getNodes("/*/*[namespace-uri()='" + FILE_NAMESPACE_URI + "' and local-name()='config']");
-    if (implicitConnectorRefs.size() > 0 && availableConfigs.size() > 1) {
+    if (availableConfigs.size() > 1) {
       for (Element implicitConnectorRef : implicitConnectorRefs) {
         // This situation would have caused the app to not start in Mule 3. As it is not a migration issue per se, there's no
         // linked docs
@@ -150,13 +179,9 @@ public class FileConfig extends AbstractApplicationModelMigrationStep
   }
 
   private void handleInputSpecificAttributes(Element object, boolean matcherUsed, String fileAge, MigrationReport report) {
-    Stream.concat(getApplicationModel()
-        .getNodes("//*[namespace-uri()='" + FILE_NAMESPACE_URI + "' and local-name()='inbound-endpoint' and @connector-ref='"
-            + object.getAttributeValue("name") + "']")
-        .stream(),
-                  getApplicationModel()
-                      .getNodes("//mule:inbound-endpoint[@connector-ref='" + object.getAttributeValue("name") + "']")
-                      .stream())
+    List<Element> endpoints = getApplicationModel().getReferencingElements("connector-ref", object.getAttributeValue("name"));
+    Stream.concat(endpoints.stream().filter(e -> isElement(e, FILE_NAMESPACE_URI, "inbound-endpoint")),
+                  endpoints.stream().filter(e -> isElement(e, CORE_NS_URI, "inbound-endpoint")))
         .forEach(e -> passConnectorConfigToInboundEnpoint(object, matcherUsed, fileAge, e));
 
     object.removeAttribute("pollingFrequency");
@@ -168,13 +193,9 @@ public class FileConfig extends AbstractApplicationModelMigrationStep
   }
 
   private void handleOutputSpecificAttributes(Element object, MigrationReport report) {
-    Stream.concat(getApplicationModel()
-        .getNodes("//*[namespace-uri()='" + FILE_NAMESPACE_URI + "' and local-name()='outbound-endpoint' and @connector-ref='"
-            + object.getAttributeValue("name") + "']")
-        .stream(),
-                  getApplicationModel()
-                      .getNodes("//mule:outbound-endpoint[@connector-ref='" + object.getAttributeValue("name") + "']")
-                      .stream())
+    List<Element> endpoints = getApplicationModel().getReferencingElements("connector-ref", object.getAttributeValue("name"));
+    Stream.concat(endpoints.stream().filter(e -> isElement(e, FILE_NAMESPACE_URI, "outbound-endpoint")),
+                  endpoints.stream().filter(e -> isElement(e, CORE_NS_URI, "outbound-endpoint")))
         .forEach(e -> passConnectorConfigToOutboundEndpoint(object, e));
 
     object.removeAttribute("writeToDirectory");
@@ -29,8 +29,8 @@ import org.jdom2.Namespace;
 
 import java.io.IOException;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.OptionalInt;
 
 /**
@@ -229,10 +229,10 @@ public class FileInboundEndpoint extends AbstractApplicationModelMigrationStep
     Element newMatcher;
     newMatcher = new Element("matcher", ns);
 
-    List<Element> referencedMatcher =
-        appModel.getNodes("/*/" + ns.getPrefix() + ":matcher[@name='" + object.getAttributeValue("matcher") + "']");
-    if (!referencedMatcher.isEmpty()) {
-      for (Attribute attribute : referencedMatcher.get(0).getAttributes()) {
+    Optional<Element> referencedMatcher =
+        appModel.findFirst("/*/" + ns.getPrefix() + ":matcher[@name='" + object.getAttributeValue("matcher") + "']");
+    if (referencedMatcher.isPresent()) {
+      for (Attribute attribute : referencedMatcher.get().getAttributes()) {
         newMatcher.setAttribute(attribute.getName(), attribute.getValue());
       }
     }
@@ -6,6 +6,8 @@
 package com.mulesoft.tools.migration.library.mule.steps.file;
 
 import static com.mulesoft.tools.migration.library.mule.steps.file.FileConfig.FILE_NAMESPACE_URI;
+import static com.mulesoft.tools.migration.step.util.XmlDslUtils.CORE_NS_URI;
+import static com.mulesoft.tools.migration.step.util.XmlDslUtils.isElement;
 
 import com.mulesoft.tools.migration.step.AbstractApplicationModelMigrationStep;
 import com.mulesoft.tools.migration.step.ExpressionMigratorAware;
@@ -41,7 +43,8 @@ public class FileTransformers extends AbstractApplicationModelMigrationStep
   @Override
   public void execute(Element object, MigrationReport report) throws RuntimeException {
     if (object.getAttribute("name") != null) {
-      getApplicationModel().getNodes("//mule:transformer[@ref = '" + object.getAttributeValue("name") + "']")
+      getApplicationModel().getReferencingElements("ref", object.getAttributeValue("name")).stream()
+          .filter(t -> isElement(t, CORE_NS_URI, "transformer"))
           .forEach(t -> t.detach());
     }
 
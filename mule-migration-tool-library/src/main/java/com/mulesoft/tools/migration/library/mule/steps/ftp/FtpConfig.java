@@ -9,7 +9,9 @@ import static com.google.common.collect.Lists.newArrayList;
 import static com.mulesoft.tools.migration.library.mule.steps.file.FileConfig.handleChildElements;
 import static com.mulesoft.tools.migration.step.util.TransportsUtils.handleServiceOverrides;
 import static com.mulesoft.tools.migration.step.util.XmlDslUtils.CORE_NAMESPACE;
+import static com.mulesoft.tools.migration.step.util.XmlDslUtils.CORE_NS_URI;
 import static com.mulesoft.tools.migration.step.util.XmlDslUtils.copyAttributeIfPresent;
+import static com.mulesoft.tools.migration.step.util.XmlDslUtils.isElement;
 import static com.mulesoft.tools.migration.step.util.XmlDslUtils.migrateReconnection;
 import static java.util.stream.Collectors.joining;
 
@@ -128,9 +130,8 @@ public class FtpConfig extends AbstractApplicationModelMigrationStep
     Stream.concat(getApplicationModel()
         .getNodes("//ftp:inbound-endpoint[@connector-ref='" + object.getAttributeValue("name") + "']")
         .stream(),
-                  getApplicationModel()
-                      .getNodes("//mule:inbound-endpoint[@connector-ref='" + object.getAttributeValue("name") + "']")
-                      .stream())
+                  getApplicationModel().getReferencingElements("connector-ref", object.getAttributeValue("name")).stream()
+                      .filter(e -> isElement(e, CORE_NS_URI, "inbound-endpoint")))
         .forEach(e -> passConnectorConfigToInboundEnpoint(object, e));
 
     object.removeAttribute("pollingFrequency");
@@ -140,9 +141,8 @@ public class FtpConfig extends AbstractApplicationModelMigrationStep
     Stream.concat(getApplicationModel()
         .getNodes("//ftp:outbound-endpoint[@connector-ref='" + object.getAttributeValue("name") + "']")
         .stream(),
-                  getApplicationModel()
-                      .getNodes("//mule:outbound-endpoint[@connector-ref='" + object.getAttributeValue("name") + "']")
-                      .stream())
+                  getApplicationModel().getReferencingElements("connector-ref", object.getAttributeValue("name")).stream()
+                      .filter(e -> isElement(e, CORE_NS_URI, "outbound-endpoint")))
         .forEach(e -> passConnectorConfigToOutboundEndpoint(object, e));
 
     object.removeAttribute("outputPattern");
@@ -6,12 +6,15 @@
 package com.mulesoft.tools.migration.library.mule.steps.ftp;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.mulesoft.tools.migration.step.util.XmlDslUtils.CORE_NS_URI;
+import static com.mulesoft.tools.migration.step.util.XmlDslUtils.isElement;
 
 import com.mulesoft.tools.migration.step.category.MigrationReport;
 
 import org.jdom2.Element;
 import org.jdom2.Namespace;
 
+import java.util.List;
 import java.util.stream.Stream;
 
 /**
@@ -52,13 +55,9 @@ public class FtpEeConfig extends FtpConfig {
   }
 
   private void handleInputSpecificAttributes(Element object, String fileAge, MigrationReport report) {
-    Stream.concat(getApplicationModel()
-        .getNodes("//*[namespace-uri() = '" + FTP_EE_NS_URI + "' and local-name() = 'inbound-endpoint' and @connector-ref='"
-            + object.getAttributeValue("name") + "']")
-        .stream(),
-                  getApplicationModel()
-                      .getNodes("//mule:inbound-endpoint[@connector-ref='" + object.getAttributeValue("name") + "']")
-                      .stream())
+    List<Element> endpoints = getApplicationModel().getReferencingElements("connector-ref", object.getAttributeValue("name"));
+    Stream.concat(endpoints.stream().filter(e -> isElement(e, FTP_EE_NS_URI, "inbound-endpoint")),
+                  endpoints.stream().filter(e -> isElement(e, CORE_NS_URI, "inbound-endpoint")))
         .forEach(e -> passConnectorConfigToInboundEnpoint(object, fileAge, e));
 
     object.removeAttribute("moveToDirectory");
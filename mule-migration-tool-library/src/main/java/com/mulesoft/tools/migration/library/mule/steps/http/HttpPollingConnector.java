@@ -74,7 +74,7 @@ public class HttpPollingConnector extends AbstractApplicationModelMigrationStep
     }
 
     List<Element> pollingEndpoints =
-        getApplicationModel().getNodes("//*[@connector-ref = '" + object.getAttributeValue("name") + "']");
+        getApplicationModel().getReferencingElements("connector-ref", object.getAttributeValue("name"));
 
     for (Element pollingEndpoint : pollingEndpoints) {
       Element requestOperation = new Element("request", httpNamespace);
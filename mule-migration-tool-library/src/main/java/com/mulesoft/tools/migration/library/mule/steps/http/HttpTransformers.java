@@ -10,13 +10,17 @@ import static com.mulesoft.tools.migration.library.mule.steps.validation.Validat
 import static com.mulesoft.tools.migration.library.mule.steps.validation.ValidationMigration.addValidationNamespace;
 import static com.mulesoft.tools.migration.library.mule.steps.validation.ValidationPomContribution.addValidationDependency;
 import static com.mulesoft.tools.migration.step.util.XmlDslUtils.CORE_NAMESPACE;
+import static com.mulesoft.tools.migration.step.util.XmlDslUtils.CORE_NS_URI;
 import static com.mulesoft.tools.migration.step.util.XmlDslUtils.addElementAfter;
+import static com.mulesoft.tools.migration.step.util.XmlDslUtils.isElement;
 
 import com.mulesoft.tools.migration.step.AbstractApplicationModelMigrationStep;
 import com.mulesoft.tools.migration.step.ExpressionMigratorAware;
 import com.mulesoft.tools.migration.step.category.MigrationReport;
 import com.mulesoft.tools.migration.util.ExpressionMigrator;
 
+import java.util.stream.Stream;
+
 import org.jdom2.Element;
 
 /**
@@ -86,7 +90,7 @@ public class HttpTransformers extends AbstractApplicationModelMigrationStep
       Element bodyToParamMap =
           new Element("set-payload", CORE_NAMESPACE).setAttribute("value", "#[output application/java --- payload]");
       if (object.getParentElement() == object.getDocument().getRootElement()) {
-        getApplicationModel().getNodes("//mule:transformer[@ref='" + object.getAttributeValue("name") + "']").forEach(t -> {
+        getReferencingTransformers(object).forEach(t -> {
           addElementAfter(bodyToParamMap, t);
           t.detach();
         });
@@ -96,13 +100,17 @@ public class HttpTransformers extends AbstractApplicationModelMigrationStep
       object.detach();
     } else {
       if (object.getAttribute("name") != null) {
-        getApplicationModel().getNodes("//mule:transformer[@ref = '" + object.getAttributeValue("name") + "']")
-            .forEach(t -> t.detach());
+        getReferencingTransformers(object).forEach(t -> t.detach());
       }
       object.detach();
     }
   }
 
+  private Stream<Element> getReferencingTransformers(Element object) {
+    return getApplicationModel().getReferencingElements("ref", object.getAttributeValue("name")).stream()
+        .filter(t -> isElement(t, CORE_NS_URI, "transformer"));
+  }
+
   @Override
   public void setExpressionMigrator(ExpressionMigrator expressionMigrator) {
     this.expressionMigrator = expressionMigrator;
@@ -320,8 +320,9 @@ public abstract class AbstractJmsEndpoint extends AbstractApplicationModelMigrat
       Element providerProperties = new Element("provider-properties", JMS_NAMESPACE);
       nameResolverBuilder.addContent(providerProperties);
 
-      appModel.getNodes("//*[@id='" + jndiProviderPropertiesRef + "']/*[namespace-uri()='" + SPRING_BEANS_NS_URI
-          + "' and local-name()='prop']").forEach(prop -> {
+      appModel.getReferencingElements("id", jndiProviderPropertiesRef).stream()
+          .flatMap(props -> props.getChildren("prop", Namespace.getNamespace(SPRING_BEANS_NS_URI)).stream())
+          .forEach(prop -> {
             providerProperties.addContent(new Element("provider-property", JMS_NAMESPACE)
                 .setAttribute("key", prop.getAttributeValue("key"))
                 .setAttribute("value", prop.getTextTrim()));
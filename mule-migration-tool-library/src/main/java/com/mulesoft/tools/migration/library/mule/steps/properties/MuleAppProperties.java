@@ -47,14 +47,15 @@ public class MuleAppProperties implements NamespaceContribution {
     try {
       List<String> properties = resolveProperties(appModel.getProjectBasePath(), MULE_PROPS_FILE);
       if (!properties.isEmpty()) {
+        List<String> propertyReferences = new ArrayList<>();
         properties.forEach(p -> {
-          appModel.getDocumentsContainString("${" + p + "}")
-              .forEach(n -> addConfigFileReference(n, appModel));
-          appModel.getDocumentsContainString("p(\\\"" + p + "\\\")")
-              .forEach(n -> addConfigFileReference(n, appModel));
-          appModel.getDocumentsContainString("p('" + p + "')")
-              .forEach(n -> addConfigFileReference(n, appModel));
+          propertyReferences.add("${" + p + "}");
+          propertyReferences.add("p(\\\"" + p + "\\\")");
+          propertyReferences.add("p('" + p + "')");
         });
+        // All the references are looked for at once, instead of going through every document for each one
+        appModel.getDocumentsContainStrings(propertyReferences).values()
+            .forEach(documents -> documents.forEach(n -> addConfigFileReference(n, appModel)));
       }
     } catch (IOException e) {
       throw new MigrationStepException("Could not update mule-app.properties references on Files.", e);
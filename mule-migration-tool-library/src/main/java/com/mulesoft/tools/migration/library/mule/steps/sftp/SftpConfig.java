@@ -9,7 +9,9 @@ import static com.google.common.collect.Lists.newArrayList;
 import static com.mulesoft.tools.migration.library.mule.steps.file.FileConfig.handleChildElements;
 import static com.mulesoft.tools.migration.step.util.TransportsUtils.handleServiceOverrides;
 import static com.mulesoft.tools.migration.step.util.XmlDslUtils.CORE_NAMESPACE;
+import static com.mulesoft.tools.migration.step.util.XmlDslUtils.CORE_NS_URI;
 import static com.mulesoft.tools.migration.step.util.XmlDslUtils.copyAttributeIfPresent;
+import static com.mulesoft.tools.migration.step.util.XmlDslUtils.isElement;
 import static com.mulesoft.tools.migration.step.util.XmlDslUtils.migrateReconnection;
 import static java.util.stream.Collectors.joining;
 
@@ -135,13 +137,9 @@ public class SftpConfig extends AbstractApplicationModelMigrationStep
   }
 
   private void handleInputSpecificAttributes(Element object, MigrationReport report) {
-    Stream.concat(getApplicationModel()
-        .getNodes("//*[namespace-uri()='" + SFTP_NAMESPACE_URI + "' and local-name()='inbound-endpoint' and @connector-ref='"
-            + object.getAttributeValue("name") + "']")
-        .stream(),
-                  getApplicationModel()
-                      .getNodes("//mule:inbound-endpoint[@connector-ref='" + object.getAttributeValue("name") + "']")
-                      .stream())
+    List<Element> endpoints = getApplicationModel().getReferencingElements("connector-ref", object.getAttributeValue("name"));
+    Stream.concat(endpoints.stream().filter(e -> isElement(e, SFTP_NAMESPACE_URI, "inbound-endpoint")),
+                  endpoints.stream().filter(e -> isElement(e, CORE_NS_URI, "inbound-endpoint")))
         .forEach(e -> passConnectorConfigToInboundEnpoint(object, e));
 
     object.removeAttribute("pollingFrequency");
@@ -152,13 +150,9 @@ public class SftpConfig extends AbstractApplicationModelMigrationStep
   }
 
   private void handleOutputSpecificAttributes(Element object, MigrationReport report) {
-    Stream.concat(getApplicationModel()
-        .getNodes("//*[namespace-uri()='" + SFTP_NAMESPACE_URI + "' and local-name()='outbound-endpoint' and @connector-ref='"
-            + object.getAttributeValue("name") + "']")
-        .stream(),
-                  getApplicationModel()
-                      .getNodes("//mule:outbound-endpoint[@connector-ref='" + object.getAttributeValue("name") + "']")
-                      .stream())
+    List<Element> endpoints = getApplicationModel().getReferencingElements("connector-ref", object.getAttributeValue("name"));
+    Stream.concat(endpoints.stream().filter(e -> isElement(e, SFTP_NAMESPACE_URI, "outbound-endpoint")),
+                  endpoints.stream().filter(e -> isElement(e, CORE_NS_URI, "outbound-endpoint")))
         .forEach(e -> passConnectorConfigToOutboundEndpoint(object, e));
 
     object.removeAttribute("outputPattern");
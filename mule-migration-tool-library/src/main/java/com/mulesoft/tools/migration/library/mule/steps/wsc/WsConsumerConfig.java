@@ -26,7 +26,7 @@ import com.mulesoft.tools.migration.util.ExpressionMigrator;
 import org.jdom2.Element;
 import org.jdom2.Namespace;
 
-import java.util.List;
+import java.util.Optional;
 
 /**
  * Migrates the configuration of the WebService consumer config
@@ -132,12 +132,12 @@ public class WsConsumerConfig extends AbstractApplicationModelMigrationStep impl
 
       processAddress(connection, report).ifPresent(a -> {
         if ("https".equals(a.getProtocol())) {
-          List<Element> connectors =
-              getApplicationModel().getNodes("/*/*[namespace-uri()='" + HTTPS_NAMESPACE_URI + "' and local-name()='connector']");
-          if (connectors.isEmpty()) {
+          Optional<Element> connectorOptional = getApplicationModel()
+              .findFirst("/*/*[namespace-uri()='" + HTTPS_NAMESPACE_URI + "' and local-name()='connector']");
+          if (!connectorOptional.isPresent()) {
             return;
           }
-          Element connector = connectors.iterator().next();
+          Element connector = connectorOptional.get();
 
           final Element requestConfig =
               new Element("request-config", HTTP_NAMESPACE).setAttribute("name", connector.getAttributeValue("name"));
@@ -203,7 +203,7 @@ public class WsConsumerConfig extends AbstractApplicationModelMigrationStep impl
         copyAttributeIfPresent(keyStore, keyStoreConfig, "type", false);
         sign.addContent(keyStoreConfig);
 
-        if (!getApplicationModel().getNodeOptional("//*[@tlsContext-ref='" + tlsContextName + "']").isPresent()) {
+        if (!getApplicationModel().exists("//*[@tlsContext-ref='" + tlsContextName + "']")) {
           tlsContext.detach();
         }
 
@@ -230,7 +230,7 @@ public class WsConsumerConfig extends AbstractApplicationModelMigrationStep impl
         copyAttributeIfPresent(trustStore, keyStoreConfig, "type", false);
         verifySignature.addContent(keyStoreConfig);
 
-        if (!getApplicationModel().getNodeOptional("//*[@tlsContext-ref='" + tlsContextName + "']").isPresent()) {
+        if (!getApplicationModel().exists("//*[@tlsContext-ref='" + tlsContextName + "']")) {
           tlsContext.detach();
         }
 
@@ -285,7 +285,7 @@ public class WsConsumerConfig extends AbstractApplicationModelMigrationStep impl
           decrypt.removeAttribute("alias");
         }
 
-        if (!getApplicationModel().getNodeOptional("//*[@tlsContext-ref='" + tlsContextName + "']").isPresent()) {
+        if (!getApplicationModel().exists("//*[@tlsContext-ref='" + tlsContextName + "']")) {
           tlsContext.detach();
         }
 
@@ -317,7 +317,7 @@ public class WsConsumerConfig extends AbstractApplicationModelMigrationStep impl
           encrypt.removeAttribute("alias");
         }
 
-        if (!getApplicationModel().getNodeOptional("//*[@tlsContext-ref='" + tlsContextName + "']").isPresent()) {
+        if (!getApplicationModel().exists("//*[@tlsContext-ref='" + tlsContextName + "']")) {
           tlsContext.detach();
         }
 
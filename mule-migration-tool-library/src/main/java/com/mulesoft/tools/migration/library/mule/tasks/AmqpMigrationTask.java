@@ -6,6 +6,13 @@
 package com.mulesoft.tools.migration.library.mule.tasks;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static com.mulesoft.tools.migration.library.mule.steps.amqp.AbstractAmqpEndpoint.AMQPS_NAMESPACE_URI;
+import static com.mulesoft.tools.migration.library.mule.steps.amqp.AbstractAmqpEndpoint.AMQP_NAMESPACE_URI;
+import static com.mulesoft.tools.migration.library.mule.steps.amqp.AbstractAmqpEndpoint.TLS_NAMESPACE;
+import static com.mulesoft.tools.migration.library.mule.steps.core.RemoveSyntheticMigrationAttributes.MIGRATION_NAMESPACE;
+import static com.mulesoft.tools.migration.step.util.XmlDslUtils.CORE_EE_NS_URI;
+import static com.mulesoft.tools.migration.step.util.XmlDslUtils.CORE_NS_URI;
 import static com.mulesoft.tools.migration.util.MuleVersion.MULE_3_VERSION;
 import static com.mulesoft.tools.migration.util.MuleVersion.MULE_4_VERSION;
 
@@ -20,6 +27,7 @@ import com.mulesoft.tools.migration.step.MigrationStep;
 import com.mulesoft.tools.migration.task.AbstractMigrationTask;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Migration definition for AMQP Transport
@@ -29,6 +37,8 @@ import java.util.List;
  */
 public class AmqpMigrationTask extends AbstractMigrationTask {
 
+  private static final String QUARTZ_NS_URI = "http://www.mulesoft.org/schema/mule/quartz";
+
   @Override
   public String getDescription() {
     return "Migrate AMQP Transport";
@@ -44,6 +54,24 @@ public class AmqpMigrationTask extends AbstractMigrationTask {
     return MULE_3_VERSION;
   }
 
+  @Override
+  public Set<String> getReadNamespaces() {
+    // The endpoints reference the connector reconnection strategies and core transactions, and the global endpoints may be
+    // referenced from core or quartz endpoints
+    return newHashSet(AMQP_NAMESPACE_URI, AMQPS_NAMESPACE_URI, CORE_NS_URI, CORE_EE_NS_URI, QUARTZ_NS_URI);
+  }
+
+  @Override
+  public Set<String> getWrittenNamespaces() {
+    return newHashSet(AMQP_NAMESPACE_URI, AMQPS_NAMESPACE_URI, TLS_NAMESPACE.getURI(), CORE_NS_URI, CORE_EE_NS_URI,
+                      QUARTZ_NS_URI, MIGRATION_NAMESPACE.getURI());
+  }
+
+  @Override
+  public Set<String> getTriggerNamespaces() {
+    return newHashSet(AMQP_NAMESPACE_URI, AMQPS_NAMESPACE_URI);
+  }
+
   @Override
   public List<MigrationStep> getSteps() {
     return newArrayList(new AmqpConnectorPomContribution(),
@@ -6,8 +6,10 @@
 package com.mulesoft.tools.migration.library.mule.tasks;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.mulesoft.tools.migration.library.mule.steps.file.FileConfig.FILE_NAMESPACE_URI;
 import static com.mulesoft.tools.migration.util.MuleVersion.MULE_3_VERSION;
 import static com.mulesoft.tools.migration.util.MuleVersion.MULE_4_VERSION;
+import static java.util.Collections.singleton;
 
 import com.mulesoft.tools.migration.library.mule.steps.file.FileConfig;
 import com.mulesoft.tools.migration.library.mule.steps.file.FileConnectorPomContribution;
@@ -19,6 +21,7 @@ import com.mulesoft.tools.migration.step.MigrationStep;
 import com.mulesoft.tools.migration.task.AbstractMigrationTask;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Migration definition for File Transport
@@ -43,6 +46,11 @@ public class FileMigrationTask extends AbstractMigrationTask {
     return MULE_3_VERSION;
   }
 
+  @Override
+  public Set<String> getTriggerNamespaces() {
+    return singleton(FILE_NAMESPACE_URI);
+  }
+
   @Override
   public List<MigrationStep> getSteps() {
     return newArrayList(new FileConnectorPomContribution(),
@@ -6,6 +6,7 @@
 package com.mulesoft.tools.migration.library.mule.tasks;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
 import static com.mulesoft.tools.migration.util.MuleVersion.MULE_3_VERSION;
 import static com.mulesoft.tools.migration.util.MuleVersion.MULE_4_VERSION;
 
@@ -23,6 +24,7 @@ import com.mulesoft.tools.migration.step.MigrationStep;
 import com.mulesoft.tools.migration.task.AbstractMigrationTask;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Migration definition for FTP Transport
@@ -47,6 +49,11 @@ public class FtpMigrationTask extends AbstractMigrationTask {
     return MULE_3_VERSION;
   }
 
+  @Override
+  public Set<String> getTriggerNamespaces() {
+    return newHashSet("http://www.mulesoft.org/schema/mule/ftp", "http://www.mulesoft.org/schema/mule/ee/ftp");
+  }
+
   @Override
   public List<MigrationStep> getSteps() {
     return newArrayList(new FtpConnectorPomContribution(),
@@ -6,6 +6,7 @@
 package com.mulesoft.tools.migration.library.mule.tasks;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.mulesoft.tools.migration.library.mule.steps.jms.AbstractJmsEndpoint.JMS_NAMESPACE_URI;
 import static com.mulesoft.tools.migration.project.ProjectType.MULE_FOUR_DOMAIN;
 import static com.mulesoft.tools.migration.util.MuleVersion.MULE_3_VERSION;
 import static com.mulesoft.tools.migration.util.MuleVersion.MULE_4_VERSION;
@@ -47,6 +48,11 @@ public class JmsDomainMigrationTask extends AbstractMigrationTask {
     return singleton(MULE_FOUR_DOMAIN);
   }
 
+  @Override
+  public Set<String> getTriggerNamespaces() {
+    return singleton(JMS_NAMESPACE_URI);
+  }
+
   @Override
   public List<MigrationStep> getSteps() {
     return newArrayList(new JmsDomainConnector());
@@ -8,6 +8,7 @@ package com.mulesoft.tools.migration.library.mule.tasks;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.mulesoft.tools.migration.util.MuleVersion.MULE_3_VERSION;
 import static com.mulesoft.tools.migration.util.MuleVersion.MULE_4_VERSION;
+import static java.util.Collections.singleton;
 
 import com.mulesoft.tools.migration.library.mule.steps.json.JsonMapper;
 import com.mulesoft.tools.migration.library.mule.steps.json.JsonModulePomContribution;
@@ -21,6 +22,7 @@ import com.mulesoft.tools.migration.step.MigrationStep;
 import com.mulesoft.tools.migration.task.AbstractMigrationTask;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Migration Json module components
@@ -45,6 +47,11 @@ public class JsonMigrationTask extends AbstractMigrationTask {
     return MULE_3_VERSION;
   }
 
+  @Override
+  public Set<String> getTriggerNamespaces() {
+    return singleton("http://www.mulesoft.org/schema/mule/json");
+  }
+
   @Override
   public List<MigrationStep> getSteps() {
     return newArrayList(new JsonModulePomContribution(),
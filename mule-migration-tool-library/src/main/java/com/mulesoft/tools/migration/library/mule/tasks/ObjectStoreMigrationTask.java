@@ -17,10 +17,12 @@ import com.mulesoft.tools.migration.step.MigrationStep;
 import com.mulesoft.tools.migration.task.AbstractMigrationTask;
 
 import java.util.List;
+import java.util.Set;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.mulesoft.tools.migration.util.MuleVersion.MULE_3_VERSION;
 import static com.mulesoft.tools.migration.util.MuleVersion.MULE_4_VERSION;
+import static java.util.Collections.singleton;
 
 /**
  * Migration definition for Object Store connector.
@@ -45,6 +47,11 @@ public class ObjectStoreMigrationTask extends AbstractMigrationTask {
     return MULE_3_VERSION;
   }
 
+  @Override
+  public Set<String> getTriggerNamespaces() {
+    return singleton("http://www.mulesoft.org/schema/mule/objectstore");
+  }
+
   @Override
   public List<MigrationStep> getSteps() {
     return newArrayList(new OSConfig(),
@@ -8,6 +8,7 @@ package com.mulesoft.tools.migration.library.mule.tasks;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.mulesoft.tools.migration.util.MuleVersion.MULE_3_VERSION;
 import static com.mulesoft.tools.migration.util.MuleVersion.MULE_4_VERSION;
+import static java.util.Collections.singleton;
 
 import com.mulesoft.tools.migration.library.mule.steps.quartz.QuartzConnector;
 import com.mulesoft.tools.migration.library.mule.steps.quartz.QuartzGlobalEndpoint;
@@ -17,6 +18,7 @@ import com.mulesoft.tools.migration.step.MigrationStep;
 import com.mulesoft.tools.migration.task.AbstractMigrationTask;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Migration definition for Quartz Transport
@@ -41,6 +43,11 @@ public class QuartzMigrationTask extends AbstractMigrationTask {
     return MULE_3_VERSION;
   }
 
+  @Override
+  public Set<String> getTriggerNamespaces() {
+    return singleton("http://www.mulesoft.org/schema/mule/quartz");
+  }
+
   @Override
   public List<MigrationStep> getSteps() {
     return newArrayList(new QuartzGlobalEndpoint(), new QuartzInboundEndpoint(), new QuartzOutboundEndpoint(),
@@ -27,10 +27,18 @@ import com.mulesoft.tools.migration.step.MigrationStep;
 import com.mulesoft.tools.migration.task.AbstractMigrationTask;
 
 import java.util.List;
+import java.util.Set;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static com.mulesoft.tools.migration.library.tools.SalesforceUtils.DOC_NAMESPACE_URI;
+import static com.mulesoft.tools.migration.library.tools.SalesforceUtils.MULE3_SALESFORCE_NAMESPACE_URI;
+import static com.mulesoft.tools.migration.library.tools.SalesforceUtils.MULE4_SALESFORCE_NAMESPACE_URI;
+import static com.mulesoft.tools.migration.step.util.XmlDslUtils.CORE_EE_NS_URI;
+import static com.mulesoft.tools.migration.step.util.XmlDslUtils.CORE_NS_URI;
 import static com.mulesoft.tools.migration.util.MuleVersion.MULE_3_VERSION;
 import static com.mulesoft.tools.migration.util.MuleVersion.MULE_4_VERSION;
+import static java.util.Collections.singleton;
 
 /**
  * Migration definition for Salesforce
@@ -55,6 +63,24 @@ public class SalesforceMigrationTask extends AbstractMigrationTask {
     return MULE_3_VERSION;
   }
 
+  @Override
+  public Set<String> getReadNamespaces() {
+    // The configurations reference their reconnection strategies
+    return newHashSet(MULE3_SALESFORCE_NAMESPACE_URI, CORE_NS_URI, DOC_NAMESPACE_URI);
+  }
+
+  @Override
+  public Set<String> getWrittenNamespaces() {
+    // The operations are put in the place of the Mule 3 ones in their flows, and some get an EE transform around them
+    return newHashSet(MULE3_SALESFORCE_NAMESPACE_URI, MULE4_SALESFORCE_NAMESPACE_URI, CORE_NS_URI, CORE_EE_NS_URI,
+                      DOC_NAMESPACE_URI);
+  }
+
+  @Override
+  public Set<String> getTriggerNamespaces() {
+    return singleton(MULE3_SALESFORCE_NAMESPACE_URI);
+  }
+
   @Override
   public List<MigrationStep> getSteps() {
     return newArrayList(
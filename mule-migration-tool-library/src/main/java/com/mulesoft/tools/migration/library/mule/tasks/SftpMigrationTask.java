@@ -8,6 +8,7 @@ package com.mulesoft.tools.migration.library.mule.tasks;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.mulesoft.tools.migration.util.MuleVersion.MULE_3_VERSION;
 import static com.mulesoft.tools.migration.util.MuleVersion.MULE_4_VERSION;
+import static java.util.Collections.singleton;
 
 import com.mulesoft.tools.migration.library.mule.steps.sftp.SftpConfig;
 import com.mulesoft.tools.migration.library.mule.steps.sftp.SftpConnectorPomContribution;
@@ -18,6 +19,7 @@ import com.mulesoft.tools.migration.step.MigrationStep;
 import com.mulesoft.tools.migration.task.AbstractMigrationTask;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Migration definition for SFTP Transport
@@ -42,6 +44,11 @@ public class SftpMigrationTask extends AbstractMigrationTask {
     return MULE_3_VERSION;
   }
 
+  @Override
+  public Set<String> getTriggerNamespaces() {
+    return singleton("http://www.mulesoft.org/schema/mule/sftp");
+  }
+
   @Override
   public List<MigrationStep> getSteps() {
     return newArrayList(new SftpConnectorPomContribution(),
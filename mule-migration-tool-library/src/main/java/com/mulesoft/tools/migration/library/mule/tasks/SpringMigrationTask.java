@@ -8,6 +8,7 @@ package com.mulesoft.tools.migration.library.mule.tasks;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.mulesoft.tools.migration.util.MuleVersion.MULE_3_VERSION;
 import static com.mulesoft.tools.migration.util.MuleVersion.MULE_4_VERSION;
+import static java.util.Collections.singleton;
 
 import com.mulesoft.tools.migration.library.mule.steps.spring.AuthorizationFilter;
 import com.mulesoft.tools.migration.library.mule.steps.spring.SecurityManager;
@@ -17,10 +18,13 @@ import com.mulesoft.tools.migration.library.mule.steps.spring.SpringConfigInMule
 import com.mulesoft.tools.migration.library.mule.steps.spring.SpringContext;
 import com.mulesoft.tools.migration.library.mule.steps.spring.SpringContributions;
 import com.mulesoft.tools.migration.library.mule.steps.spring.SpringPomContribution;
+import com.mulesoft.tools.migration.library.munit.tasks.MunitMigrationTask;
 import com.mulesoft.tools.migration.step.MigrationStep;
 import com.mulesoft.tools.migration.task.AbstractMigrationTask;
+import com.mulesoft.tools.migration.task.MigrationTask;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Migrate Spring bean definitions
@@ -45,6 +49,12 @@ public class SpringMigrationTask extends AbstractMigrationTask {
     return MULE_3_VERSION;
   }
 
+  @Override
+  public Set<Class<? extends MigrationTask>> getRunAfterTasks() {
+    // MUnit in Mule 3 has some custom spring components that are removed by the migrator
+    return singleton(MunitMigrationTask.class);
+  }
+
   @Override
   public List<MigrationStep> getSteps() {
     return newArrayList(new SpringPomContribution(),
@@ -47,6 +47,11 @@ public class VmDomainMigrationTask extends AbstractMigrationTask {
     return singleton(MULE_FOUR_DOMAIN);
   }
 
+  @Override
+  public Set<String> getTriggerNamespaces() {
+    return singleton("http://www.mulesoft.org/schema/mule/vm");
+  }
+
   @Override
   public List<MigrationStep> getSteps() {
     return newArrayList(new VmDomainConnector());
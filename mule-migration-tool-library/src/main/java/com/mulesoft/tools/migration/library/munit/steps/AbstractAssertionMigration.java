@@ -7,6 +7,7 @@ package com.mulesoft.tools.migration.library.munit.steps;
 
 import com.mulesoft.tools.migration.step.AbstractApplicationModelMigrationStep;
 import com.mulesoft.tools.migration.step.ExpressionMigratorAware;
+import com.mulesoft.tools.migration.step.category.DocumentLocalContribution;
 import com.mulesoft.tools.migration.util.ExpressionMigrator;
 import org.jdom2.Attribute;
 import org.jdom2.Element;
@@ -20,7 +21,7 @@ import java.util.function.Function;
  * @since 1.0.0
  */
 public abstract class AbstractAssertionMigration extends AbstractApplicationModelMigrationStep
-    implements ExpressionMigratorAware {
+    implements ExpressionMigratorAware, DocumentLocalContribution {
 
   private ExpressionMigrator expressionMigrator;
 
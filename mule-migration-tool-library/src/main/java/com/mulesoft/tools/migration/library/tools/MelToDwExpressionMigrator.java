@@ -5,6 +5,7 @@
  */
 package com.mulesoft.tools.migration.library.tools;
 
+import static com.mulesoft.tools.migration.library.tools.MelTranslationCache.forContextClassLoader;
 import static com.mulesoft.tools.migration.library.tools.PluginsVersions.targetVersion;
 import static com.mulesoft.tools.migration.step.util.XmlDslUtils.addCompatibilityNamespace;
 import static java.lang.String.format;
@@ -14,6 +15,7 @@ import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.apache.commons.lang3.StringUtils.join;
 
 import com.mulesoft.tools.*;
+import com.mulesoft.tools.migration.library.tools.MelTranslationCache.MelTranslation;
 import com.mulesoft.tools.migration.library.tools.mel.DefaultMelCompatibilityResolver;
 import com.mulesoft.tools.migration.library.tools.mel.MelCompatibilityResolver;
 import com.mulesoft.tools.migration.project.model.ApplicationModel;
@@ -22,11 +24,17 @@ import com.mulesoft.tools.migration.step.category.MigrationReport;
 import com.mulesoft.tools.migration.util.ExpressionMigrator;
 
 import org.apache.commons.lang3.StringUtils;
+import org.jdom2.Attribute;
+import org.jdom2.Document;
 import org.jdom2.Element;
+import org.jdom2.filter.Filters;
 import scala.collection.JavaConverters;
+import scala.util.Try;
 
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -84,39 +92,76 @@ public class MelToDwExpressionMigrator implements ExpressionMigrator {
 
   public String translateSingleExpression(String unwrappedExpression, boolean dataWeaveBodyOnly, Element element,
                                           boolean enricher) {
-    String migratedExpression;
-    MigrationResult result;
-    try {
-      result = Migrator.migrate(unwrappedExpression);
-      migratedExpression = result.getGeneratedCode();
-    } catch (Exception e) {
-      return compatibilityResolver.resolve(unwrappedExpression, element, report, model, this, enricher);
+    MelTranslationCache translations = forContextClassLoader();
+    MelTranslation translation = translations.get(unwrappedExpression, dataWeaveBodyOnly);
+    if (translation == null) {
+      translation = translate(unwrappedExpression, dataWeaveBodyOnly);
+      translations.put(unwrappedExpression, dataWeaveBodyOnly, translation);
     }
-    if (result.metadata().children().exists(a -> a instanceof NonMigratable)) {
-      List<NonMigratable> metadata =
-          (List<NonMigratable>) (List<?>) JavaConverters.seqAsJavaList(result.metadata().children())
-              .stream()
-              .filter(a -> a instanceof NonMigratable)
-              .collect(toList());
 
-      metadata.forEach(a -> report.report(a.reason(), element, element));
+    if (translation.isFailed()) {
+      return compatibilityResolver.resolve(unwrappedExpression, element, report, model, this, enricher);
+    }
+    if (translation.isNonMigratable()) {
+      translation.getNonMigratableReasons().forEach(reason -> report.report(reason, element, element));
 
       return new DefaultMelCompatibilityResolver().resolve(unwrappedExpression, element, report, model, this, enricher);
     }
 
-    if (migratedExpression.contains("message.inboundAttachments")) {
+    if (translation.isAttachmentsUsed()) {
       report.report("message.expressionsAttachments", element, element);
     }
 
-    if (result.metadata().children().exists(a -> a instanceof JavaModuleRequired)) {
+    if (translation.isJavaModuleRequired()) {
       Dependency javaModuleDependency = new Dependency.DependencyBuilder()
           .withGroupId("org.mule.module")
           .withArtifactId("mule-java-module")
           .withVersion(targetVersion("mule-java-module"))
           .withClassifier("mule-plugin")
           .build();
-      model.getPomModel().ifPresent(m -> m.addDependency(javaModuleDependency));
+      // Expressions of different documents may be migrated concurrently
+      model.getPomModel().ifPresent(m -> {
+        synchronized (m) {
+          m.addDependency(javaModuleDependency);
+        }
+      });
+    }
+
+    return translation.getMigratedExpression();
+  }
+
+  /**
+   * Translates the expression, keeping what has to be done for each element the expression is in to be replayed.
+   */
+  private MelTranslation translate(String unwrappedExpression, boolean dataWeaveBodyOnly) {
+    MigrationResult result;
+    try {
+      result = Migrator.migrate(unwrappedExpression);
+    } catch (Exception e) {
+      return MelTranslation.failed();
     }
+    return toTranslation(result, dataWeaveBodyOnly);
+  }
+
+  private MelTranslation toTranslation(MigrationResult result, boolean dataWeaveBodyOnly) {
+    String migratedExpression;
+    try {
+      migratedExpression = result.getGeneratedCode();
+    } catch (Exception e) {
+      return MelTranslation.failed();
+    }
+    if (result.metadata().children().exists(a -> a instanceof NonMigratable)) {
+      List<String> nonMigratableReasons = JavaConverters.seqAsJavaList(result.metadata().children())
+          .stream()
+          .filter(a -> a instanceof NonMigratable)
+          .map(a -> ((NonMigratable) a).reason())
+          .collect(toList());
+
+      return MelTranslation.nonMigratable(nonMigratableReasons);
+    }
+
+    boolean attachmentsUsed = migratedExpression.contains("message.inboundAttachments");
+    boolean javaModuleRequired = result.metadata().children().exists(a -> a instanceof JavaModuleRequired);
 
     migratedExpression = resolveServerContext(migratedExpression);
     migratedExpression = resolveIdentifiers(migratedExpression);
@@ -125,7 +170,67 @@ public class MelToDwExpressionMigrator implements ExpressionMigrator {
       migratedExpression = migratedExpression.replaceFirst("%dw 2\\.0\n---", "").trim();
     }
 
-    return escapeUnderscores(migratedExpression);
+    return MelTranslation.migrated(escapeUnderscores(migratedExpression), attachmentsUsed, javaModuleRequired);
+  }
+
+  /**
+   * Translates the MEL expressions in the attributes and texts of all the configuration files of the application at once, on
+   * the common fork/join pool. The translations are cached, so the expressions the tasks migrate afterwards are just looked up.
+   *
+   * @since 1.2.1
+   */
+  public void translateExpressions() {
+    Set<String> expressions = new LinkedHashSet<>();
+    for (Document document : model.getApplicationDocuments().values()) {
+      collectExpressions(document.getRootElement(), expressions);
+      for (Element element : document.getRootElement().getDescendants(Filters.element())) {
+        collectExpressions(element, expressions);
+      }
+    }
+
+    MelTranslationCache translations = forContextClassLoader();
+    List<String> untranslated = expressions.stream()
+        .filter(expression -> translations.get(expression, true) == null)
+        .collect(toList());
+    if (untranslated.isEmpty()) {
+      return;
+    }
+
+    List<Try<MigrationResult>> results = Migrator.migrateAll(untranslated);
+    for (int i = 0; i < untranslated.size(); ++i) {
+      Try<MigrationResult> result = results.get(i);
+      translations.put(untranslated.get(i), true,
+                       result.isSuccess() ? toTranslation(result.get(), true) : MelTranslation.failed());
+    }
+  }
+
+  private void collectExpressions(Element element, Set<String> expressions) {
+    for (Attribute attribute : element.getAttributes()) {
+      collectExpressions(attribute.getValue(), expressions);
+    }
+    collectExpressions(element.getText(), expressions);
+  }
+
+  /**
+   * Collects the expressions to translate the same way {@link #migrateExpression(String, boolean, Element, boolean)} gets them.
+   */
+  private void collectExpressions(String value, Set<String> expressions) {
+    if (!value.contains("#[")) {
+      return;
+    }
+    String unwrapped = unwrap(value).replaceAll("mel:", "");
+    if (!unwrapped.contains("#[")) {
+      expressions.add(unwrapped);
+    } else {
+      try {
+        TemplateParser.createMuleStyleParser().translate(value, script -> {
+          expressions.add(script);
+          return script;
+        });
+      } catch (RuntimeException e) {
+        // Not a valid template, it is reported when a task migrates it
+      }
+    }
   }
 
   private String resolveServerContext(String expression) {
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.library.tools;
+
+import static java.lang.Thread.currentThread;
+import static java.util.Collections.synchronizedMap;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+/**
+ * Caches the translations of MEL expressions to DataWeave, so the same expression is not parsed and translated again every time
+ * it is found in an application.
+ * <p>
+ * A translation depends on the expression and on the classes the context class loader it was translated with can load. The
+ * translations made with the same context class loader are shared by the migrators of all the jobs run with it in this JVM.
+ * What depends on the element the expression is in, such as the report entries, is kept in the translation to be replayed for
+ * each element.
+ *
+ * @author Mulesoft Inc.
+ * @since 1.2.1
+ */
+final class MelTranslationCache {
+
+  static final int MAX_TRANSLATIONS = 4096;
+
+  private static final Map<ClassLoader, MelTranslationCache> CACHES = new WeakHashMap<>();
+
+  private final Map<TranslationKey, MelTranslation> translations =
+      synchronizedMap(new LinkedHashMap<TranslationKey, MelTranslation>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<TranslationKey, MelTranslation> eldest) {
+          return size() > MAX_TRANSLATIONS;
+        }
+      });
+
+  /**
+   * @return the cache of the translations made with the context class loader of the current thread
+   */
+  static MelTranslationCache forContextClassLoader() {
+    ClassLoader classLoader = currentThread().getContextClassLoader();
+    synchronized (CACHES) {
+      return CACHES.computeIfAbsent(classLoader, cl -> new MelTranslationCache());
+    }
+  }
+
+  /**
+   * @param expression the unwrapped MEL expression
+   * @param dataWeaveBodyOnly whether the translation has the DataWeave header
+   * @return the cached translation of the expression, or {@code null} if it is not cached
+   */
+  MelTranslation get(String expression, boolean dataWeaveBodyOnly) {
+    return translations.get(new TranslationKey(expression, dataWeaveBodyOnly));
+  }
+
+  /**
+   * @param expression the unwrapped MEL expression
+   * @param dataWeaveBodyOnly whether the translation has the DataWeave header
+   * @param translation the translation of the expression
+   */
+  void put(String expression, boolean dataWeaveBodyOnly, MelTranslation translation) {
+    translations.put(new TranslationKey(expression, dataWeaveBodyOnly), translation);
+  }
+
+  /**
+   * The outcome of translating a MEL expression.
+   */
+  static final class MelTranslation {
+
+    private static final MelTranslation FAILED = new MelTranslation(true, null, null, false, false);
+
+    private final boolean failed;
+    private final List<String> nonMigratableReasons;
+    private final String migratedExpression;
+    private final boolean attachmentsUsed;
+    private final boolean javaModuleRequired;
+
+    private MelTranslation(boolean failed, List<String> nonMigratableReasons, String migratedExpression,
+                           boolean attachmentsUsed, boolean javaModuleRequired) {
+      this.failed = failed;
+      this.nonMigratableReasons = nonMigratableReasons;
+      this.migratedExpression = migratedExpression;
+      this.attachmentsUsed = attachmentsUsed;
+      this.javaModuleRequired = javaModuleRequired;
+    }
+
+    /**
+     * @return the translation of an expression that could not be parsed
+     */
+    static MelTranslation failed() {
+      return FAILED;
+    }
+
+    /**
+     * @param nonMigratableReasons the reasons why parts of the expression cannot be migrated
+     * @return the translation of an expression that has to be resolved through compatibility
+     */
+    static MelTranslation nonMigratable(List<String> nonMigratableReasons) {
+      return new MelTranslation(false, unmodifiableList(nonMigratableReasons), null, false, false);
+    }
+
+    /**
+     * @param migratedExpression the DataWeave expression
+     * @param attachmentsUsed whether the expression accesses the inbound attachments
+     * @param javaModuleRequired whether the expression requires the Java module
+     * @return the translation of a migrated expression
+     */
+    static MelTranslation migrated(String migratedExpression, boolean attachmentsUsed, boolean javaModuleRequired) {
+      return new MelTranslation(false, null, migratedExpression, attachmentsUsed, javaModuleRequired);
+    }
+
+    boolean isFailed() {
+      return failed;
+    }
+
+    boolean isNonMigratable() {
+      return nonMigratableReasons != null;
+    }
+
+    List<String> getNonMigratableReasons() {
+      return nonMigratableReasons;
+    }
+
+    String getMigratedExpression() {
+      return migratedExpression;
+    }
+
+    boolean isAttachmentsUsed() {
+      return attachmentsUsed;
+    }
+
+    boolean isJavaModuleRequired() {
+      return javaModuleRequired;
+    }
+  }
+
+  private static final class TranslationKey {
+
+    private final String expression;
+    private final boolean dataWeaveBodyOnly;
+
+    private TranslationKey(String expression, boolean dataWeaveBodyOnly) {
+      this.expression = expression;
+      this.dataWeaveBodyOnly = dataWeaveBodyOnly;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(expression, dataWeaveBodyOnly);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof TranslationKey)) {
+        return false;
+      }
+      TranslationKey other = (TranslationKey) obj;
+      return dataWeaveBodyOnly == other.dataWeaveBodyOnly && expression.equals(other.expression);
+    }
+  }
+}
@@ -5,6 +5,8 @@
  */
 package com.mulesoft.tools.migration.library.tools.mel;
 
+import static java.util.Collections.unmodifiableList;
+
 import com.mulesoft.tools.migration.project.model.ApplicationModel;
 import com.mulesoft.tools.migration.step.category.MigrationReport;
 import com.mulesoft.tools.migration.util.CompatibilityResolver;
@@ -23,17 +25,18 @@ import java.util.List;
  */
 public class HeaderSyntaxCompatibilityResolver implements CompatibilityResolver<String> {
 
-  private static List<CompatibilityResolver<String>> resolvers;
+  private static final List<CompatibilityResolver<String>> resolvers;
 
   static {
-    resolvers = new ArrayList<>();
-    resolvers.add(new InboundPropertiesCompatibilityResolver());
-    resolvers.add(new OutboundPropertiesCompatibilityResolver());
-    resolvers.add(new InvocationPropertiesCompatibilityResolver());
-    resolvers.add(new SessionVariablesCompatibilityResolver());
-    resolvers.add(new VariablesCompatibilityResolver());
-    resolvers.add(new Encode64Resolver());
-    resolvers.add(new FunctionExpressionEvaluatorResolver());
+    List<CompatibilityResolver<String>> resolverList = new ArrayList<>();
+    resolverList.add(new InboundPropertiesCompatibilityResolver());
+    resolverList.add(new OutboundPropertiesCompatibilityResolver());
+    resolverList.add(new InvocationPropertiesCompatibilityResolver());
+    resolverList.add(new SessionVariablesCompatibilityResolver());
+    resolverList.add(new VariablesCompatibilityResolver());
+    resolverList.add(new Encode64Resolver());
+    resolverList.add(new FunctionExpressionEvaluatorResolver());
+    resolvers = unmodifiableList(resolverList);
   }
 
 
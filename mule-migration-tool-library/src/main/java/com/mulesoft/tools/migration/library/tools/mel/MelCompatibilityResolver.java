@@ -5,6 +5,8 @@
  */
 package com.mulesoft.tools.migration.library.tools.mel;
 
+import static java.util.Collections.unmodifiableList;
+
 import com.mulesoft.tools.migration.project.model.ApplicationModel;
 import com.mulesoft.tools.migration.step.category.MigrationReport;
 import com.mulesoft.tools.migration.util.CompatibilityResolver;
@@ -23,12 +25,13 @@ import java.util.List;
  */
 public class MelCompatibilityResolver implements CompatibilityResolver<String> {
 
-  private static List<CompatibilityResolver<String>> resolvers;
+  private static final List<CompatibilityResolver<String>> resolvers;
 
   static {
-    resolvers = new ArrayList<>();
-    resolvers.add(new InboundAttachmentsCompatibilityResolver());
-    resolvers.add(new HeaderSyntaxCompatibilityResolver());
+    List<CompatibilityResolver<String>> resolverList = new ArrayList<>();
+    resolverList.add(new InboundAttachmentsCompatibilityResolver());
+    resolverList.add(new HeaderSyntaxCompatibilityResolver());
+    resolvers = unmodifiableList(resolverList);
   }
 
   @Override
@@ -138,6 +138,9 @@ public class DomainTest {
             return of(elementsFromDocument.iterator().next());
           }
         });
+    when(domainModel.getReferencingElements(any(String.class), any(String.class)))
+        .thenAnswer(invocation -> getElementsFromDocument(domainDoc, "//*[@" + invocation.getArguments()[0] + "='"
+            + invocation.getArguments()[1] + "']", "domain"));
     when(domainModel.getProjectBasePath()).thenReturn(temp.newFolder().toPath());
     when(domainModel.getPomModel()).thenReturn(of(mock(PomModel.class)));
 
@@ -171,6 +174,9 @@ public class DomainTest {
             return of(elementsFromDocument.iterator().next());
           }
         });
+    when(appModel.getReferencingElements(any(String.class), any(String.class)))
+        .thenAnswer(invocation -> getElementsFromDocuments("//*[@" + invocation.getArguments()[0] + "='"
+            + invocation.getArguments()[1] + "']"));
     when(appModel.getProjectBasePath()).thenReturn(temp.newFolder().toPath());
     when(appModel.getPomModel()).thenReturn(of(mock(PomModel.class)));
 
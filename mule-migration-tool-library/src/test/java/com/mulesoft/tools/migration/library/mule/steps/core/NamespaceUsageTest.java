@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.library.mule.steps.core;
+
+import static com.mulesoft.tools.migration.helper.DocumentHelper.getDocument;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public class NamespaceUsageTest {
+
+  private static final Path FILE_SAMPLE_PATH = Paths.get("mule/examples/core/namespaces/unsupported-namespace.xml");
+
+  private static final String CORE_URI = "http://www.mulesoft.org/schema/mule/core";
+  private static final String SFDC_URI = "http://www.mulesoft.org/schema/mule/sfdc";
+
+  @Test
+  public void countsElementsOfEachNamespace() throws Exception {
+    NamespaceUsage namespaceUsage = NamespaceUsage.scan(getSampleDocument());
+
+    assertThat(namespaceUsage.getElementCount(CORE_URI), is(3));
+    assertThat(namespaceUsage.getElementCount(SFDC_URI), is(1));
+    assertThat(namespaceUsage.isUsed(SFDC_URI), is(true));
+    assertThat(namespaceUsage.isUsed("http://www.mulesoft.org/schema/mule/documentation"), is(false));
+  }
+
+  @Test
+  public void entryPointsSkipNestedElementsOfTheSameNamespace() throws Exception {
+    Document document = getSampleDocument();
+    Element operation = document.getRootElement().getChild("flow", Namespace.getNamespace(CORE_URI))
+        .getChild("no-source-operation-selected", Namespace.getNamespace(SFDC_URI));
+    operation.addContent(new Element("nested", Namespace.getNamespace(SFDC_URI)));
+
+    NamespaceUsage namespaceUsage = NamespaceUsage.scan(document);
+
+    assertThat(namespaceUsage.getElementCount(SFDC_URI), is(2));
+    assertThat(namespaceUsage.getEntryPoints(SFDC_URI), contains(operation));
+    assertThat(namespaceUsage.getEntryPoints(CORE_URI), contains(document.getRootElement()));
+    assertThat(namespaceUsage.getEntryPoints("http://www.mulesoft.org/schema/mule/documentation"), is(empty()));
+  }
+
+  private Document getSampleDocument() throws Exception {
+    return getDocument(this.getClass().getClassLoader().getResource(FILE_SAMPLE_PATH.toString()).toURI().getPath());
+  }
+}
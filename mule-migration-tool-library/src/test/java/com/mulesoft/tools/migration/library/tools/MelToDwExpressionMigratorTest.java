@@ -6,6 +6,7 @@
 package com.mulesoft.tools.migration.library.tools;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static java.util.Collections.singletonMap;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -14,13 +15,17 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.StringReader;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Optional;
 
 import com.mulesoft.tools.migration.project.model.pom.PomModel;
 import com.mulesoft.tools.migration.project.model.pom.PomModelUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.jdom2.Document;
 import org.jdom2.Element;
+import org.jdom2.input.SAXBuilder;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -585,6 +590,44 @@ public class MelToDwExpressionMigratorTest {
     assertThat(result, is("#[mel:message.payloadAs(com.lala.Pepe)]"));
   }
 
+  @Test
+  public void migrateCachedPayloadAsFailureReportsEachElement() {
+    String script = "#[message.payloadAs(com.lala.Pepe)]";
+    Element elementMock = mock(Element.class);
+    Element otherElementMock = mock(Element.class);
+    String result = expressionMigrator.migrateExpression(script, true, elementMock);
+    String otherResult = expressionMigrator.migrateExpression(script, true, otherElementMock);
+    verify(reportMock).report(eq("expressions.methodInvocation"), eq(elementMock), eq(elementMock));
+    verify(reportMock).report(eq("expressions.methodInvocation"), eq(otherElementMock), eq(otherElementMock));
+    assertThat(otherResult, is(result));
+  }
+
+  @Test
+  public void migrateCachedNotMigratableExpressionReportsEachElement() {
+    Element elementMock = mock(Element.class);
+    Element otherElementMock = mock(Element.class);
+    expressionMigrator.migrateExpression("#[OUTBOUND:BLA]", false, elementMock);
+    new MelToDwExpressionMigrator(reportMock, modelMock).migrateExpression("#[OUTBOUND:BLA]", false, otherElementMock);
+    verify(reportMock).report(eq("expressions.melToDw"), eq(elementMock), eq(elementMock));
+    verify(reportMock).report(eq("expressions.melToDw"), eq(otherElementMock), eq(otherElementMock));
+  }
+
+  @Test
+  public void migrateTranslatedExpressions() throws Exception {
+    Document document = new SAXBuilder().build(new StringReader("<mule>"
+        + "<set-payload value=\"#[message.inboundProperties.foo]\"/>"
+        + "<logger message=\"Hello #[flowVars.name]\"/>"
+        + "<expression-component>#[recordVars.count + 1]</expression-component>"
+        + "</mule>"));
+    when(modelMock.getApplicationDocuments()).thenReturn(singletonMap(Paths.get("mule-config.xml"), document));
+    ((MelToDwExpressionMigrator) expressionMigrator).translateExpressions();
+
+    assertThat(expressionMigrator.migrateExpression("#[message.inboundProperties.foo]", true, null),
+               is("#[vars.compatibility_inboundProperties.foo]"));
+    assertThat(expressionMigrator.migrateExpression("Hello #[flowVars.name]", true, null), is("#[\"Hello $(vars.name)\"]"));
+    assertThat(expressionMigrator.migrateExpression("#[recordVars.count + 1]", true, null), is("#[vars.count + 1]"));
+  }
+
   @Test
   public void migrateSystemCurrentTimeMillis() {
     String script = "#[System.currentTimeMillis()]";
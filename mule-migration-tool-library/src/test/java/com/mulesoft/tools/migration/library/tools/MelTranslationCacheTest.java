@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.library.tools;
+
+import static com.mulesoft.tools.migration.library.tools.MelTranslationCache.MAX_TRANSLATIONS;
+import static java.util.Collections.singletonList;
+import static java.lang.Thread.currentThread;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.mulesoft.tools.migration.library.tools.MelTranslationCache.MelTranslation;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+public class MelTranslationCacheTest {
+
+  private MelTranslationCache cache;
+
+  @Before
+  public void setUp() {
+    cache = new MelTranslationCache();
+  }
+
+  @Test
+  public void keyedByBodyOnly() {
+    MelTranslation translation = MelTranslation.migrated("payload", false, false);
+    cache.put("payload", true, translation);
+
+    assertThat(cache.get("payload", true), sameInstance(translation));
+    assertThat(cache.get("payload", false), nullValue());
+  }
+
+  @Test
+  public void translationsKeepWhatToReplay() {
+    MelTranslation nonMigratable = MelTranslation.nonMigratable(singletonList("expressions.methodInvocation"));
+    assertThat(nonMigratable.isNonMigratable(), is(true));
+    assertThat(nonMigratable.getNonMigratableReasons(), is(singletonList("expressions.methodInvocation")));
+
+    MelTranslation migrated = MelTranslation.migrated("payload", true, true);
+    assertThat(migrated.isFailed(), is(false));
+    assertThat(migrated.isNonMigratable(), is(false));
+    assertThat(migrated.isAttachmentsUsed(), is(true));
+    assertThat(migrated.isJavaModuleRequired(), is(true));
+
+    assertThat(MelTranslation.failed().isFailed(), is(true));
+  }
+
+  @Test
+  public void leastRecentlyUsedIsEvicted() {
+    for (int i = 0; i < MAX_TRANSLATIONS; ++i) {
+      cache.put("vars.v" + i, true, MelTranslation.migrated("vars.v" + i, false, false));
+    }
+    cache.get("vars.v0", true);
+    cache.put("payload", true, MelTranslation.migrated("payload", false, false));
+
+    assertThat(cache.get("vars.v0", true), notNullValue());
+    assertThat(cache.get("vars.v1", true), nullValue());
+    assertThat(cache.get("payload", true), notNullValue());
+  }
+
+  @Test
+  public void cachePerContextClassLoader() {
+    MelTranslationCache translations = MelTranslationCache.forContextClassLoader();
+    assertThat(MelTranslationCache.forContextClassLoader(), sameInstance(translations));
+
+    ClassLoader originalClassLoader = currentThread().getContextClassLoader();
+    currentThread().setContextClassLoader(new URLClassLoader(new URL[0], originalClassLoader));
+    try {
+      assertThat(MelTranslationCache.forContextClassLoader(), not(sameInstance(translations)));
+    } finally {
+      currentThread().setContextClassLoader(originalClassLoader);
+    }
+    assertThat(MelTranslationCache.forContextClassLoader(), sameInstance(translations));
+  }
+}
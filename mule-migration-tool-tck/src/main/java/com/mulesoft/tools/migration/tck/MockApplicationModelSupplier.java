@@ -51,12 +51,31 @@ public class MockApplicationModelSupplier {
             return of(elementsFromDocument.iterator().next());
           }
         });
+    when(appModel.exists(any(String.class)))
+        .thenAnswer(invocation -> !getElementsFromDocument(doc, (String) invocation.getArguments()[0]).isEmpty());
+    when(appModel.findFirst(any(String.class)))
+        .thenAnswer(invocation -> getElementsFromDocument(doc, (String) invocation.getArguments()[0]).stream().findFirst());
+    when(appModel.count(any(String.class)))
+        .thenAnswer(invocation -> getElementsFromDocument(doc, (String) invocation.getArguments()[0]).size());
+    when(appModel.getReferencingElements(any(String.class), any(String.class)))
+        .thenAnswer(invocation -> getReferencingElements(doc, (String) invocation.getArguments()[0],
+                                                         (String) invocation.getArguments()[1]));
     when(appModel.getProjectBasePath()).thenReturn(temp.newFolder().toPath());
     when(appModel.getPomModel()).thenReturn(of(mock(PomModel.class)));
 
     return appModel;
   }
 
+  private static List<Element> getReferencingElements(Document doc, String attributeName, String value) {
+    List<Element> elements = new ArrayList<>();
+    doc.getDescendants(Filters.element()).forEach(e -> {
+      if (value.equals(e.getAttributeValue(attributeName))) {
+        elements.add(e);
+      }
+    });
+    return elements;
+  }
+
   private static List<Element> getElementsFromDocument(Document doc, String xPathExpression) {
     return getElementsFromDocument(doc, xPathExpression, "mule");
   }
@@ -0,0 +1,402 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration.tck;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates Mule 3 projects of any size, to measure how the migration scales with the size of the migrated project.
+ * <p>
+ * The generated application has the given number of configuration files, each with the given number of flows and either its own
+ * connector configurations or the ones shared from a global configuration file. Each flow uses every connector of the mix and
+ * has the given number of MEL expressions. MUnit suites test the flows of the application and, if a domain is generated, the
+ * HTTP listener configuration is shared from it.
+ *
+ * @author Mulesoft Inc.
+ * @since 1.2.1
+ */
+public class SyntheticProjectBuilder {
+
+  /**
+   * The connectors that the generated flows may use.
+   */
+  public enum Connector {
+    HTTP, JMS, FILE, DB, VM, SPRING
+  }
+
+  private static final String CORE_NAMESPACE = "http://www.mulesoft.org/schema/mule/core";
+  private static final String CORE_SCHEMA = CORE_NAMESPACE + "/current/mule.xsd";
+
+  private static final String GLOBAL = "global";
+  private static final String GLOBAL_CONFIG_FILE = "global-config.xml";
+
+  private static final List<String> MEL_EXPRESSIONS = asList("#[payload]",
+                                                             "#[message.inboundProperties['http.query.params'].param%d]",
+                                                             "#[flowVars.var%d == null ? 'none' : flowVars.var%d]",
+                                                             "#[message.id + '-%d']",
+                                                             "#[payload.toString().length() > %d]",
+                                                             "#[message.outboundProperties['header%d']]",
+                                                             "#[server.dateTime.plusDays(%d)]",
+                                                             "Processed #[message.inboundProperties['id%d']] at #[server.dateTime]");
+
+  private String name = "synthetic-app";
+  private int configFiles = 1;
+  private int flowsPerFile = 10;
+  private Set<Connector> connectors = EnumSet.allOf(Connector.class);
+  private int melExpressionsPerFlow = 3;
+  private int munitSuites = 1;
+  private String domainName;
+  private boolean sharedConnectors = false;
+  private boolean maven = true;
+
+  /**
+   * @param name the name of the generated application, also the name of its folder
+   * @return this builder
+   */
+  public SyntheticProjectBuilder withName(String name) {
+    this.name = name;
+    return this;
+  }
+
+  /**
+   * @param configFiles the number of configuration files of the application
+   * @return this builder
+   */
+  public SyntheticProjectBuilder withConfigFiles(int configFiles) {
+    this.configFiles = configFiles;
+    return this;
+  }
+
+  /**
+   * @param flowsPerFile the number of flows in each configuration file
+   * @return this builder
+   */
+  public SyntheticProjectBuilder withFlowsPerFile(int flowsPerFile) {
+    this.flowsPerFile = flowsPerFile;
+    return this;
+  }
+
+  /**
+   * @param connectors the connectors used by each flow
+   * @return this builder
+   */
+  public SyntheticProjectBuilder withConnectors(Connector... connectors) {
+    this.connectors = connectors.length == 0 ? EnumSet.noneOf(Connector.class) : EnumSet.copyOf(asList(connectors));
+    return this;
+  }
+
+  /**
+   * @param melExpressionsPerFlow the number of MEL expressions in each flow, besides the ones the connectors use
+   * @return this builder
+   */
+  public SyntheticProjectBuilder withMelExpressionsPerFlow(int melExpressionsPerFlow) {
+    this.melExpressionsPerFlow = melExpressionsPerFlow;
+    return this;
+  }
+
+  /**
+   * @param munitSuites the number of MUnit suites, each one testing the flows of a configuration file
+   * @return this builder
+   */
+  public SyntheticProjectBuilder withMunitSuites(int munitSuites) {
+    this.munitSuites = munitSuites;
+    return this;
+  }
+
+  /**
+   * @param domainName the name of the domain the application is deployed to, {@code null} for no domain
+   * @return this builder
+   */
+  public SyntheticProjectBuilder withDomain(String domainName) {
+    this.domainName = domainName;
+    return this;
+  }
+
+  /**
+   * @param sharedConnectors whether the connector configurations are declared once in a global configuration file and shared by
+   *        all the flows, instead of declared in each configuration file for its own flows
+   * @return this builder
+   */
+  public SyntheticProjectBuilder withSharedConnectors(boolean sharedConnectors) {
+    this.sharedConnectors = sharedConnectors;
+    return this;
+  }
+
+  /**
+   * @param maven whether the generated projects are Maven projects
+   * @return this builder
+   */
+  public SyntheticProjectBuilder withMaven(boolean maven) {
+    this.maven = maven;
+    return this;
+  }
+
+  /**
+   * Writes the application, and its domain if one was set, to the given folder.
+   *
+   * @param destination the folder to write the projects to
+   * @return the generated projects
+   * @throws IOException if the projects cannot be written
+   */
+  public SyntheticProject generate(Path destination) throws IOException {
+    Path domainPath = null;
+    if (domainName != null) {
+      domainPath = destination.resolve(domainName);
+      generateDomain(domainPath);
+    }
+
+    Path applicationPath = destination.resolve(name);
+    Path appFolder = applicationPath.resolve("src").resolve("main").resolve("app");
+    Files.createDirectories(appFolder);
+    List<String> configFileNames = new ArrayList<>();
+    if (sharedConnectors) {
+      configFileNames.add(GLOBAL_CONFIG_FILE);
+      write(appFolder.resolve(GLOBAL_CONFIG_FILE), header(connectors) + connectorConfigs(GLOBAL) + "</mule>\n");
+    }
+    for (int file = 0; file < configFiles; ++file) {
+      String configFileName = "config-" + file + ".xml";
+      configFileNames.add(configFileName);
+      write(appFolder.resolve(configFileName), config(file));
+    }
+    write(appFolder.resolve("mule-app.properties"), "http.port=8081\nhttp.host=0.0.0.0\n");
+    write(appFolder.resolve("mule-deploy.properties"), "redeployment.enabled=true\n"
+        + "encoding=UTF-8\n"
+        + "config.resources=" + String.join(",", configFileNames) + "\n"
+        + (domainName != null ? "domain=" + domainName + "\n" : ""));
+
+    if (munitSuites > 0) {
+      Path munitFolder = applicationPath.resolve("src").resolve("test").resolve("munit");
+      Files.createDirectories(munitFolder);
+      for (int suite = 0; suite < munitSuites; ++suite) {
+        write(munitFolder.resolve("config-" + suite + "-test-suite.xml"), munitSuite(suite % configFiles));
+      }
+    }
+
+    if (maven) {
+      write(applicationPath.resolve("pom.xml"), pom(name, "mule"));
+    }
+
+    return new SyntheticProject(applicationPath, domainPath);
+  }
+
+  private void generateDomain(Path domainPath) throws IOException {
+    Path domainFolder = domainPath.resolve("src").resolve("main").resolve("domain");
+    Files.createDirectories(domainFolder);
+    write(domainFolder.resolve("mule-domain-config.xml"), "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<domain:mule-domain xmlns=\"" + CORE_NAMESPACE + "\"\n"
+        + "    xmlns:domain=\"http://www.mulesoft.org/schema/mule/ee/domain\"\n"
+        + "    xmlns:http=\"http://www.mulesoft.org/schema/mule/http\"\n"
+        + "    xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n"
+        + "    xsi:schemaLocation=\"" + CORE_NAMESPACE + " " + CORE_SCHEMA + "\n"
+        + "http://www.mulesoft.org/schema/mule/ee/domain http://www.mulesoft.org/schema/mule/ee/domain/current/mule-domain-ee.xsd\n"
+        + "http://www.mulesoft.org/schema/mule/http http://www.mulesoft.org/schema/mule/http/current/mule-http.xsd\">\n"
+        + "    <http:listener-config name=\"" + domainName + "_listener\" host=\"0.0.0.0\" port=\"8081\"/>\n"
+        + "</domain:mule-domain>\n");
+    if (maven) {
+      write(domainPath.resolve("pom.xml"), pom(domainName, "mule-domain"));
+    }
+  }
+
+  private String connectorConfigs(String owner) {
+    StringBuilder config = new StringBuilder();
+    if (connectors.contains(Connector.HTTP)) {
+      if (domainName == null) {
+        config.append("    <http:listener-config name=\"listener_" + owner
+            + "\" host=\"${http.host}\" port=\"${http.port}\"/>\n");
+      }
+      config.append("    <http:request-config name=\"request_" + owner + "\" host=\"localhost\" port=\"8082\"/>\n");
+    }
+    if (connectors.contains(Connector.JMS)) {
+      config.append("    <jms:activemq-connector name=\"jms_" + owner + "\" specification=\"1.1\"/>\n");
+    }
+    if (connectors.contains(Connector.FILE)) {
+      config.append("    <file:connector name=\"file_" + owner + "\" autoDelete=\"true\" pollingFrequency=\"1000\"/>\n");
+    }
+    if (connectors.contains(Connector.DB)) {
+      config.append("    <db:derby-config name=\"db_" + owner + "\" url=\"jdbc:derby:target/db_" + owner
+          + ";create=true\"/>\n");
+    }
+    if (connectors.contains(Connector.VM)) {
+      config.append("    <vm:connector name=\"vm_" + owner + "\"/>\n");
+    }
+    if (connectors.contains(Connector.SPRING)) {
+      config.append("    <spring:beans>\n");
+      config.append("        <spring:bean id=\"bean_" + owner + "\" class=\"java.util.HashMap\"/>\n");
+      config.append("    </spring:beans>\n");
+    }
+    return config.toString();
+  }
+
+  private String config(int file) {
+    String owner = sharedConnectors ? GLOBAL : String.valueOf(file);
+    StringBuilder config = new StringBuilder();
+    config.append(header(connectors));
+    if (!sharedConnectors) {
+      config.append(connectorConfigs(owner));
+    }
+
+    for (int flow = 0; flow < flowsPerFile; ++flow) {
+      config.append("\n    <flow name=\"" + flowName(file, flow) + "\">\n");
+      if (connectors.contains(Connector.HTTP)) {
+        String listenerConfig = domainName != null ? domainName + "_listener" : "listener_" + owner;
+        config.append("        <http:listener config-ref=\"" + listenerConfig + "\" path=\"/" + file + "/" + flow + "\"/>\n");
+      }
+      for (int expression = 0; expression < melExpressionsPerFlow; ++expression) {
+        config.append("        <set-variable variableName=\"var" + expression + "\" value=\""
+            + melExpression(file * flowsPerFile + flow, expression) + "\"/>\n");
+      }
+      if (connectors.contains(Connector.HTTP)) {
+        config.append("        <http:request config-ref=\"request_" + owner + "\" path=\"/" + flow + "\" method=\"POST\"/>\n");
+      }
+      if (connectors.contains(Connector.JMS)) {
+        config.append("        <jms:outbound-endpoint queue=\"out." + file + "." + flow + "\" connector-ref=\"jms_" + owner
+            + "\"/>\n");
+      }
+      if (connectors.contains(Connector.FILE)) {
+        config.append("        <file:outbound-endpoint path=\"/tmp/out/" + file + "\" outputPattern=\"#[message.id]-" + flow
+            + ".txt\" connector-ref=\"file_" + owner + "\"/>\n");
+      }
+      if (connectors.contains(Connector.DB)) {
+        config.append("        <db:select config-ref=\"db_" + owner + "\">\n");
+        config.append("            <db:parameterized-query>select * from PLANET where ID = #[flowVars.var0]"
+            + "</db:parameterized-query>\n");
+        config.append("        </db:select>\n");
+      }
+      if (connectors.contains(Connector.VM)) {
+        config.append("        <vm:outbound-endpoint path=\"vm." + file + "." + flow + "\" connector-ref=\"vm_" + owner
+            + "\"/>\n");
+      }
+      if (connectors.contains(Connector.SPRING)) {
+        config.append("        <set-payload value=\"#[app.registry.bean_" + owner + "]\"/>\n");
+      }
+      config.append("        <logger message=\"" + melExpression(flow, MEL_EXPRESSIONS.size() - 1) + "\" level=\"INFO\"/>\n");
+      config.append("    </flow>\n");
+    }
+    config.append("</mule>\n");
+    return config.toString();
+  }
+
+  private String munitSuite(int file) {
+    StringBuilder suite = new StringBuilder();
+    suite.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    suite.append("<mule xmlns=\"" + CORE_NAMESPACE + "\"\n");
+    suite.append("    xmlns:munit=\"http://www.mulesoft.org/schema/mule/munit\"\n");
+    suite.append("    xmlns:spring=\"http://www.springframework.org/schema/beans\"\n");
+    suite.append("    xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n");
+    suite.append("    xsi:schemaLocation=\"" + CORE_NAMESPACE + " " + CORE_SCHEMA + "\n");
+    suite.append("http://www.mulesoft.org/schema/mule/munit http://www.mulesoft.org/schema/mule/munit/current/mule-munit.xsd\n");
+    suite.append("http://www.springframework.org/schema/beans "
+        + "http://www.springframework.org/schema/beans/spring-beans-current.xsd\">\n");
+    suite.append("    <munit:config name=\"munit\"/>\n");
+    suite.append("    <spring:beans>\n");
+    if (sharedConnectors) {
+      suite.append("        <spring:import resource=\"classpath:" + GLOBAL_CONFIG_FILE + "\"/>\n");
+    }
+    suite.append("        <spring:import resource=\"classpath:config-" + file + ".xml\"/>\n");
+    suite.append("    </spring:beans>\n");
+    for (int flow = 0; flow < flowsPerFile; ++flow) {
+      suite.append("\n    <munit:test name=\"" + flowName(file, flow) + "Test\" description=\"Test\">\n");
+      suite.append("        <munit:set payload=\"#['sample payload']\"/>\n");
+      suite.append("        <flow-ref name=\"" + flowName(file, flow) + "\"/>\n");
+      suite.append("        <munit:assert-payload-equals message=\"#['Not the same']\"");
+      suite.append(" expectedValue=\"#['sample payload']\"/>\n");
+      suite.append("    </munit:test>\n");
+    }
+    suite.append("</mule>\n");
+    return suite.toString();
+  }
+
+  private static String header(Set<Connector> connectors) {
+    StringBuilder namespaces = new StringBuilder();
+    StringBuilder schemaLocations = new StringBuilder(CORE_NAMESPACE + " " + CORE_SCHEMA);
+    for (Connector connector : connectors) {
+      String prefix = connector.name().toLowerCase();
+      String namespace;
+      String schema;
+      if (connector == Connector.SPRING) {
+        namespace = "http://www.springframework.org/schema/beans";
+        schema = namespace + "/spring-beans-current.xsd";
+      } else {
+        namespace = "http://www.mulesoft.org/schema/mule/" + prefix;
+        schema = namespace + "/current/mule-" + prefix + ".xsd";
+      }
+      namespaces.append("    xmlns:" + prefix + "=\"" + namespace + "\"\n");
+      schemaLocations.append("\n" + namespace + " " + schema);
+    }
+    return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<mule xmlns=\"" + CORE_NAMESPACE + "\"\n"
+        + namespaces
+        + "    xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n"
+        + "    xsi:schemaLocation=\"" + schemaLocations + "\">\n\n";
+  }
+
+  private static String flowName(int file, int flow) {
+    return "flow_" + file + "_" + flow;
+  }
+
+  private static String melExpression(int flow, int expression) {
+    return String.format(MEL_EXPRESSIONS.get(expression % MEL_EXPRESSIONS.size()), flow, flow);
+  }
+
+  private static String pom(String artifactId, String packaging) {
+    return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<project xmlns=\"http://maven.apache.org/POM/4.0.0\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n"
+        + "    xsi:schemaLocation=\"http://maven.apache.org/POM/4.0.0 http://maven.apache.org/xsd/maven-4.0.0.xsd\">\n"
+        + "    <modelVersion>4.0.0</modelVersion>\n"
+        + "    <groupId>org.mule.synthetic</groupId>\n"
+        + "    <artifactId>" + artifactId + "</artifactId>\n"
+        + "    <version>1.0.0-SNAPSHOT</version>\n"
+        + "    <packaging>" + packaging + "</packaging>\n"
+        + "    <name>" + artifactId + "</name>\n"
+        + "\n"
+        + "    <properties>\n"
+        + "        <project.build.sourceEncoding>UTF-8</project.build.sourceEncoding>\n"
+        + "        <mule.version>3.8.4</mule.version>\n"
+        + "    </properties>\n"
+        + "</project>\n";
+  }
+
+  private static void write(Path file, String content) throws IOException {
+    Files.write(file, content.getBytes(UTF_8));
+  }
+
+  /**
+   * The projects written by a {@link SyntheticProjectBuilder}.
+   */
+  public static class SyntheticProject {
+
+    private final Path applicationPath;
+    private final Path domainPath;
+
+    private SyntheticProject(Path applicationPath, Path domainPath) {
+      this.applicationPath = applicationPath;
+      this.domainPath = domainPath;
+    }
+
+    /**
+     * @return the folder of the generated application
+     */
+    public Path getApplicationPath() {
+      return applicationPath;
+    }
+
+    /**
+     * @return the folder of the generated domain, {@code null} if no domain was generated
+     */
+    public Path getDomainPath() {
+      return domainPath;
+    }
+  }
+}
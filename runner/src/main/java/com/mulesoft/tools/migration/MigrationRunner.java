@@ -16,12 +16,26 @@ import com.mulesoft.tools.migration.task.AbstractMigrationTask;
 import org.apache.commons.cli.*;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import static com.mulesoft.tools.migration.printer.ConsolePrinter.*;
 import static java.lang.Integer.parseInt;
 import static java.lang.System.exit;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.stream.Collectors.toList;
 import static java.util.UUID.randomUUID;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
@@ -44,7 +58,14 @@ public class MigrationRunner {
   private final static String CANCEL_ON_ERROR = "cancelOnError";
   private final static String PROJECT_PARENT_GAV = "projectParentGAV";
   private final static String PROJECT_GAV = "projectGAV";
+  private final static String PROJECTS_FILE = "projectsFile";
+  private final static String PROJECTS_DIR = "projectsDir";
+  private final static String THREADS = "threads";
+  private final static String PROFILE = "profile";
   public static final String JSON_REPORT_PROP_NAME = "jsonReport";
+  public static final String PERSIST_CHECKPOINTS_PROP_NAME = "persistCheckpoints";
+  public static final String FUSED_STEP_DISPATCH_PROP_NAME = "fusedStepDispatch";
+  public static final String CONCURRENT_DOCUMENT_LOCAL_STEPS_PROP_NAME = "concurrentDocumentLocalSteps";
 
   private String projectBasePath;
   private String parentDomainProjectBasePath;
@@ -53,6 +74,9 @@ public class MigrationRunner {
   private boolean cancelOnError = false;
   private Parent projectParentGAV;
   private String projectGAV;
+  private List<BatchProject> batchProjects;
+  private int threads = Runtime.getRuntime().availableProcessors();
+  private boolean profile = false;
 
 
   private String userId;
@@ -73,6 +97,9 @@ public class MigrationRunner {
     if (!migrationRunner.isPresent()) {
       return -1;
     }
+    if (migrationRunner.get().batchProjects != null) {
+      return migrationRunner.get().runBatch(stopwatch);
+    }
     MigrationJob job = migrationRunner.get().buildMigrationJob();
 
     try {
@@ -98,17 +125,91 @@ public class MigrationRunner {
     }
   }
 
+  /**
+   * Migrates all the projects of the batch in this same JVM, on a pool of {@link #threads} workers. Each project gets its own
+   * {@link MigrationJob} and report, and a failure in one of them does not affect the others.
+   *
+   * @param stopwatch the stopwatch started when the run began
+   * @return 0 if all the projects were migrated, -1 otherwise
+   */
+  private int runBatch(Stopwatch stopwatch) throws InterruptedException {
+    log("Executing migrator for " + batchProjects.size() + " projects with " + threads + " threads...");
+
+    ExecutorService executor = newFixedThreadPool(threads);
+    int failedProjects = 0;
+    try {
+      List<Stopwatch> stopwatches = new ArrayList<>();
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (BatchProject batchProject : batchProjects) {
+        Stopwatch projectStopwatch = Stopwatch.createUnstarted();
+        stopwatches.add(projectStopwatch);
+        results.add(executor.submit(() -> migrateBatchProject(batchProject, projectStopwatch)));
+      }
+
+      for (int i = 0; i < results.size(); ++i) {
+        try {
+          if (!results.get(i).get()) {
+            failedProjects++;
+          }
+        } catch (ExecutionException e) {
+          Stopwatch projectStopwatch = stopwatches.get(i);
+          if (projectStopwatch.isRunning()) {
+            projectStopwatch.stop();
+          }
+          printProjectMigrationError(batchProjects.get(i).project.toString(), e.getCause() != null ? e.getCause() : e,
+                                     projectStopwatch.elapsed(MILLISECONDS));
+          failedProjects++;
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    printBatchMigrationSummary(batchProjects.size(), failedProjects, stopwatch.stop().elapsed(MILLISECONDS));
+    return failedProjects == 0 ? 0 : -1;
+  }
+
+  private boolean migrateBatchProject(BatchProject batchProject, Stopwatch stopwatch) {
+    stopwatch.start();
+    try {
+      Path parentDomain = batchProject.parentDomain != null ? batchProject.parentDomain
+          : parentDomainProjectBasePath != null ? Paths.get(parentDomainProjectBasePath) : null;
+      MigrationJob job = buildMigrationJob(batchProject.project, parentDomain,
+                                           Paths.get(destinationProjectBasePath).resolve(batchProject.project.getFileName()));
+      DefaultMigrationReport report = new DefaultMigrationReport();
+      job.execute(report);
+
+      printProjectMigrationSummary(batchProject.project.toString(),
+                                   job.getReportPath().resolve(REPORT_HOME).toAbsolutePath().toString(),
+                                   stopwatch.stop().elapsed(MILLISECONDS));
+      return true;
+    } catch (Exception ex) {
+      printProjectMigrationError(batchProject.project.toString(), ex, stopwatch.stop().elapsed(MILLISECONDS));
+      return false;
+    }
+  }
+
   private MigrationJob buildMigrationJob() throws Exception {
+    return buildMigrationJob(Paths.get(projectBasePath),
+                             parentDomainProjectBasePath != null ? Paths.get(parentDomainProjectBasePath) : null,
+                             Paths.get(destinationProjectBasePath));
+  }
+
+  private MigrationJob buildMigrationJob(Path project, Path parentDomainProject, Path outputProject) throws Exception {
     return new MigrationJobBuilder()
-        .withProject(Paths.get(projectBasePath))
-        .withParentDomainProject(parentDomainProjectBasePath != null ? Paths.get(parentDomainProjectBasePath) : null)
-        .withOutputProject(Paths.get(destinationProjectBasePath))
+        .withProject(project)
+        .withParentDomainProject(parentDomainProject)
+        .withOutputProject(outputProject)
         .withInputVersion(MULE_3_VERSION)
         .withOuputVersion(muleVersion)
         .withCancelOnError(cancelOnError)
         .withProjectParentGAV(projectParentGAV)
         .withProjectGAV(projectGAV)
         .withJsonReport(Boolean.getBoolean(JSON_REPORT_PROP_NAME))
+        .withPersistCheckpoints(Boolean.getBoolean(PERSIST_CHECKPOINTS_PROP_NAME))
+        .withProfiling(profile)
+        .withFusedStepDispatch(Boolean.getBoolean(FUSED_STEP_DISPATCH_PROP_NAME))
+        .withConcurrentDocumentLocalSteps(Boolean.getBoolean(CONCURRENT_DOCUMENT_LOCAL_STEPS_PROP_NAME))
         .build();
   }
 
@@ -124,12 +225,24 @@ public class MigrationRunner {
 
     options.addOption(HELP, false, "Shows the help");
     options.addOption(PROJECT_BASE_PATH, true, "Base directory of the project to be migrated");
-    options.addOption(PARENT_DOMAIN_BASE_PATH, true, "Base directory of the parent domain of the project to be migrated, if any");
+    options.addOption(PARENT_DOMAIN_BASE_PATH, true, "Base directory of the parent domain of the project to be migrated, if any. "
+        + "In batch mode, the parent domain of the projects that do not have their own one in the projects file");
     options.addOption(DESTINATION_PROJECT_BASE_PATH, true, "Base directory of the migrated project");
     options.addOption(MULE_VERSION, true, "Mule version where to migrate project");
     options.addOption(CANCEL_ON_ERROR, true, "Use cancelOnError to stop the migration. Default is false");
     options.addOption(PROJECT_PARENT_GAV, true, "Use projectParentGAV to migration parent in your pom.xml");
     options.addOption(PROJECT_GAV, true, "Use projectGAV to override default GAV coordinates when a pom.xml is not provided");
+    options.addOption(PROJECTS_FILE, true,
+                      "File listing the base directories of the projects to migrate in batch, one per line. A line may also give "
+                          + "the base directory of the parent domain of its project after a comma. Each migrated project is created "
+                          + "in a folder with the same name inside the destination project base path");
+    options.addOption(PROJECTS_DIR, true,
+                      "Directory whose subdirectories are the projects to migrate in batch. Each migrated project is created in "
+                          + "a folder with the same name inside the destination project base path");
+    options.addOption(THREADS, true, "Number of projects to migrate concurrently in batch mode. Default is the number of "
+        + "available processors");
+    options.addOption(PROFILE, false, "Writes the time, allocations, matched nodes and XPath queries of each task and step to "
+        + "profile.json in the report folder of each migrated project");
 
     options.addOption("userId", true, "The userId to send for the usage statistics");
     options.addOption("sessionId", true, "The sessionId to send for the usage statistics");
@@ -142,12 +255,38 @@ public class MigrationRunner {
       CommandLineParser parser = new DefaultParser();
       CommandLine line = parser.parse(options, args);
 
-      if (line.hasOption(PROJECT_BASE_PATH)) {
+      if (line.hasOption(PROJECTS_FILE) && line.hasOption(PROJECTS_DIR)) {
+        throw new ConsoleOptionsException("You must specify only one of 'projectsFile' or 'projectsDir'");
+      } else if (line.hasOption(PROJECTS_FILE)) {
+        this.batchProjects = readProjectsFile(line.getOptionValue(PROJECTS_FILE));
+      } else if (line.hasOption(PROJECTS_DIR)) {
+        this.batchProjects = listProjectsDir(line.getOptionValue(PROJECTS_DIR));
+      }
+
+      if (batchProjects != null) {
+        if (line.hasOption(PROJECT_BASE_PATH)) {
+          throw new ConsoleOptionsException("The 'projectBasePath' option cannot be used in batch mode");
+        }
+        validateBatchProjectNames(batchProjects);
+      } else if (line.hasOption(PROJECT_BASE_PATH)) {
         this.projectBasePath = line.getOptionValue(PROJECT_BASE_PATH);
       } else {
         throw new ConsoleOptionsException("You must specify a project base path of the files to be migrated");
       }
 
+      if (line.hasOption(THREADS)) {
+        try {
+          this.threads = parseInt(line.getOptionValue(THREADS));
+        } catch (NumberFormatException e) {
+          throw new ConsoleOptionsException("You must specify a positive integer for the 'threads' option");
+        }
+        if (threads < 1) {
+          throw new ConsoleOptionsException("You must specify a positive integer for the 'threads' option");
+        }
+      }
+
+      this.profile = line.hasOption(PROFILE);
+
       if (line.hasOption(PARENT_DOMAIN_BASE_PATH)) {
         this.parentDomainProjectBasePath = line.getOptionValue(PARENT_DOMAIN_BASE_PATH);
       }
@@ -231,9 +370,65 @@ public class MigrationRunner {
     return true;
   }
 
+  private List<BatchProject> readProjectsFile(String projectsFile) throws ConsoleOptionsException {
+    try {
+      return Files.readAllLines(Paths.get(projectsFile), UTF_8).stream()
+          .map(String::trim)
+          .filter(l -> !l.isEmpty() && !l.startsWith("#"))
+          .map(l -> {
+            int separator = l.indexOf(',');
+            return separator < 0 ? new BatchProject(Paths.get(l), null)
+                : new BatchProject(Paths.get(l.substring(0, separator).trim()), Paths.get(l.substring(separator + 1).trim()));
+          })
+          .collect(toList());
+    } catch (IOException e) {
+      throw new ConsoleOptionsException("Cannot read the projects file '" + projectsFile + "': " + e.getMessage());
+    }
+  }
+
+  private List<BatchProject> listProjectsDir(String projectsDir) throws ConsoleOptionsException {
+    File[] projectDirs = new File(projectsDir).listFiles(File::isDirectory);
+    if (projectDirs == null) {
+      throw new ConsoleOptionsException("The projects directory '" + projectsDir + "' does not exist or is not a directory");
+    }
+    List<Path> projects = new ArrayList<>();
+    for (File projectDir : projectDirs) {
+      projects.add(projectDir.toPath());
+    }
+    projects.sort(null);
+    return projects.stream().map(p -> new BatchProject(p, null)).collect(toList());
+  }
+
+  private void validateBatchProjectNames(List<BatchProject> projects) throws ConsoleOptionsException {
+    if (projects.isEmpty()) {
+      throw new ConsoleOptionsException("No projects found to migrate in batch mode");
+    }
+    Set<Path> projectNames = new HashSet<>();
+    for (BatchProject batchProject : projects) {
+      if (!projectNames.add(batchProject.project.getFileName())) {
+        throw new ConsoleOptionsException("More than one project to migrate is named '" + batchProject.project.getFileName()
+            + "', their destination folders would clash");
+      }
+    }
+  }
+
   private void printHelp(Options options) {
     HelpFormatter formatter = new HelpFormatter();
     formatter.printHelp("migration-assistant - Help", options);
   }
 
+  /**
+   * A project to migrate in batch mode, along with its own parent domain, if any.
+   */
+  private static final class BatchProject {
+
+    private final Path project;
+    private final Path parentDomain;
+
+    BatchProject(Path project, Path parentDomain) {
+      this.project = project;
+      this.parentDomain = parentDomain;
+    }
+  }
+
 }
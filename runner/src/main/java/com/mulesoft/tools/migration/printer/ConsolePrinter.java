@@ -43,4 +43,33 @@ public class ConsolePrinter {
     log(exceptionWriter.toString());
     log("===============================================================================");
   }
+
+  public static synchronized void printProjectMigrationSummary(String project, String reportPath, Long elapsedTime) {
+    log("Project " + project + " migrated in " + format("%.3f", elapsedTime.floatValue() / 1000) + " s. Migration report: "
+        + reportPath);
+  }
+
+  public static synchronized void printProjectMigrationError(String project, Throwable exception, Long elapsedTime) {
+    log("===============================================================================");
+    log("MIGRATION FAILED FOR PROJECT " + project);
+    log("===============================================================================");
+    log("Time: " + format("%.3f", elapsedTime.floatValue() / 1000) + " s");
+    log("Exception: " + exception.getMessage());
+    StringWriter exceptionWriter = new StringWriter();
+    exception.printStackTrace(new PrintWriter(exceptionWriter));
+    log(exceptionWriter.toString());
+    log("===============================================================================");
+  }
+
+  public static void printBatchMigrationSummary(int totalProjects, int failedProjects, Long elapsedTime) {
+    log("===============================================================================");
+    if (failedProjects == 0) {
+      log("MIGRATION ASSISTANT RUN SUCCESSFULLY");
+    } else {
+      log("MIGRATION FAILED FOR " + failedProjects + " OF " + totalProjects + " PROJECTS");
+    }
+    log("===============================================================================");
+    log("Migrated projects: " + (totalProjects - failedProjects) + "/" + totalProjects);
+    log("Total time: " + format("%.3f", elapsedTime.floatValue() / 1000) + " s");
+  }
 }
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2020, Mulesoft, LLC. All rights reserved.
+ * Use of this source code is governed by a BSD 3-Clause License
+ * license that can be found in the LICENSE.txt file.
+ */
+package com.mulesoft.tools.migration;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.is;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class MigrationRunnerTest {
+
+  private static final String MULE_VERSION = "4.2.1";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Path destinationPath;
+
+  @Before
+  public void setUp() throws IOException {
+    destinationPath = temporaryFolder.newFolder("migrated").toPath();
+  }
+
+  private Path buildApp(Path projectPath) throws IOException {
+    FileUtils.write(projectPath.resolve("src").resolve("main").resolve("app").resolve(projectPath.getFileName() + ".xml")
+        .toFile(), "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+            "<mule xmlns:http=\"http://www.mulesoft.org/schema/mule/http\" xmlns=\"http://www.mulesoft.org/schema/mule/core\"\n" +
+            "      xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n" +
+            "      xsi:schemaLocation=\"http://www.mulesoft.org/schema/mule/core http://www.mulesoft.org/schema/mule/core/current/mule.xsd\n"
+            +
+            "http://www.mulesoft.org/schema/mule/http http://www.mulesoft.org/schema/mule/http/current/mule-http.xsd\">\n" +
+            "    <flow name=\"flow\">\n" +
+            "        <http:listener config-ref=\"listenerConfig\" path=\"/\"/>\n" +
+            "        <logger message=\"Hello World!\" level=\"WARN\"/>\n" +
+            "    </flow>\n" +
+            "</mule>",
+                    UTF_8);
+    return projectPath;
+  }
+
+  private Path buildDomainApp(Path projectPath, Path domainPath) throws IOException {
+    buildApp(projectPath);
+    FileUtils.write(projectPath.resolve("src").resolve("main").resolve("app").resolve("mule-deploy.properties").toFile(),
+                    "domain=" + domainPath.getFileName(), UTF_8);
+    return projectPath;
+  }
+
+  private Path buildDomain(Path projectPath) throws IOException {
+    FileUtils.write(projectPath.resolve("src").resolve("main").resolve("domain").resolve("mule-domain-config.xml").toFile(),
+                    "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                        "<domain:mule-domain xmlns=\"http://www.mulesoft.org/schema/mule/core\"\n" +
+                        "      xmlns:http=\"http://www.mulesoft.org/schema/mule/http\"\n" +
+                        "      xmlns:domain=\"http://www.mulesoft.org/schema/mule/ee/domain\"\n" +
+                        "      xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n" +
+                        "      xsi:schemaLocation=\"http://www.mulesoft.org/schema/mule/core http://www.mulesoft.org/schema/mule/core/current/mule.xsd\n"
+                        +
+                        "http://www.mulesoft.org/schema/mule/http http://www.mulesoft.org/schema/mule/http/current/mule-http.xsd\n"
+                        +
+                        "http://www.mulesoft.org/schema/mule/ee/domain http://www.mulesoft.org/schema/mule/ee/domain/current/mule-domain-ee.xsd\">\n"
+                        +
+                        "    <http:listener-config name=\"listenerConfig\" host=\"0.0.0.0\" port=\"8081\"/>\n" +
+                        "</domain:mule-domain>",
+                    UTF_8);
+    return projectPath;
+  }
+
+  private Path writeProjectsFile(String... lines) throws IOException {
+    File projectsFile = temporaryFolder.newFile("projects.txt");
+    FileUtils.write(projectsFile, String.join("\n", lines), UTF_8);
+    return projectsFile.toPath();
+  }
+
+  private int runBatch(String... batchArgs) throws Exception {
+    String[] args = new String[batchArgs.length + 4];
+    System.arraycopy(batchArgs, 0, args, 0, batchArgs.length);
+    args[batchArgs.length] = "-destinationProjectBasePath";
+    args[batchArgs.length + 1] = destinationPath.toString();
+    args[batchArgs.length + 2] = "-muleVersion";
+    args[batchArgs.length + 3] = MULE_VERSION;
+    return MigrationRunner.run(args);
+  }
+
+  private boolean isMigrated(String projectName) {
+    return destinationPath.resolve(projectName).resolve("pom.xml").toFile().exists();
+  }
+
+  @Test
+  public void batchFromProjectsDir() throws Exception {
+    Path projectsDir = temporaryFolder.newFolder("projects").toPath();
+    buildApp(projectsDir.resolve("app1"));
+    buildApp(projectsDir.resolve("app2"));
+
+    assertThat(runBatch("-projectsDir", projectsDir.toString(), "-threads", "2"), is(0));
+    assertThat(isMigrated("app1"), is(true));
+    assertThat(isMigrated("app2"), is(true));
+  }
+
+  @Test
+  public void batchFromProjectsFile() throws Exception {
+    Path app1 = buildApp(temporaryFolder.getRoot().toPath().resolve("app1"));
+    Path app2 = buildApp(temporaryFolder.getRoot().toPath().resolve("app2"));
+    buildApp(temporaryFolder.getRoot().toPath().resolve("notListed"));
+
+    assertThat(runBatch("-projectsFile",
+                        writeProjectsFile("# apps", app1.toString(), "", "  " + app2.toString() + "  ").toString()),
+               is(0));
+    assertThat(isMigrated("app1"), is(true));
+    assertThat(isMigrated("app2"), is(true));
+    assertThat(isMigrated("notListed"), is(false));
+  }
+
+  @Test
+  public void batchFromProjectsFileWithParentDomain() throws Exception {
+    Path domain = buildDomain(temporaryFolder.getRoot().toPath().resolve("domain"));
+    Path app = buildDomainApp(temporaryFolder.getRoot().toPath().resolve("app"), domain);
+    Path otherApp = buildDomainApp(temporaryFolder.getRoot().toPath().resolve("otherApp"), domain);
+
+    assertThat(runBatch("-projectsFile", writeProjectsFile(app.toString() + ", " + domain.toString(), otherApp.toString())
+        .toString()), is(-1));
+    assertThat(FileUtils.readFileToString(destinationPath.resolve("app").resolve("pom.xml").toFile(), UTF_8),
+               containsString("<classifier>mule-domain</classifier>"));
+  }
+
+  @Test
+  public void batchWithCommonParentDomain() throws Exception {
+    Path domain = buildDomain(temporaryFolder.getRoot().toPath().resolve("domain"));
+    Path projectsDir = temporaryFolder.newFolder("projects").toPath();
+    buildDomainApp(projectsDir.resolve("app"), domain);
+
+    assertThat(runBatch("-projectsDir", projectsDir.toString(), "-parentDomainBasePath", domain.toString()), is(0));
+    assertThat(FileUtils.readFileToString(destinationPath.resolve("app").resolve("pom.xml").toFile(), UTF_8),
+               containsString("<classifier>mule-domain</classifier>"));
+  }
+
+  @Test
+  public void failingProjectDoesNotStopTheOthers() throws Exception {
+    Path app1 = buildApp(temporaryFolder.getRoot().toPath().resolve("app1"));
+    Path missing = temporaryFolder.getRoot().toPath().resolve("missing");
+    Path app2 = buildApp(temporaryFolder.getRoot().toPath().resolve("app2"));
+
+    assertThat(runBatch("-projectsFile", writeProjectsFile(app1.toString(), missing.toString(), app2.toString()).toString(),
+                        "-threads", "1"),
+               is(-1));
+    assertThat(isMigrated("app1"), is(true));
+    assertThat(isMigrated("missing"), is(false));
+    assertThat(isMigrated("app2"), is(true));
+  }
+
+  @Test
+  public void duplicateProjectNames() throws Exception {
+    Path app1 = buildApp(temporaryFolder.newFolder("a").toPath().resolve("app"));
+    Path app2 = buildApp(temporaryFolder.newFolder("b").toPath().resolve("app"));
+
+    assertThat(runBatch("-projectsFile", writeProjectsFile(app1.toString(), app2.toString()).toString()), is(-1));
+    assertThat(destinationPath.toFile().list(), emptyArray());
+  }
+
+  @Test
+  public void emptyProjectsDir() throws Exception {
+    assertThat(runBatch("-projectsDir", temporaryFolder.newFolder("projects").toString()), is(-1));
+  }
+
+  @Test
+  public void missingProjectsFile() throws Exception {
+    assertThat(runBatch("-projectsFile", temporaryFolder.getRoot().toPath().resolve("missing.txt").toString()), is(-1));
+  }
+
+  @Test
+  public void projectsFileAndProjectsDir() throws Exception {
+    Path projectsDir = temporaryFolder.newFolder("projects").toPath();
+    Path app = buildApp(projectsDir.resolve("app"));
+
+    assertThat(runBatch("-projectsFile", writeProjectsFile(app.toString()).toString(), "-projectsDir", projectsDir.toString()),
+               is(-1));
+    assertThat(destinationPath.toFile().list(), emptyArray());
+  }
+
+  @Test
+  public void projectBasePathInBatchMode() throws Exception {
+    Path projectsDir = temporaryFolder.newFolder("projects").toPath();
+    Path app = buildApp(projectsDir.resolve("app"));
+
+    assertThat(runBatch("-projectsDir", projectsDir.toString(), "-projectBasePath", app.toString()), is(-1));
+    assertThat(destinationPath.toFile().list(), emptyArray());
+  }
+
+  @Test
+  public void invalidThreads() throws Exception {
+    Path projectsDir = temporaryFolder.newFolder("projects").toPath();
+    buildApp(projectsDir.resolve("app"));
+
+    assertThat(runBatch("-projectsDir", projectsDir.toString(), "-threads", "0"), is(-1));
+    assertThat(runBatch("-projectsDir", projectsDir.toString(), "-threads", "many"), is(-1));
+    assertThat(destinationPath.toFile().list(), emptyArray());
+  }
+}